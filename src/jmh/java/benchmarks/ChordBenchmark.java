@@ -0,0 +1,88 @@
+package benchmarks;
+
+import board.PackedBoard;
+import game.Minesweeper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the eligibility check of a chord on a 1000x1000 board with one mine per five cells, where half of the mines
+ * are flagged and every safe cell is uncovered, so most chords are checked and rejected.<br>
+ * {@code chord} reads the maintained flagged neighbour count; {@code rescan} counts the flags around the cell instead,
+ * as a chord would without the counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ChordBenchmark {
+    private static final int SIZE = 1000;
+    private static final int CELLS = 4096;
+
+    private Minesweeper game;
+    private final int[] rows = new int[CELLS];
+    private final int[] cols = new int[CELLS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        PackedBoard board = new PackedBoard(SIZE);
+        new RandomMinePlacer(19).placeMines(SIZE, SIZE * SIZE / 5, board);
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (!board.isMine(row, col)) {
+                    board.setRevealed(row, col);
+                }
+            }
+        }
+        this.game = new Minesweeper(board);
+        SplittableRandom random = new SplittableRandom(19);
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (board.isMine(row, col) && random.nextBoolean()) {
+                    this.game.flag(row, col);
+                }
+            }
+        }
+        for (int i = 0; i < CELLS; i++) {
+            this.rows[i] = random.nextInt(SIZE);
+            this.cols[i] = random.nextInt(SIZE);
+        }
+    }
+
+    @Benchmark
+    public byte chord() {
+        int i = this.next++ & (CELLS - 1);
+        return this.game.chord(this.rows[i], this.cols[i]);
+    }
+
+    @Benchmark
+    public boolean rescan() {
+        int i = this.next++ & (CELLS - 1);
+        int row = this.rows[i];
+        int col = this.cols[i];
+        int flagged = 0;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, SIZE - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, SIZE - 1); c++) {
+                if ((r != row || c != col) && this.game.isFlagged(r, c)) {
+                    flagged++;
+                }
+            }
+        }
+        return this.game.isRevealed(row, col) && flagged == this.game.getAdjacentMines(row, col);
+    }
+}
@@ -0,0 +1,94 @@
+package benchmarks;
+
+import board.BitSetBoard;
+import game.Minesweeper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures forking 100,000 games from a 10000x10000 board with one mine per five cells and 1000 moves already played.<br>
+ * Each fork then plays {@code moves} random moves of its own, and every fork is kept alive until the end of the
+ * iteration, when the heap retained per fork is printed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ForkBenchmark {
+    private static final int SIZE = 10_000;
+    private static final int MINES = SIZE * SIZE / 5;
+    private static final int OPENING_MOVES = 1000;
+    private static final int FORKS = 100_000;
+
+    @Param({"0", "1", "10"})
+    public int moves;
+
+    private Minesweeper game;
+    private int[] rows;
+    private int[] cols;
+    private final Minesweeper[] forks = new Minesweeper[FORKS];
+    private long heapBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.game = new Minesweeper(new RandomMinePlacer(1), new BitSetBoard(SIZE), MINES);
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < OPENING_MOVES; i++) {
+            this.game.applyMove(random.nextInt(SIZE), random.nextInt(SIZE));
+        }
+        this.rows = new int[FORKS * this.moves];
+        this.cols = new int[FORKS * this.moves];
+        for (int i = 0; i < this.rows.length; i++) {
+            this.rows[i] = random.nextInt(SIZE);
+            this.cols[i] = random.nextInt(SIZE);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void measureHeap() {
+        this.heapBefore = usedHeap();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printRetainedHeap() {
+        System.out.printf("%n%d bytes retained per fork%n", (usedHeap() - this.heapBefore) / FORKS);
+        Arrays.fill(this.forks, null);
+    }
+
+    @Benchmark
+    public Minesweeper[] fork() {
+        int move = 0;
+        for (int i = 0; i < FORKS; i++) {
+            Minesweeper fork = this.game.fork();
+            for (int j = 0; j < this.moves; j++, move++) {
+                fork.applyMove(this.rows[move], this.cols[move]);
+            }
+            this.forks[i] = fork;
+        }
+        return this.forks;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,102 @@
+package benchmarks;
+
+import board.PackedBoard;
+import game.Minesweeper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hot paths of {@link Minesweeper}: construction, uncovering cells, the win check and displaying the board.<br><br>
+ *
+ * - {@code uncoverZeroRegion} uncovers a corner of a board whose only mine is in the opposite corner, the worst case of the flood fill.<br>
+ * - {@code uncoverNumberedCell} uncovers a single cell next to a mine, the cheapest possible move.<br>
+ * - Both need an untouched board for every call, so their boards are rebuilt before each invocation, outside the measurement.<br>
+ * - Console output is sent to a null sink, so {@code displayBoard} measures building and writing the frame only.<br><br>
+ *
+ * Run with {@code -prof gc} to report allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class GameBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    private PrintStream console;
+    private Minesweeper game;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        this.console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        this.game = new Minesweeper(new RandomMinePlacer(42), this.size, this.size * this.size / 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(this.console);
+    }
+
+    @Benchmark
+    public Minesweeper construct() {
+        return new Minesweeper(new RandomMinePlacer(42), this.size, this.size * this.size / 10);
+    }
+
+    @Benchmark
+    public boolean uncoverZeroRegion(UntouchedGame untouched) {
+        return untouched.game.uncoverCell(0, 0);
+    }
+
+    @Benchmark
+    public boolean uncoverNumberedCell(UntouchedGame untouched) {
+        return untouched.game.uncoverCell(untouched.size - 2, untouched.size - 2);
+    }
+
+    @Benchmark
+    public boolean isGameWon() {
+        return this.game.isGameWon();
+    }
+
+    @Benchmark
+    public void displayBoard() {
+        this.game.displayBoard();
+    }
+
+    /**
+     * A game with a single mine in the bottom right corner and every cell hidden, rebuilt before each invocation.<br>
+     * Kept apart from the benchmark state so that only the benchmarks using it pay for the rebuild.
+     */
+    @State(Scope.Thread)
+    public static class UntouchedGame {
+        @Param({"10", "100", "1000", "10000"})
+        public int size;
+
+        private Minesweeper game;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            PackedBoard board = new PackedBoard(this.size);
+            board.placeMine(this.size - 1, this.size - 1);
+            this.game = new Minesweeper(board);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+import solver.BoardGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the boards per second dealt by a {@link BoardGenerator} around a first move in the middle of the grid.<br>
+ * {@code safe} only moves the mines out of the start area; {@code noGuess} also searches for a board the solver wins
+ * without guessing, on every available processor, and prints the share of boards it had to give up on.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+    @Param({"9", "16", "30", "100"})
+    public int size;
+
+    @Param({"0.12", "0.16", "0.20"})
+    public double density;
+
+    private int mineCount;
+    private BoardGenerator safe;
+    private BoardGenerator noGuess;
+
+    @Setup
+    public void createGenerators() {
+        this.mineCount = (int) (this.size * this.size * this.density);
+        this.safe = new BoardGenerator(new RandomMinePlacer(23), 23);
+        this.noGuess = new BoardGenerator(23, 1000, 1000, Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void printFallbacks() {
+        if (this.noGuess.boardCount() > 0) {
+            System.out.printf("%n%d of %d no-guess boards fell back after %.1f attempts per board%n",
+                this.noGuess.fallbackCount(), this.noGuess.boardCount(),
+                (double) this.noGuess.attemptCount() / this.noGuess.boardCount());
+        }
+    }
+
+    @Benchmark
+    public long safe() {
+        return this.safe.create(this.size, this.mineCount, this.size / 2, this.size / 2).mineCount();
+    }
+
+    @Benchmark
+    public long noGuess() {
+        return this.noGuess.create(this.size, this.mineCount, this.size / 2, this.size / 2).mineCount();
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import game.Minesweeper;
+import metrics.GameMetrics;
+import metrics.MetricsListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of instrumentation on a whole game: placing the mines of a 100x100 board with 1000 mines,
+ * then playing 200 random moves, a mix of single cells, flood fills and moves on uncovered cells.<br>
+ * {@code none} is the uninstrumented game, {@code noop} only pays for the timing calls, and {@code metrics} also
+ * records into a {@link GameMetrics}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+    private static final int SIZE = 100;
+    private static final int MINES = 1000;
+    private static final int MOVES = 200;
+
+    @Param({"none", "noop", "metrics"})
+    public String listener;
+
+    private MetricsListener metrics;
+    private final int[] rows = new int[MOVES];
+    private final int[] cols = new int[MOVES];
+    private long game;
+
+    @Setup
+    public void setUp() {
+        this.metrics = switch (this.listener) {
+            case "none" -> null;
+            case "noop" -> new MetricsListener() {
+            };
+            default -> new GameMetrics();
+        };
+        SplittableRandom random = new SplittableRandom(16);
+        for (int i = 0; i < MOVES; i++) {
+            this.rows[i] = random.nextInt(SIZE);
+            this.cols[i] = random.nextInt(SIZE);
+        }
+    }
+
+    @Benchmark
+    public long playGame() {
+        RandomMinePlacer placer = new RandomMinePlacer(this.game++);
+        placer.setMetricsListener(this.metrics);
+        Minesweeper minesweeper = new Minesweeper(placer, SIZE, MINES);
+        minesweeper.setMetricsListener(this.metrics);
+        for (int i = 0; i < MOVES; i++) {
+            minesweeper.applyMove(this.rows[i], this.cols[i]);
+        }
+        return minesweeper.getRevealedCount();
+    }
+}
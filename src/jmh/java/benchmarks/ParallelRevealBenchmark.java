@@ -0,0 +1,73 @@
+package benchmarks;
+
+import board.PackedBoard;
+import game.Minesweeper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how revealing one safe area covering almost the whole board scales with the number of threads.<br>
+ * A thread count of 0 reveals sequentially, as a baseline for the parallel runs.
+ * Console output is sent to a null sink.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ParallelRevealBenchmark {
+    @Param({"2000", "8000"})
+    public int size;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    private PrintStream console;
+    private ForkJoinPool pool;
+    private Minesweeper game;
+
+    @Setup(Level.Trial)
+    public void setUpPool() {
+        this.console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        this.pool = this.threads == 0 ? null : new ForkJoinPool(this.threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpGame() {
+        PackedBoard board = new PackedBoard(this.size);
+        board.placeMine(this.size - 1, this.size - 1);
+        this.game = new Minesweeper(board);
+        this.game.setParallelReveal(this.pool, 10_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(this.console);
+        if (this.pool != null) {
+            this.pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public boolean revealWholeBoard() {
+        return this.game.uncoverCell(0, 0);
+    }
+}
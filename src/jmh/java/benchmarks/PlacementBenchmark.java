@@ -0,0 +1,56 @@
+package benchmarks;
+
+import board.BoardStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RandomMinePlacer} across board sizes and mine densities.<br>
+ * Run with {@code -prof gc} to report the allocation rate of each placement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class PlacementBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    @Param({"0.01", "0.15", "0.35"})
+    public double density;
+
+    private int mineCount;
+    private RandomMinePlacer placer;
+
+    @Setup
+    public void setUp() {
+        this.mineCount = (int) ((long) this.size * this.size * this.density);
+        this.placer = new RandomMinePlacer(42);
+    }
+
+    @Benchmark
+    public boolean[][] placeMinesIntoArray() {
+        return this.placer.placeMines(this.size, this.mineCount);
+    }
+
+    @Benchmark
+    public BoardStorage placeMinesIntoBoard() {
+        BoardStorage board = BoardStorage.forSize(this.size);
+        this.placer.placeMines(this.size, this.mineCount, board);
+        return board;
+    }
+}
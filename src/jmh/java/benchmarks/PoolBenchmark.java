@@ -0,0 +1,69 @@
+package benchmarks;
+
+import game.Minesweeper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.PooledMinePlacer;
+import services.RandomMinePlacer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a new game with one mine per five cells takes to start, placing its mines on the spot or taking a
+ * board from a {@link PooledMinePlacer}. Before each measurement the pool is given time to refill, as it would be
+ * between games, so the pooled variant measures the latency a player sees rather than the cost of generation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PoolBenchmark {
+    @Param({"100", "1000", "5000"})
+    public int size;
+
+    private int mineCount;
+    private long seed;
+    private PooledMinePlacer pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.mineCount = this.size * this.size / 5;
+        this.pool = new PooledMinePlacer(new RandomMinePlacer(1), 2, 1L << 30, 1);
+        this.pool.warmUp(this.size, this.mineCount);
+    }
+
+    @Setup(Level.Iteration)
+    public void awaitRefill() throws InterruptedException {
+        while (this.pool.pooledBoards(this.size, this.mineCount) < 2) {
+            Thread.sleep(1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.pool.close();
+    }
+
+    @Benchmark
+    public Minesweeper startDirect() {
+        return new Minesweeper(new RandomMinePlacer(this.seed++), this.size, this.mineCount);
+    }
+
+    @Benchmark
+    public Minesweeper startPooled() {
+        return new Minesweeper(this.pool.takeBoard(this.size, this.mineCount));
+    }
+}
@@ -0,0 +1,98 @@
+package benchmarks;
+
+import game.Minesweeper;
+import game.MoveReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import render.RowLabels;
+import services.RandomMinePlacer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a script of 1,000,000 random moves on a 1000x1000 board with one mine per ten cells.<br>
+ * {@code scanner} parses the script as the interactive loop used to, with {@link Scanner#next()}, {@code substring} and
+ * {@code parseInt}; {@code reader} parses it with a {@link MoveReader}; {@code play} also applies the moves in batches
+ * of 65,536, as {@code Runner --script} does. Divide the move count by the reported time for moves per second.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ScriptBenchmark {
+    private static final int SIZE = 1000;
+    private static final int MOVES = 1_000_000;
+    private static final int BATCH = 1 << 16;
+
+    private byte[] script;
+    private long seed;
+
+    @Setup
+    public void writeScript() {
+        SplittableRandom random = new SplittableRandom(22);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < MOVES; i++) {
+            text.append(RowLabels.label(random.nextInt(SIZE))).append(random.nextInt(SIZE) + 1).append('\n');
+        }
+        this.script = text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public long scanner() {
+        Scanner scanner = new Scanner(new ByteArrayInputStream(this.script), StandardCharsets.US_ASCII);
+        long sum = 0;
+        while (scanner.hasNext()) {
+            String cell = scanner.next();
+            int letters = 0;
+            while (cell.charAt(letters) >= 'A' && cell.charAt(letters) <= 'Z') {
+                letters++;
+            }
+            sum += RowLabels.parse(cell.substring(0, letters)) + Integer.parseInt(cell.substring(letters)) - 1;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long reader() throws IOException {
+        int[] rows = new int[BATCH];
+        int[] cols = new int[BATCH];
+        long sum = 0;
+        try (MoveReader reader = new MoveReader(new ByteArrayInputStream(this.script))) {
+            for (int count = reader.read(rows, cols); count > 0; count = reader.read(rows, cols)) {
+                for (int i = 0; i < count; i++) {
+                    sum += rows[i] + cols[i];
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long play() throws IOException {
+        Minesweeper game = new Minesweeper(new RandomMinePlacer(this.seed++), SIZE, SIZE * SIZE / 10);
+        int[] rows = new int[BATCH];
+        int[] cols = new int[BATCH];
+        try (MoveReader reader = new MoveReader(new ByteArrayInputStream(this.script))) {
+            for (int count = reader.read(rows, cols); count > 0; count = reader.read(rows, cols)) {
+                game.uncoverCells(Arrays.copyOf(rows, count), Arrays.copyOf(cols, count));
+            }
+        }
+        return game.getHiddenSafeCount();
+    }
+}
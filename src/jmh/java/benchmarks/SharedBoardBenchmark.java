@@ -0,0 +1,77 @@
+package benchmarks;
+
+import game.SharedMinesweeper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a cooperative game on one 2000x2000 board with one mine per five cells, where {@code threads} players
+ * share 1,000,000 random moves between them. Each iteration starts from a fresh board, so the reported time covers
+ * all the moves; divide the move count by it for moves per second.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class SharedBoardBenchmark {
+    private static final int SIZE = 2000;
+    private static final int MINES = SIZE * SIZE / 5;
+    private static final int MOVES = 1_000_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private final int[] rows = new int[MOVES];
+    private final int[] cols = new int[MOVES];
+    private long seed;
+    private SharedMinesweeper game;
+
+    @Setup(Level.Trial)
+    public void chooseMoves() {
+        SplittableRandom random = new SplittableRandom(20);
+        for (int i = 0; i < MOVES; i++) {
+            this.rows[i] = random.nextInt(SIZE);
+            this.cols[i] = random.nextInt(SIZE);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void newGame() {
+        this.game = new SharedMinesweeper(new RandomMinePlacer(this.seed++), SIZE, MINES);
+    }
+
+    @Benchmark
+    public long play() throws InterruptedException {
+        Thread[] players = new Thread[this.threads];
+        for (int t = 0; t < this.threads; t++) {
+            int first = (int) ((long) MOVES * t / this.threads);
+            int last = (int) ((long) MOVES * (t + 1) / this.threads);
+            players[t] = new Thread(() -> {
+                for (int i = first; i < last; i++) {
+                    this.game.uncover(this.rows[i], this.cols[i]);
+                }
+            });
+            players[t].start();
+        }
+        for (Thread player : players) {
+            player.join();
+        }
+        return this.game.getHiddenSafeCount();
+    }
+}
@@ -0,0 +1,82 @@
+package benchmarks;
+
+import game.GameSnapshot;
+import game.Minesweeper;
+import game.MoveJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a game takes to restore from a snapshot and from a move journal, for boards from 10x10 to 50000x50000.<br>
+ * Every game has one mine per ten cells and 1000 random moves played. The size of both files is printed when the trial starts.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+    private static final int MOVES = 1000;
+
+    @Param({"10", "1000", "10000", "50000"})
+    public int size;
+
+    private Path snapshot;
+    private Path journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.snapshot = Files.createTempFile("benchmark", ".snap");
+        this.journal = Files.createTempFile("benchmark", ".journal");
+        int mineCount = (int) ((long) this.size * this.size / 10);
+        Minesweeper game = new Minesweeper(new RandomMinePlacer(1), this.size, mineCount);
+        SplittableRandom random = new SplittableRandom(2);
+        try (MoveJournal moves = MoveJournal.create(this.journal, this.size, mineCount, 1)) {
+            for (int i = 0; i < MOVES; i++) {
+                int row = random.nextInt(this.size);
+                int col = random.nextInt(this.size);
+                moves.append(row, col);
+                game.applyMove(row, col);
+            }
+        }
+        GameSnapshot.write(game, this.snapshot);
+        System.out.printf("%n%dx%d: %d uncovered cells, snapshot %d bytes (%.2f bits per cell), journal %d bytes%n",
+            this.size, this.size, game.getRevealedCount(), Files.size(this.snapshot),
+            Files.size(this.snapshot) * 8.0 / ((double) this.size * this.size), Files.size(this.journal));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.snapshot);
+        Files.deleteIfExists(this.journal);
+    }
+
+    @Benchmark
+    public Minesweeper restoreSnapshot() throws IOException {
+        return GameSnapshot.read(this.snapshot);
+    }
+
+    @Benchmark
+    public Minesweeper replayJournal() throws IOException {
+        return MoveJournal.replay(this.journal);
+    }
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import board.PackedBoard;
+import game.GameState;
+import game.Minesweeper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+import solver.Solver;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the average cost of one solver-driven move, which should stay flat as the board grows.<br><br>
+ *
+ * Each invocation plays one move of a long game with 15% mines: the next deduced safe cell if there is one, otherwise a
+ * solver step deducing more cells. When the solver is stuck, the benchmark uncovers a random safe cell, looked up on the
+ * board, so that the game keeps going. A new game is started once the current one is won; on small boards this cost is
+ * spread over thousands of moves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class SolverBenchmark {
+    @Param({"64", "256", "1024", "4096"})
+    public int size;
+
+    private final SplittableRandom random = new SplittableRandom(17);
+    private PackedBoard board;
+    private Minesweeper game;
+    private Solver solver;
+    private long[] safeCells = new long[0];
+    private int nextSafeCell;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        newGame();
+    }
+
+    @Benchmark
+    public byte solverMove() {
+        if (this.game.getState() != GameState.ONGOING) {
+            newGame();
+        }
+        while (this.nextSafeCell < this.safeCells.length) {
+            long cell = this.safeCells[this.nextSafeCell++];
+            if (!this.game.isRevealed((int) (cell >>> 32), (int) cell)) {
+                return this.game.applyMove((int) (cell >>> 32), (int) cell);
+            }
+        }
+        this.safeCells = this.solver.findSafeCells();
+        this.nextSafeCell = 0;
+        if (this.safeCells.length > 0) {
+            return 0;
+        }
+
+        // The solver is stuck: uncover a random safe cell instead of guessing
+        while (true) {
+            int row = this.random.nextInt(this.size);
+            int col = this.random.nextInt(this.size);
+            if (!this.board.isMine(row, col) && !this.board.isRevealed(row, col)) {
+                return this.game.applyMove(row, col);
+            }
+        }
+    }
+
+    private void newGame() {
+        this.board = new PackedBoard(this.size);
+        this.game = new Minesweeper(new RandomMinePlacer(this.random.nextLong()), this.board, (int) ((long) this.size * this.size * 15 / 100));
+        this.solver = new Solver(this.game);
+        this.safeCells = new long[0];
+        this.nextSafeCell = 0;
+    }
+}
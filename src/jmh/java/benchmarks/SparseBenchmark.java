@@ -0,0 +1,66 @@
+package benchmarks;
+
+import board.BitSetBoard;
+import board.BoardStorage;
+import board.SparseBoard;
+import game.Minesweeper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.RandomMinePlacer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a {@link BitSetBoard} with a {@link SparseBoard} on a 5000x5000 grid at low mine densities.<br>
+ * {@code place} only places the mines; {@code placeAndOpen} also plays a first move in the middle of the grid, whose
+ * flood fill uncovers most of the board and so measures the adjacent mine lookups of each representation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class SparseBenchmark {
+    private static final int SIZE = 5000;
+
+    @Param({"bitset", "sparse"})
+    public String board;
+
+    @Param({"0.001", "0.0001"})
+    public double density;
+
+    private long seed;
+
+    @Benchmark
+    public long place() {
+        return newBoard().footprintBytes();
+    }
+
+    @Benchmark
+    public long placeAndOpen() {
+        BoardStorage board = newBoard();
+        Minesweeper game = new Minesweeper(board);
+        int col = SIZE / 2;
+        while (board.isMine(SIZE / 2, col)) {
+            col++;
+        }
+        game.applyMove(SIZE / 2, col);
+        return board.revealedCount();
+    }
+
+    private BoardStorage newBoard() {
+        int mineCount = (int) ((long) SIZE * SIZE * this.density);
+        BoardStorage board = this.board.equals("sparse") ? new SparseBoard(SIZE, mineCount) : new BitSetBoard(SIZE);
+        new RandomMinePlacer(this.seed++).placeMines(SIZE, mineCount, board);
+        return board;
+    }
+}
@@ -0,0 +1,30 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parsing of the command line options shared by the entry points.
+ */
+final class CommandLine {
+
+    private CommandLine() {
+    }
+
+    /**
+     * Parses options of the form "--name=value".
+     *
+     * @param args The command line arguments.
+     * @return The value of each option, by name.
+     * @throws IllegalArgumentException If an argument is not of the form "--name=value".
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Invalid option " + arg + ", expected --name=value.");
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,107 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command line client driving many concurrent sessions against a running {@code ServerRunner}, e.g.:
+ * <pre>
+ * java -cp out LoadGenerator --port=8080 --sessions=10000 --moves=20 --size=16 --mines=40 --connections=256
+ * </pre>
+ * Each session runs on its own virtual thread: it creates a game, then uncovers random cells until it has played the
+ * given number of moves or the game is over. At most `connections` requests are in flight at once.<br>
+ * The throughput and the latency percentiles of every request are printed at the end.
+ */
+public class LoadGenerator {
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = CommandLine.parseOptions(args);
+        String base = "http://" + options.getOrDefault("host", "localhost") + ":" + options.getOrDefault("port", "8080") + "/games";
+        int sessions = Integer.parseInt(options.getOrDefault("sessions", "10000"));
+        int moves = Integer.parseInt(options.getOrDefault("moves", "20"));
+        int size = Integer.parseInt(options.getOrDefault("size", "16"));
+        int mines = Integer.parseInt(options.getOrDefault("mines", "40"));
+        Semaphore connections = new Semaphore(Integer.parseInt(options.getOrDefault("connections", "256")));
+
+        long[] latencies = new long[sessions * (moves + 1)];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        try (HttpClient client = HttpClient.newHttpClient();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int s = 0; s < sessions; s++) {
+                long seed = s;
+                executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    HttpResponse<String> created = send(client, connections, latencies, recorded,
+                        base + "?size=" + size + "&mines=" + mines + "&seed=" + seed);
+                    if (created == null || created.statusCode() != 201) {
+                        errors.incrementAndGet();
+                        return null;
+                    }
+                    String id = jsonField(created.body(), "id");
+                    for (int m = 0; m < moves; m++) {
+                        HttpResponse<String> move = send(client, connections, latencies, recorded,
+                            base + "/" + id + "/uncover?row=" + random.nextInt(size) + "&col=" + random.nextInt(size));
+                        if (move == null || move.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            return null;
+                        }
+                        if (!jsonField(move.body(), "state").equals("ONGOING")) break;
+                    }
+                    return null;
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(sorted);
+        System.out.printf("Sessions: %d, requests: %d, errors: %d%n", sessions, sorted.length, errors.get());
+        System.out.printf("Throughput: %.0f requests per second over %.2f seconds%n", sorted.length / seconds, seconds);
+        System.out.printf("Latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+            percentile(sorted, 50) / 1e6, percentile(sorted, 99) / 1e6, percentile(sorted, 100) / 1e6);
+    }
+
+    /**
+     * Sends a POST request once a connection is available, recording its latency.
+     *
+     * @return The response, or null if the request failed.
+     */
+    private static HttpResponse<String> send(HttpClient client, Semaphore connections, long[] latencies, AtomicInteger recorded, String uri) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri)).POST(HttpRequest.BodyPublishers.noBody()).build();
+        connections.acquireUninterruptibly();
+        try {
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies[recorded.getAndIncrement()] = System.nanoTime() - start;
+            return response;
+        } catch (Exception e) {
+            return null;
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * Extracts the value of a string field from a flat JSON object.
+     */
+    private static String jsonField(String json, String name) {
+        int start = json.indexOf("\"" + name + "\":\"") + name.length() + 4;
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile / 100 * sorted.length) - 1)];
+    }
+}
@@ -1,10 +1,53 @@
+import game.GameState;
+import game.Minesweeper;
+import game.MoveJournal;
+import game.MoveReader;
+import game.MoveResults;
+import render.RowLabels;
+import services.PooledMinePlacer;
 import services.RandomMinePlacer;
+import solver.BoardGenerator;
 
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.Scanner;
 
+/**
+ * Command line entry point of the game.<br><br>
+ *
+ * Without arguments, the game is played interactively on the console. With options of the form "--name=value", moves
+ * are read from a script instead, e.g.:
+ * <pre>
+ * java -cp out Runner --size=1000 --mines=100000 --seed=1 --script=moves.txt --output=summary
+ * java -cp out Runner --journal=game.journal
+ * </pre>
+ * - {@code --script} is a file of cell labels such as "A1" or "AB12", see {@link MoveReader}, or "-" for the standard input.
+ *   The moves are applied in batches on a board placed by a seeded {@link RandomMinePlacer}.<br>
+ * - {@code --output} is "summary", which only prints totals once every move is applied, or "deltas", which also prints
+ *   the outcome of each move and the cells it uncovered.<br>
+ * - Playing stops at the move which wins or loses the game; the rest of the script is ignored.<br>
+ * - {@code --journal} replays a {@link MoveJournal} instead of a script, and prints its summary.<br>
+ * The defaults are listed in {@link #runScript(Map)}.
+ */
 public class Runner {
-    public static void main(String[] args) {
+    private static final int MAX_DISPLAYED_CELLS = 40; // Boards wider than this are displayed through a window around the last move
+    private static final int POOLED_BOARDS = 2; // Boards generated ahead of time for each size and mine count played
+    private static final long POOL_BYTES = 64L << 20; // Memory budget of the boards generated ahead of time
+    private static final int OUTPUT_BUFFER_BYTES = 1 << 16; // Buffer of the output of scripted games
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            runScript(CommandLine.parseOptions(args));
+            return;
+        }
         Scanner scanner = new Scanner(System.in);
+        PooledMinePlacer minePlacer = new PooledMinePlacer(new RandomMinePlacer(), POOLED_BOARDS, POOL_BYTES, 1);
+        BoardGenerator startBoards = new BoardGenerator(minePlacer, System.nanoTime()); // Keeps the first square and its neighbours free of mines
         while(true) {
             System.out.println("Welcome to Minesweeper!");
 
@@ -12,7 +55,7 @@ public class Runner {
 
             int mines = getMineCountFromUser(scanner, size);
 
-            Minesweeper game = new Minesweeper(new RandomMinePlacer(), size, mines);
+            Minesweeper game = Minesweeper.withSafeStart(startBoards, size, mines);
 
             runGameLoop(game, scanner, size);
 
@@ -23,6 +66,7 @@ public class Runner {
                 break;
             }
         }
+        minePlacer.close();
         scanner.close();
     }
 
@@ -50,7 +94,7 @@ public class Runner {
     }
 
     /**
-     * Prompts the user for the number of mines and ensures it does not exceed 35% of the grid.<br><br>
+     * Prompts the user for the number of mines and ensures it is not negative and does not exceed 35% of the grid.<br><br>
      * Only integer values are accepted. If the user enters a non-integer, they will be prompted
      * again until a valid input is provided.
      *
@@ -67,7 +111,9 @@ public class Runner {
             try {
                 mines = Integer.parseInt(input);
                 int maxMines = (int) (size * size * 0.35);
-                if (mines <= maxMines) {
+                if (mines < 0) {
+                    System.out.println("Please enter a non-negative integer.");
+                } else if (mines <= maxMines) {
                     return mines;
                 } else {
                     System.out.println("Too many mines! Please enter an integer less than or equal to " + maxMines);
@@ -81,7 +127,7 @@ public class Runner {
     /**
      * Runs the main game loop, allowing the player to select cells until they win or lose.<br><br>
      *
-     * - The player selects a cell to reveal.<br>
+     * - The player selects a cell to reveal. The mines are placed once the first cell is selected, away from it and its neighbours.<br>
      * - If the selected cell contains a mine, the game ends with a loss.<br>
      * - Otherwise, the cell is uncovered, and the number of adjacent mines is displayed.<br>
      * - After each move, the game checks if all non-mine cells have been uncovered.<br>
@@ -93,15 +139,17 @@ public class Runner {
      */
     private static void runGameLoop(Minesweeper game, Scanner scanner, int size) {
         boolean isFirstRound = true;
+        int row = 0;
+        int col = 0;
         while (true) {
             System.out.println(isFirstRound ? "\nHere is your minefield:" : "\nHere is your updated minefield:");
-            game.displayBoard();
+            displayBoardAround(game, size, row, col);
             isFirstRound = false;
 
-            String cell = getUserSelectedCell(scanner, size);
+            long cell = getUserSelectedCell(scanner, size);
 
-            int row = cell.charAt(0) - 'A';
-            int col = cell.charAt(1) - '1';
+            row = (int) (cell >>> 32);
+            col = (int) cell;
             if (!game.uncoverCell(row, col)) {
                 System.out.println("Oh no, you detonated a mine! Game over.");
                 break;
@@ -109,26 +157,43 @@ public class Runner {
 
             if (game.isGameWon()) {
                 System.out.println("\nHere is your updated minefield:");
-                game.displayBoard();
+                displayBoardAround(game, size, row, col);
                 System.out.println("\nCongratulations, you have won the game!");
                 break;
             }
         }
     }
 
+    /**
+     * Displays the board, or for boards too large to read on a console, a window of the board centred on a cell.
+     *
+     * @param game The Minesweeper game instance.
+     * @param size The size of the grid.
+     * @param row The row index of the cell to centre the window on.
+     * @param col The column index of the cell to centre the window on.
+     */
+    private static void displayBoardAround(Minesweeper game, int size, int row, int col) {
+        if (size <= MAX_DISPLAYED_CELLS) {
+            game.displayBoard();
+            return;
+        }
+        int firstRow = Math.max(0, Math.min(row - MAX_DISPLAYED_CELLS / 2, size - MAX_DISPLAYED_CELLS));
+        int firstCol = Math.max(0, Math.min(col - MAX_DISPLAYED_CELLS / 2, size - MAX_DISPLAYED_CELLS));
+        game.displayBoard(firstRow, firstCol, MAX_DISPLAYED_CELLS, MAX_DISPLAYED_CELLS);
+    }
+
     /**
      * Prompts the user to select a cell and ensures the input is valid.
      *
      * @param scanner The Scanner object for user input.
      * @param size The size of the grid.
-     * @return A valid cell selection in the format "A1".
+     * @return The selected cell, packed as {@code ((long) row << 32) | col}.
      */
-    private static String getUserSelectedCell(Scanner scanner, int size) {
-        String cell;
+    private static long getUserSelectedCell(Scanner scanner, int size) {
         while (true) {
             System.out.print("\nSelect a square to reveal (e.g. A1): ");
-            cell = scanner.next();
-            if (!isValidCell(cell, size)) {
+            long cell = MoveReader.parseCell(scanner.next(), size);
+            if (cell < 0) {
                 System.out.println("Invalid square.");
             } else {
                 return cell;
@@ -137,25 +202,121 @@ public class Runner {
     }
 
     /**
-     * Validates whether the user's cell selection is within the grid bounds.
+     * Plays a script or replays a journal without any interaction, see {@link Runner}.<br><br>
      *
-     * @param input The user's input string (e.g., "A1").
-     * @param size The size of the grid.
-     * @return True if the input is a valid cell, otherwise false.
+     * Options and their defaults: {@code --size=16}, {@code --mines=40}, {@code --seed=1}, {@code --script=-},
+     * {@code --output=summary}, {@code --batch=65536} moves applied per batch, and {@code --journal}, unset.
+     *
+     * @param options The value of each option, by name.
+     * @throws IOException If the script or journal cannot be read.
+     * @throws IllegalArgumentException If an option or the script is invalid.
+     */
+    static void runScript(Map<String, String> options) throws IOException {
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, OUTPUT_BUFFER_BYTES), false);
+        long[] outcomeCounts = new long[MoveResults.outcomeCount()];
+        Minesweeper game;
+        long start;
+        long moves = 0;
+        String journal = options.get("journal");
+        if (journal != null) {
+            start = System.nanoTime();
+            game = MoveJournal.replay(Path.of(journal));
+        } else {
+            int size = Integer.parseInt(options.getOrDefault("size", "16"));
+            int mines = Integer.parseInt(options.getOrDefault("mines", "40"));
+            long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+            int batch = Integer.parseInt(options.getOrDefault("batch", "65536"));
+            boolean deltas = getOutputMode(options.getOrDefault("output", "summary"));
+            String script = options.getOrDefault("script", "-");
+            game = new Minesweeper(new RandomMinePlacer(seed), size, mines);
+            start = System.nanoTime();
+            InputStream in = script.equals("-") ? System.in : new FileInputStream(script);
+            try (MoveReader reader = new MoveReader(in)) {
+                moves = playScript(game, reader, batch, deltas ? out : null, outcomeCounts);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (journal == null) {
+            out.printf("Applied %d moves in %.3f seconds (%.0f moves per second).%n", moves, seconds, moves / seconds);
+            StringBuilder outcomes = new StringBuilder("Outcomes:");
+            for (byte outcome = 0; outcome < outcomeCounts.length; outcome++) {
+                if (outcomeCounts[outcome] > 0) {
+                    outcomes.append(' ').append(MoveResults.name(outcome)).append('=').append(outcomeCounts[outcome]);
+                }
+            }
+            out.println(outcomes);
+        } else {
+            out.printf("Replayed %s in %.3f seconds.%n", journal, seconds);
+        }
+        out.println("State: " + game.getState() + ", " + game.getHiddenSafeCount() + " safe cells left hidden.");
+        out.flush();
+    }
+
+    /**
+     * Applies the moves of a script in batches, until the script runs out or a move ends the game.<br>
+     * The moves after the one which wins or loses the game are neither applied nor counted.
+     *
+     * @param game The game to play.
+     * @param reader The moves of the script.
+     * @param batch The number of moves read and applied at once.
+     * @param deltas Receives the outcome of each move and the cells it uncovered, or null to print nothing.
+     * @param outcomeCounts Receives the number of moves of each outcome.
+     * @return The number of moves applied.
      */
-    private static boolean isValidCell(String input, int size) {
-        if (input.length() < 2) {
-            return false;
+    private static long playScript(Minesweeper game, MoveReader reader, int batch, PrintStream deltas, long[] outcomeCounts) throws IOException {
+        int[] rows = new int[batch];
+        int[] cols = new int[batch];
+        long moves = 0;
+        StringBuilder line = new StringBuilder();
+        int count = game.getState() == GameState.ONGOING ? reader.read(rows, cols) : -1;
+        while (count > 0) {
+            MoveResults results = game.uncoverCellsUntilOver(rows, cols, count);
+            for (int move = 0; move < results.moveCount(); move++) {
+                byte outcome = results.outcome(move);
+                outcomeCounts[outcome]++;
+                if (deltas != null) {
+                    line.setLength(0);
+                    appendLabel(line, rows[move], cols[move]).append(' ').append(MoveResults.name(outcome));
+                    for (int i = results.firstRevealed(move); i < results.firstRevealed(move + 1); i++) {
+                        appendLabel(line.append(' '), results.revealedRow(i), results.revealedCol(i))
+                            .append('=').append(results.adjacentMines(i));
+                    }
+                    deltas.println(line);
+                }
+            }
+            moves += results.moveCount();
+            if (game.getState() != GameState.ONGOING) {
+                if (deltas != null) {
+                    deltas.println("Game " + game.getState() + ", the rest of the script is ignored");
+                }
+                break;
+            }
+            count = reader.read(rows, cols);
         }
-        char rowChar = input.charAt(0);
-        if (rowChar < 'A' || rowChar >= 'A' + size) {
-            return false;
+        return moves;
+    }
+
+    private static StringBuilder appendLabel(StringBuilder builder, int row, int col) {
+        if (row < 0 || col < 0) {
+            return builder.append('?');
         }
-        try {
-            int col = Integer.parseInt(input.substring(1));
-            return col >= 1 && col <= size;
-        } catch (NumberFormatException e) {
-            return false;
+        return builder.append(RowLabels.label(row)).append(col + 1);
+    }
+
+    /**
+     * @param name "summary" or "deltas".
+     * @return True if the outcome of every move should be printed.
+     * @throws IllegalArgumentException If there is no output mode with that name.
+     */
+    private static boolean getOutputMode(String name) {
+        switch (name) {
+            case "summary":
+                return false;
+            case "deltas":
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown output " + name + ", expected summary or deltas.");
         }
     }
 }
@@ -0,0 +1,38 @@
+import metrics.GameMetrics;
+import server.GameServer;
+import server.SessionStore;
+
+import javax.management.JMException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line entry point hosting games over HTTP until the process is stopped, e.g.:
+ * <pre>
+ * java -cp out ServerRunner --port=8080 --idle-seconds=300 --max-memory-mb=512 --metrics=true
+ * </pre>
+ * Every option is optional; the defaults are listed in {@link #main(String[])}.
+ * With metrics enabled, move and placement costs are published over JMX as {@code minesweeper:type=GameMetrics,name=server}.
+ */
+public class ServerRunner {
+    public static void main(String[] args) throws IOException, JMException {
+        Map<String, String> options = CommandLine.parseOptions(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        long idleSeconds = Long.parseLong(options.getOrDefault("idle-seconds", "300"));
+        long maxMemoryMb = Long.parseLong(options.getOrDefault("max-memory-mb", "512"));
+        boolean metrics = Boolean.parseBoolean(options.getOrDefault("metrics", "true"));
+
+        SessionStore store = new SessionStore(TimeUnit.SECONDS.toNanos(idleSeconds), maxMemoryMb << 20);
+        if (metrics) {
+            GameMetrics gameMetrics = new GameMetrics();
+            gameMetrics.register("server");
+            store.setMetricsListener(gameMetrics);
+        }
+        GameServer server = new GameServer(new InetSocketAddress(port), store, Math.max(1000, TimeUnit.SECONDS.toMillis(idleSeconds) / 4));
+        server.start();
+        System.out.println("Serving games on port " + server.port() + ", evicting sessions idle for " + idleSeconds
+            + " seconds, with a budget of " + maxMemoryMb + " MB.");
+    }
+}
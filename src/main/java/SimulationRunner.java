@@ -0,0 +1,87 @@
+import game.StartBoardFactory;
+import services.RandomMinePlacer;
+import simulation.MoveStrategy;
+import simulation.RandomMoveStrategy;
+import simulation.SimulationStats;
+import simulation.Simulator;
+import simulation.SolverMoveStrategy;
+import solver.BoardGenerator;
+import solver.ProbabilityEngine;
+
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Command line entry point playing many headless games and printing their statistics, e.g.:
+ * <pre>
+ * java -cp out SimulationRunner --size=16 --mines=40 --games=1000000 --seed=1 --threads=8 --strategy=random
+ * </pre>
+ * The strategy is "random", "solver", which only guesses when no safe cell can be deduced, or "probability", which
+ * also guesses the cell least likely to hold a mine.<br>
+ * The start is "random", which places the mines before the first move, "safe", which keeps the first move and its
+ * neighbours free of mines, or "no-guess", which also only deals boards the solver can win without guessing.<br>
+ * Every option is optional; the defaults are listed in {@link #main(String[])}.
+ */
+public class SimulationRunner {
+    private static final int NO_GUESS_ATTEMPTS = 1000; // Candidates tried per game in no-guess mode, games are already spread over the cores
+    private static final long NO_GUESS_BUDGET_MILLIS = 1000; // Time allowed to find the board of one game in no-guess mode
+
+    public static void main(String[] args) {
+        Map<String, String> options = CommandLine.parseOptions(args);
+        int size = Integer.parseInt(options.getOrDefault("size", "16"));
+        int mines = Integer.parseInt(options.getOrDefault("mines", "40"));
+        long games = Long.parseLong(options.getOrDefault("games", "100000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        Supplier<MoveStrategy> strategy = getStrategy(options.getOrDefault("strategy", "random"));
+        LongFunction<StartBoardFactory> startBoards = getStart(options.getOrDefault("start", "random"));
+
+        System.out.println("Simulating " + games + " games on a " + size + "x" + size + " grid with " + mines + " mines, using "
+            + threads + " threads.");
+        long start = System.nanoTime();
+        Simulator simulator = new Simulator(size, mines, strategy, seed);
+        simulator.setStartBoards(startBoards);
+        SimulationStats stats = simulator.run(games, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(stats);
+        System.out.printf("Finished in %.2f seconds (%.0f games per second).%n", seconds, stats.games() / seconds);
+    }
+
+    /**
+     * @param name The name of a strategy.
+     * @return Creates a new instance of the strategy for each game.
+     * @throws IllegalArgumentException If there is no strategy with that name.
+     */
+    private static Supplier<MoveStrategy> getStrategy(String name) {
+        switch (name) {
+            case "random":
+                return RandomMoveStrategy::new;
+            case "solver":
+                return SolverMoveStrategy::new;
+            case "probability":
+                ProbabilityEngine engine = new ProbabilityEngine();
+                return () -> new SolverMoveStrategy(engine);
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + name + ".");
+        }
+    }
+
+    /**
+     * @param name The name of a start.
+     * @return Creates the start board factory of each game from its seed, or null to place mines before the first move.
+     * @throws IllegalArgumentException If there is no start with that name.
+     */
+    private static LongFunction<StartBoardFactory> getStart(String name) {
+        switch (name) {
+            case "random":
+                return null;
+            case "safe":
+                return seed -> new BoardGenerator(new RandomMinePlacer(seed), ~seed);
+            case "no-guess":
+                return seed -> new BoardGenerator(seed, NO_GUESS_ATTEMPTS, NO_GUESS_BUDGET_MILLIS, 1);
+            default:
+                throw new IllegalArgumentException("Unknown start " + name + ".");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package board;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Stores the state of a square Minesweeper board as two dense, row-major bitsets on the heap.<br><br>
+ *
+ * - One bitset marks the cells containing a mine, the other marks the uncovered cells.<br>
+ * - Each bitset is a single long array, so a cell costs two bits and there are no per-row object headers.<br>
+ * - Adjacent mine counts are not stored; they are counted from the mine bitset when requested.<br>
+ */
+public final class BitSetBoard implements BoardStorage {
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class); // Atomic access to the bitsets
+    private static final VarHandle REVEALED_COUNT = revealedCountHandle(); // Atomic updates of revealedCount
+    private static final long MAX_WORDS = Integer.MAX_VALUE - 8; // Largest array length supported by the JVM
+
+    private final int size; // Size of the grid
+    private final long[] mines; // Bit set if the cell contains a mine
+    private final long[] revealed; // Bit set if the cell has been uncovered
+    private long mineCount; // Number of mines on the board
+    private long revealedCount; // Number of uncovered cells
+
+    /**
+     * Creates an empty bitset board with no mines and every cell hidden.
+     *
+     * @param size The size of the grid (size x size).
+     * @throws IllegalArgumentException If the grid has more cells than a bitset array can hold.
+     */
+    public BitSetBoard(int size) {
+        long words = ((long) size * size + 63) >>> 6;
+        if (words > MAX_WORDS) {
+            throw new IllegalArgumentException("A " + size + "x" + size + " grid is too large for a bitset board.");
+        }
+        this.size = size;
+        this.mines = new long[(int) words];
+        this.revealed = new long[(int) words];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long mineCount() {
+        return this.mineCount;
+    }
+
+    @Override
+    public long revealedCount() {
+        return this.revealedCount;
+    }
+
+    @Override
+    public void placeMine(int row, int col) {
+        long index = (long) row * this.size + col;
+        if (!get(this.mines, index)) {
+            this.mines[(int) (index >>> 6)] |= 1L << index;
+            this.mineCount++;
+        }
+    }
+
+    @Override
+    public boolean isMine(int row, int col) {
+        return get(this.mines, (long) row * this.size + col);
+    }
+
+    @Override
+    public boolean isRevealed(int row, int col) {
+        return get(this.revealed, (long) row * this.size + col);
+    }
+
+    @Override
+    public void setRevealed(int row, int col) {
+        long index = (long) row * this.size + col;
+        if (!get(this.revealed, index)) {
+            this.revealed[(int) (index >>> 6)] |= 1L << index;
+            this.revealedCount++;
+        }
+    }
+
+    @Override
+    public boolean supportsConcurrentReveal() {
+        return true;
+    }
+
+    @Override
+    public boolean claimRevealed(int row, int col) {
+        long index = (long) row * this.size + col;
+        long bit = 1L << index;
+        long previous = (long) WORDS.getAndBitwiseOr(this.revealed, (int) (index >>> 6), bit);
+        return (previous & bit) == 0;
+    }
+
+    @Override
+    public void addRevealedCount(long cells) {
+        REVEALED_COUNT.getAndAdd(this, cells);
+    }
+
+    @Override
+    public int adjacentMines(int row, int col) {
+        int firstRow = Math.max(row - 1, 0);
+        int lastRow = Math.min(row + 1, this.size - 1);
+        int firstCol = Math.max(col - 1, 0);
+        int lastCol = Math.min(col + 1, this.size - 1);
+        int count = 0;
+        for (int r = firstRow; r <= lastRow; r++) {
+            long rowStart = (long) r * this.size;
+            for (int c = firstCol; c <= lastCol; c++) {
+                if ((r != row || c != col) && get(this.mines, rowStart + c)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long mineWord(long word) {
+        return this.mines[(int) word];
+    }
+
+    @Override
+    public long revealedWord(long word) {
+        return this.revealed[(int) word];
+    }
+
+    @Override
+    public void placeMineWord(long word, long bits) {
+        long added = bits & validBits(word) & ~this.mines[(int) word];
+        this.mines[(int) word] |= added;
+        this.mineCount += Long.bitCount(added);
+    }
+
+    @Override
+    public void setRevealedWord(long word, long bits) {
+        long added = bits & validBits(word) & ~this.revealed[(int) word];
+        this.revealed[(int) word] |= added;
+        this.revealedCount += Long.bitCount(added);
+    }
+
+    @Override
+    public long footprintBytes() {
+        return (long) (this.mines.length + this.revealed.length) * Long.BYTES;
+    }
+
+    /**
+     * @param word The index of a word of the bitsets.
+     * @return The bits of the word which belong to cells of the board.
+     */
+    private long validBits(long word) {
+        long cellsInWord = (long) this.size * this.size - (word << 6);
+        return cellsInWord >= 64 ? -1L : (1L << cellsInWord) - 1;
+    }
+
+    /**
+     * @param bits The bitset to read.
+     * @param index The row-major index of the cell.
+     * @return True if the bit of the cell is set.
+     */
+    private static boolean get(long[] bits, long index) {
+        return (bits[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    private static VarHandle revealedCountHandle() {
+        try {
+            return MethodHandles.lookup().findVarHandle(BitSetBoard.class, "revealedCount", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package board;
+
+/**
+ * Storage for the state of a square Minesweeper board: where the mines are and which cells have been uncovered.<br><br>
+ *
+ * Implementations trade memory for speed in different ways:<br>
+ * - {@link PackedBoard} keeps one byte per cell on the heap, including a precomputed adjacent mine count.<br>
+ * - {@link BitSetBoard} keeps two bits per cell on the heap and counts adjacent mines on demand.<br>
+ * - {@link MappedBoard} keeps two bits per cell in a memory-mapped file, so the board may exceed the heap and be reopened later.<br>
+ * - {@link SparseBoard} keeps the mines in a hash set and the uncovered cells in lazily allocated tiles, for very low densities.<br><br>
+ *
+ * Cells are addressed by row and column; implementations must not assume that size * size fits in an int.<br>
+ */
+public interface BoardStorage {
+    /**
+     * @return The size of the grid (size x size).
+     */
+    int size();
+
+    /**
+     * @return The number of mines placed on the board.
+     */
+    long mineCount();
+
+    /**
+     * @return The number of cells that have been uncovered.
+     */
+    long revealedCount();
+
+    /**
+     * Places a mine on a cell. Placing a mine on a cell that already contains one has no effect.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     */
+    void placeMine(int row, int col);
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell contains a mine.
+     */
+    boolean isMine(int row, int col);
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell has been uncovered.
+     */
+    boolean isRevealed(int row, int col);
+
+    /**
+     * Marks a cell as uncovered. Marking a cell that is already uncovered has no effect.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     */
+    void setRevealed(int row, int col);
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The number of mines surrounding the cell.
+     */
+    int adjacentMines(int row, int col);
+
+    /**
+     * @return True if {@link #claimRevealed(int, int)} may be called concurrently from several threads.
+     */
+    default boolean supportsConcurrentReveal() {
+        return false;
+    }
+
+    /**
+     * Atomically marks a cell as uncovered, for reveals spread over several threads.<br><br>
+     *
+     * - May be called concurrently with itself and with the read methods, but not with any other write.<br>
+     * - Exactly one of several concurrent calls for the same hidden cell returns true.<br>
+     * - Does not update {@link #revealedCount()}; callers add the number of cells they claimed with {@link #addRevealedCount(long)}
+     *   once the concurrent reveal has finished.<br>
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if this call uncovered the cell, false if it was already uncovered.
+     * @throws UnsupportedOperationException If the board does not support concurrent reveals.
+     */
+    default boolean claimRevealed(int row, int col) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support concurrent reveals.");
+    }
+
+    /**
+     * Adds cells uncovered through {@link #claimRevealed(int, int)} to the uncovered cell count.<br>
+     * May be called concurrently with itself and with {@link #claimRevealed(int, int)}.
+     *
+     * @param cells The number of cells claimed.
+     * @throws UnsupportedOperationException If the board does not support concurrent reveals.
+     */
+    default void addRevealedCount(long cells) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support concurrent reveals.");
+    }
+
+    /**
+     * Reads the mines of 64 consecutive cells at once, for bulk copies such as snapshots.<br>
+     * Word w covers the cells of row-major index 64 * w to 64 * w + 63; bit i is set if cell 64 * w + i holds a mine.
+     * Bits past the last cell of the board are clear.<br><br>
+     *
+     * The default implementation tests the cells one by one; bitset boards return their words directly.
+     *
+     * @param word The index of the word, below {@link #wordCount()}.
+     * @return The mines of the cells of the word.
+     */
+    default long mineWord(long word) {
+        long bits = 0;
+        long first = word << 6;
+        long end = Math.min(first + 64, (long) size() * size());
+        for (long index = first; index < end; index++) {
+            if (isMine((int) (index / size()), (int) (index % size()))) {
+                bits |= 1L << index;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Reads the uncovered state of 64 consecutive cells at once, laid out as in {@link #mineWord(long)}.
+     *
+     * @param word The index of the word, below {@link #wordCount()}.
+     * @return The uncovered cells of the word.
+     */
+    default long revealedWord(long word) {
+        long bits = 0;
+        long first = word << 6;
+        long end = Math.min(first + 64, (long) size() * size());
+        for (long index = first; index < end; index++) {
+            if (isRevealed((int) (index / size()), (int) (index % size()))) {
+                bits |= 1L << index;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Places mines on up to 64 consecutive cells at once, as {@link #placeMine(int, int)} would for every set bit.
+     *
+     * @param word The index of the word, below {@link #wordCount()}.
+     * @param bits The cells of the word to place a mine on, laid out as in {@link #mineWord(long)}; bits past the last cell are ignored.
+     */
+    default void placeMineWord(long word, long bits) {
+        long first = word << 6;
+        long cells = (long) size() * size();
+        for (long remaining = bits; remaining != 0; remaining &= remaining - 1) {
+            long index = first + Long.numberOfTrailingZeros(remaining);
+            if (index < cells) {
+                placeMine((int) (index / size()), (int) (index % size()));
+            }
+        }
+    }
+
+    /**
+     * Uncovers up to 64 consecutive cells at once, as {@link #setRevealed(int, int)} would for every set bit.
+     *
+     * @param word The index of the word, below {@link #wordCount()}.
+     * @param bits The cells of the word to uncover, laid out as in {@link #mineWord(long)}; bits past the last cell are ignored.
+     */
+    default void setRevealedWord(long word, long bits) {
+        long first = word << 6;
+        long cells = (long) size() * size();
+        for (long remaining = bits; remaining != 0; remaining &= remaining - 1) {
+            long index = first + Long.numberOfTrailingZeros(remaining);
+            if (index < cells) {
+                setRevealed((int) (index / size()), (int) (index % size()));
+            }
+        }
+    }
+
+    /**
+     * @return The number of 64 cell words covering the board, see {@link #mineWord(long)}.
+     */
+    default long wordCount() {
+        return ((long) size() * size() + 63) >>> 6;
+    }
+
+    /**
+     * Estimates the memory taken by the state of the board, excluding object headers.<br>
+     * The default assumes two bits per cell, as in a bitset board.
+     *
+     * @return The number of bytes taken by the mines, uncovered cells and any cached counts of the board.
+     */
+    default long footprintBytes() {
+        return wordCount() * 2 * Long.BYTES;
+    }
+
+    /**
+     * Creates an empty on-heap board suited to the given grid size.<br><br>
+     *
+     * - Grids that fit in a single byte array use a {@link PackedBoard} for the fastest lookups.<br>
+     * - Larger grids use a {@link BitSetBoard}, which needs a quarter of a byte per cell.<br>
+     *
+     * @param size The size of the grid (size x size).
+     * @return A board with no mines and every cell hidden.
+     */
+    static BoardStorage forSize(int size) {
+        return PackedBoard.canHold(size) ? new PackedBoard(size) : new BitSetBoard(size);
+    }
+
+    /**
+     * @param size The size of the grid (size x size).
+     * @return The {@link #footprintBytes()} of the board {@link #forSize(int)} would create, without creating it.
+     */
+    static long footprintForSize(int size) {
+        long cells = (long) size * size;
+        return PackedBoard.canHold(size) ? cells : ((cells + 63) >>> 6) * 2 * Long.BYTES;
+    }
+
+    /**
+     * Creates an empty on-heap board suited to the given grid size and number of mines.<br><br>
+     *
+     * - A {@link SparseBoard} is used when it is at least four times smaller than the board {@link #forSize(int)} would
+     *   create, or when the grid is too large for a dense board at all.<br>
+     * - Otherwise, the board of {@link #forSize(int)} is used.<br>
+     *
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to be placed.
+     * @return A board with no mines and every cell hidden.
+     */
+    static BoardStorage forBoard(int size, long mineCount) {
+        return prefersSparse(size, mineCount) ? new SparseBoard(size, mineCount) : forSize(size);
+    }
+
+    /**
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to be placed.
+     * @return The {@link #footprintBytes()} of the board {@link #forBoard(int, long)} would create once its mines are placed,
+     *         without creating it.
+     */
+    static long footprintForBoard(int size, long mineCount) {
+        return prefersSparse(size, mineCount) ? SparseBoard.footprintFor(size, mineCount) : footprintForSize(size);
+    }
+
+    private static boolean prefersSparse(int size, long mineCount) {
+        if (!SparseBoard.canHold(size, mineCount)) {
+            return false;
+        }
+        boolean denseFits = (((long) size * size + 63) >>> 6) <= Integer.MAX_VALUE - 8;
+        return !denseFits || SparseBoard.footprintFor(size, mineCount) * 4 < footprintForSize(size);
+    }
+}
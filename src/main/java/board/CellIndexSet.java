@@ -0,0 +1,198 @@
+package board;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of non-negative cell indices stored in a primitive open-addressing hash table.<br><br>
+ *
+ * - Indices live directly in a long array, with no boxing and no per-entry objects, using linear probing.<br>
+ * - Removal shifts later entries of the probe sequence back, so no tombstones accumulate.<br>
+ * - The table doubles when it becomes more than half full.<br>
+ */
+public final class CellIndexSet {
+    /** Largest number of indices a set can be presized for. */
+    public static final int MAX_EXPECTED_SIZE = 1 << 29;
+
+    private static final long EMPTY = -1; // Marks a free slot, cell indices are never negative
+
+    private long[] slots; // Hash table, length is always a power of two
+    private int size; // Number of indices in the set
+
+    /**
+     * Creates an empty set.
+     */
+    public CellIndexSet() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty set sized to hold the given number of indices without growing.
+     *
+     * @param expectedSize The number of indices expected.
+     * @throws IllegalArgumentException If more than {@link #MAX_EXPECTED_SIZE} indices are expected.
+     */
+    public CellIndexSet(int expectedSize) {
+        if (expectedSize > MAX_EXPECTED_SIZE) {
+            throw new IllegalArgumentException("Cannot presize a set for " + expectedSize + " indices.");
+        }
+        this.slots = new long[capacityFor(expectedSize)];
+        Arrays.fill(this.slots, EMPTY);
+    }
+
+    /**
+     * @return The number of indices in the set.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param index A cell index.
+     * @return True if the index is in the set.
+     */
+    public boolean contains(long index) {
+        int mask = this.slots.length - 1;
+        for (int slot = hash(index) & mask; ; slot = (slot + 1) & mask) {
+            long value = this.slots[slot];
+            if (value == index) return true;
+            if (value == EMPTY) return false;
+        }
+    }
+
+    /**
+     * Adds an index to the set.
+     *
+     * @param index A non-negative cell index.
+     * @return True if the index was not already in the set.
+     */
+    public boolean add(long index) {
+        int mask = this.slots.length - 1;
+        int slot = hash(index) & mask;
+        for (long value = this.slots[slot]; value != EMPTY; value = this.slots[slot]) {
+            if (value == index) return false;
+            slot = (slot + 1) & mask;
+        }
+        this.slots[slot] = index;
+        if (++this.size * 2 > this.slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Removes an index from the set.
+     *
+     * @param index A cell index.
+     * @return True if the index was in the set.
+     */
+    public boolean remove(long index) {
+        int mask = this.slots.length - 1;
+        int slot = hash(index) & mask;
+        for (long value = this.slots[slot]; value != index; value = this.slots[slot]) {
+            if (value == EMPTY) return false;
+            slot = (slot + 1) & mask;
+        }
+
+        // Shift back any later entry of the probe sequence which could not be found past the freed slot
+        int free = slot;
+        for (int next = (free + 1) & mask; this.slots[next] != EMPTY; next = (next + 1) & mask) {
+            int home = hash(this.slots[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                this.slots[free] = this.slots[next];
+                free = next;
+            }
+        }
+        this.slots[free] = EMPTY;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Removes every index from the set, keeping its capacity.
+     */
+    public void clear() {
+        Arrays.fill(this.slots, EMPTY);
+        this.size = 0;
+    }
+
+    /**
+     * @return An independent set holding the same indices, copied in a single pass over the table.
+     */
+    public CellIndexSet copy() {
+        CellIndexSet copy = new CellIndexSet(0);
+        copy.slots = this.slots.clone();
+        copy.size = this.size;
+        return copy;
+    }
+
+    /**
+     * @return The indices in the set, in no particular order.
+     */
+    public long[] toArray() {
+        long[] values = new long[this.size];
+        int n = 0;
+        for (long value : this.slots) {
+            if (value != EMPTY) {
+                values[n++] = value;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Passes every index of the set to an action, in no particular order, without allocating.
+     *
+     * @param action Receives each index. It must not modify the set.
+     */
+    public void forEach(LongConsumer action) {
+        for (long value : this.slots) {
+            if (value != EMPTY) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * @return The number of bytes used by the hash table.
+     */
+    public long footprintBytes() {
+        return (long) this.slots.length * Long.BYTES;
+    }
+
+    /**
+     * @param expectedSize The number of indices expected, at most {@link #MAX_EXPECTED_SIZE}.
+     * @return The {@link #footprintBytes()} of a set presized for them, once they have been added.
+     */
+    public static long footprintFor(long expectedSize) {
+        return (long) capacityFor((int) expectedSize) * Long.BYTES;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        return Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+    }
+
+    private void grow() {
+        long[] old = this.slots;
+        this.slots = new long[old.length * 2];
+        Arrays.fill(this.slots, EMPTY);
+        int mask = this.slots.length - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int slot = hash(value) & mask;
+                while (this.slots[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                this.slots[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of an index, so that neighbouring cells do not cluster in the table.
+     */
+    private static int hash(long index) {
+        long h = index * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
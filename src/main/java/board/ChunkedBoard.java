@@ -0,0 +1,210 @@
+package board;
+
+import services.MinePlacer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Stores an "endless" Minesweeper board whose mines are generated lazily, one chunk at a time.<br><br>
+ *
+ * The board is divided into chunks of 64 x 64 cells, and no array covering the whole board is ever allocated:<br>
+ * - The mines of a chunk are derived from the board's seed and the chunk's coordinates, so a chunk always has the same mines.<br>
+ * - A chunk's mines are only generated when a lookup first touches it, and are kept in a bounded least-recently-used cache.
+ *   Evicted chunks are simply generated again when needed.<br>
+ * - Chunks holding uncovered cells keep only a compact bitset of those cells, 512 bytes per chunk, which is never evicted.<br><br>
+ *
+ * Memory therefore grows with the explored area rather than with the size of the board.
+ * Mines are chosen by the board itself, so {@link #placeMine(int, int)} is not supported.<br>
+ */
+public final class ChunkedBoard implements BoardStorage {
+    public static final int CHUNK_SIZE = 64; // Width and height of a chunk, one long per chunk row
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int CHUNKS_PER_SIDE = Integer.MAX_VALUE / CHUNK_SIZE; // Largest board with whole chunks and int coordinates
+
+    private final long seed; // Seed from which the mines of every chunk are derived
+    private final int minesPerChunk; // Number of mines in each chunk
+    private final LongFunction<MinePlacer> placerFactory; // Creates the placer for a chunk from the chunk's seed
+    private final Map<Long, long[]> mineChunks; // Recently used chunks of mines, one long per chunk row
+    private final Map<Long, long[]> revealedChunks = new HashMap<>(); // Uncovered cells of every chunk that has any, one long per chunk row
+    private long revealedCount; // Number of uncovered cells
+
+    private long lastMineKey = -1; // Key of the last chunk of mines looked up
+    private long[] lastMines; // Mines of the last chunk looked up
+
+    /**
+     * Creates an endless board.
+     *
+     * @param seed The seed from which the mines of every chunk are derived.
+     * @param minesPerChunk The number of mines in each chunk of 64 x 64 cells.
+     * @param maxCachedChunks The maximum number of chunks of mines kept in memory at once.
+     * @param placerFactory Creates the placer used to generate a chunk's mines from that chunk's seed, e.g. {@code RandomMinePlacer::new}.
+     */
+    public ChunkedBoard(long seed, int minesPerChunk, int maxCachedChunks, LongFunction<MinePlacer> placerFactory) {
+        if (minesPerChunk < 0 || minesPerChunk > CHUNK_SIZE * CHUNK_SIZE) {
+            throw new IllegalArgumentException("A chunk cannot hold " + minesPerChunk + " mines.");
+        }
+        if (maxCachedChunks < 1) {
+            throw new IllegalArgumentException("At least one chunk must be cached.");
+        }
+        this.seed = seed;
+        this.minesPerChunk = minesPerChunk;
+        this.placerFactory = placerFactory;
+        this.mineChunks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                return size() > maxCachedChunks;
+            }
+        };
+    }
+
+    /**
+     * @return The size of the grid, the largest whole number of chunks addressable with int coordinates.
+     */
+    @Override
+    public int size() {
+        return CHUNKS_PER_SIDE * CHUNK_SIZE;
+    }
+
+    @Override
+    public long mineCount() {
+        return (long) CHUNKS_PER_SIDE * CHUNKS_PER_SIDE * this.minesPerChunk;
+    }
+
+    @Override
+    public long revealedCount() {
+        return this.revealedCount;
+    }
+
+    /**
+     * Not supported: the mines of an endless board are derived from its seed.
+     *
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void placeMine(int row, int col) {
+        throw new UnsupportedOperationException("The mines of an endless board are derived from its seed.");
+    }
+
+    @Override
+    public boolean isMine(int row, int col) {
+        long[] mines = mineChunk(chunkKey(row, col));
+        return (mines[row & CHUNK_MASK] & (1L << col)) != 0;
+    }
+
+    @Override
+    public boolean isRevealed(int row, int col) {
+        long[] revealed = this.revealedChunks.get(chunkKey(row, col));
+        return revealed != null && (revealed[row & CHUNK_MASK] & (1L << col)) != 0;
+    }
+
+    @Override
+    public void setRevealed(int row, int col) {
+        long[] revealed = this.revealedChunks.computeIfAbsent(chunkKey(row, col), key -> new long[CHUNK_SIZE]);
+        long bit = 1L << col;
+        if ((revealed[row & CHUNK_MASK] & bit) == 0) {
+            revealed[row & CHUNK_MASK] |= bit;
+            this.revealedCount++;
+        }
+    }
+
+    @Override
+    public int adjacentMines(int row, int col) {
+        int lastCell = size() - 1;
+        int count = 0;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, lastCell); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, lastCell); c++) {
+                if ((r != row || c != col) && isMine(r, c)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The memory taken by the chunks currently held, which grows with the explored area rather than the board.
+     */
+    @Override
+    public long footprintBytes() {
+        return (long) (cachedChunkCount() + revealedChunkCount()) * CHUNK_SIZE * Long.BYTES;
+    }
+
+    /**
+     * @return The number of chunks of mines currently held in memory.
+     */
+    public int cachedChunkCount() {
+        return this.mineChunks.size();
+    }
+
+    /**
+     * @return The number of chunks holding at least one uncovered cell.
+     */
+    public int revealedChunkCount() {
+        return this.revealedChunks.size();
+    }
+
+    /**
+     * @param row The row index of a cell.
+     * @param col The column index of a cell.
+     * @return The key of the chunk containing the cell.
+     */
+    private static long chunkKey(int row, int col) {
+        return (long) (row >>> CHUNK_SHIFT) * CHUNKS_PER_SIDE + (col >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * Looks up the mines of a chunk, generating them if the chunk is not cached.
+     *
+     * @param key The key of the chunk.
+     * @return The mines of the chunk, one long per chunk row with bit c set if column c holds a mine.
+     */
+    private long[] mineChunk(long key) {
+        if (key == this.lastMineKey) {
+            return this.lastMines;
+        }
+        long[] mines = this.mineChunks.get(key);
+        if (mines == null) {
+            mines = generateChunk(key);
+            this.mineChunks.put(key, mines);
+        }
+        this.lastMineKey = key;
+        this.lastMines = mines;
+        return mines;
+    }
+
+    /**
+     * Generates the mines of a chunk with a placer seeded from the board's seed and the chunk's key.
+     *
+     * @param key The key of the chunk.
+     * @return The mines of the chunk, one long per chunk row.
+     */
+    private long[] generateChunk(long key) {
+        PackedBoard chunk = new PackedBoard(CHUNK_SIZE);
+        this.placerFactory.apply(mix(this.seed + key * 0x9E3779B97F4A7C15L)).placeMines(CHUNK_SIZE, this.minesPerChunk, chunk);
+        long[] mines = new long[CHUNK_SIZE];
+        for (int r = 0; r < CHUNK_SIZE; r++) {
+            for (int c = 0; c < CHUNK_SIZE; c++) {
+                if (chunk.isMine(r, c)) {
+                    mines[r] |= 1L << c;
+                }
+            }
+        }
+        return mines;
+    }
+
+    /**
+     * Scrambles the bits of a value, so that neighbouring chunks get unrelated seeds.
+     *
+     * @param z The value to scramble.
+     * @return The scrambled value.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
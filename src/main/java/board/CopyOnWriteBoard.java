@@ -0,0 +1,215 @@
+package board;
+
+/**
+ * A view of a board whose mines are shared with other views, and whose uncovered cells can be forked in constant time.<br><br>
+ *
+ * The view wraps a base board which is never written again:<br>
+ * - Mines, mine counts and adjacent mine counts are read straight from the base.<br>
+ * - Cells uncovered through the view are kept in a persistent trie of bitset tiles, and a cell is uncovered if it is
+ *   uncovered on the base or in the trie. Each tile covers 512 cells, and each branch has 32 children.<br>
+ * - {@link #fork()} shares the whole trie with the new view. Afterwards, the first write to a shared tile copies the
+ *   tile and the branches above it, so each view only pays for the tiles it changes.<br><br>
+ *
+ * Every node records the view that created it, and a view writes in place only to its own nodes. Forking gives both
+ * views a new identity, so nodes created before the fork are never written again and may be read from any thread.
+ * A single view is not thread-safe, and forks of a board whose reads are not thread-safe, such as a
+ * {@link ChunkedBoard}, must stay on one thread. Mines are fixed, so {@link #placeMine(int, int)} is not supported.<br>
+ */
+public final class CopyOnWriteBoard implements BoardStorage {
+    private static final int TILE_SHIFT = 3; // Each tile holds 2^3 words of 64 cells
+    private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+    private static final int BRANCH_SHIFT = 5; // Each branch has 2^5 children
+    private static final int BRANCH_MASK = (1 << BRANCH_SHIFT) - 1;
+    private static final long TILE_BYTES = (1L << TILE_SHIFT) * Long.BYTES;
+    private static final long BRANCH_BYTES = (1L << BRANCH_SHIFT) * Integer.BYTES; // Assumes compressed references
+
+    private final BoardStorage base; // Board holding the mines and the cells uncovered before the first fork, never written
+    private final int height; // Number of branch levels above the tiles, 0 if the root is a tile
+    private Node root; // Root of the trie of cells uncovered since the base, or null if none
+    private Object owner = new Object(); // Identity of this view, marks the nodes it may write in place
+    private long revealedCount; // Number of uncovered cells, on the base or in the trie
+    private long copiedBytes; // Bytes of nodes created by this view since it was created or last forked
+
+    /**
+     * Creates a view of a board, which must not be written through any other reference afterwards.
+     *
+     * @param base The board holding the mines and any cells uncovered so far.
+     */
+    public CopyOnWriteBoard(BoardStorage base) {
+        this.base = base;
+        this.revealedCount = base.revealedCount();
+        long tiles = (base.wordCount() + TILE_MASK) >>> TILE_SHIFT;
+        int height = 0;
+        while (tiles > 1L << (BRANCH_SHIFT * height)) {
+            height++;
+        }
+        this.height = height;
+    }
+
+    private CopyOnWriteBoard(CopyOnWriteBoard parent) {
+        this.base = parent.base;
+        this.height = parent.height;
+        this.root = parent.root;
+        this.revealedCount = parent.revealedCount;
+    }
+
+    /**
+     * Creates an independent view of the same board, in constant time.<br>
+     * Both views start with the cells currently uncovered; cells uncovered afterwards through either view are not
+     * seen by the other.
+     *
+     * @return The new view.
+     */
+    public CopyOnWriteBoard fork() {
+        this.owner = new Object();
+        this.copiedBytes = 0;
+        return new CopyOnWriteBoard(this);
+    }
+
+    @Override
+    public int size() {
+        return this.base.size();
+    }
+
+    @Override
+    public long mineCount() {
+        return this.base.mineCount();
+    }
+
+    @Override
+    public long revealedCount() {
+        return this.revealedCount;
+    }
+
+    /**
+     * Not supported: the mines are shared by every fork of the board.
+     *
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void placeMine(int row, int col) {
+        throw new UnsupportedOperationException("The mines of a copy-on-write board are shared by its forks.");
+    }
+
+    @Override
+    public boolean isMine(int row, int col) {
+        return this.base.isMine(row, col);
+    }
+
+    @Override
+    public boolean isRevealed(int row, int col) {
+        long index = (long) row * size() + col;
+        return (trieWord(index >>> 6) & (1L << index)) != 0 || this.base.isRevealed(row, col);
+    }
+
+    @Override
+    public void setRevealed(int row, int col) {
+        if (!isRevealed(row, col)) {
+            long index = (long) row * size() + col;
+            writableTile(index >>> 6)[(int) (index >>> 6) & TILE_MASK] |= 1L << index;
+            this.revealedCount++;
+        }
+    }
+
+    @Override
+    public int adjacentMines(int row, int col) {
+        return this.base.adjacentMines(row, col);
+    }
+
+    @Override
+    public long mineWord(long word) {
+        return this.base.mineWord(word);
+    }
+
+    @Override
+    public long revealedWord(long word) {
+        return this.base.revealedWord(word) | trieWord(word);
+    }
+
+    @Override
+    public void setRevealedWord(long word, long bits) {
+        long cellsInWord = (long) size() * size() - (word << 6);
+        long valid = cellsInWord >= 64 ? -1L : (1L << cellsInWord) - 1;
+        long added = bits & valid & ~revealedWord(word);
+        if (added != 0) {
+            writableTile(word)[(int) word & TILE_MASK] |= added;
+            this.revealedCount += Long.bitCount(added);
+        }
+    }
+
+    @Override
+    public long wordCount() {
+        return this.base.wordCount();
+    }
+
+    /**
+     * @return The bytes of tiles and branches this view has copied or created since it was created or last forked.
+     *         Nodes shared with other views and the base board are not counted, so this is the marginal cost of the view.
+     */
+    @Override
+    public long footprintBytes() {
+        return this.copiedBytes;
+    }
+
+    /**
+     * @param word The index of a word of 64 cells.
+     * @return The cells of the word uncovered in the trie, excluding those uncovered on the base.
+     */
+    private long trieWord(long word) {
+        long tile = word >>> TILE_SHIFT;
+        Node node = this.root;
+        for (int level = this.height; level > 0 && node != null; level--) {
+            node = node.children[(int) (tile >>> (BRANCH_SHIFT * (level - 1))) & BRANCH_MASK];
+        }
+        return node == null ? 0 : node.words[(int) word & TILE_MASK];
+    }
+
+    /**
+     * Finds the tile holding a word, copying the tile and the branches above it unless this view created them.
+     *
+     * @param word The index of a word of 64 cells.
+     * @return The words of the tile, which this view may write in place.
+     */
+    private long[] writableTile(long word) {
+        long tile = word >>> TILE_SHIFT;
+        this.root = writable(this.root, this.height);
+        Node node = this.root;
+        for (int level = this.height; level > 0; level--) {
+            int child = (int) (tile >>> (BRANCH_SHIFT * (level - 1))) & BRANCH_MASK;
+            node.children[child] = writable(node.children[child], level - 1);
+            node = node.children[child];
+        }
+        return node.words;
+    }
+
+    /**
+     * @param node A node of the trie, or null if it does not exist yet.
+     * @param level The level of the node, 0 for a tile.
+     * @return The node itself if this view created it, otherwise a copy of it, or a new empty node, owned by this view.
+     */
+    private Node writable(Node node, int level) {
+        if (node != null && node.owner == this.owner) {
+            return node;
+        }
+        this.copiedBytes += level == 0 ? TILE_BYTES : BRANCH_BYTES;
+        if (level == 0) {
+            return new Node(this.owner, null, node == null ? new long[1 << TILE_SHIFT] : node.words.clone());
+        }
+        return new Node(this.owner, node == null ? new Node[1 << BRANCH_SHIFT] : node.children.clone(), null);
+    }
+
+    /**
+     * A node of the trie: a branch with children, or a tile with words of uncovered cells.
+     */
+    private static final class Node {
+        private final Object owner; // View which created the node and may write it in place
+        private final Node[] children; // Children of a branch, some of which may be null, or null for a tile
+        private final long[] words; // Uncovered cells of a tile, or null for a branch
+
+        private Node(Object owner, Node[] children, long[] words) {
+            this.owner = owner;
+            this.children = children;
+            this.words = words;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package board;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stores the state of a square Minesweeper board as two bitsets in a memory-mapped file.<br><br>
+ *
+ * The board lives off the heap, so it may be larger than the heap, and the file can be reopened later to resume a game.
+ * The file is laid out as:<br>
+ * - A 64 byte header: magic number, format version, grid size, mine count and uncovered cell count.<br>
+ * - The mine bitset, one bit per cell in row-major order, padded to a whole number of longs.<br>
+ * - The uncovered bitset, laid out the same way.<br><br>
+ *
+ * The file is mapped in segments of 1 GiB, since a single mapping cannot exceed 2 GiB.
+ * Adjacent mine counts are not stored; they are counted from the mine bitset when requested.<br>
+ */
+public final class MappedBoard implements BoardStorage, Closeable {
+    private static final int MAGIC = 0x4D535750; // "MSWP"
+    private static final int VERSION = 1; // Version of the file layout
+    private static final int HEADER_BYTES = 64; // Size of the header, keeps the bitsets aligned to longs
+    private static final int SIZE_OFFSET = 8; // Header offset of the grid size
+    private static final int MINE_COUNT_OFFSET = 16; // Header offset of the mine count
+    private static final int REVEALED_COUNT_OFFSET = 24; // Header offset of the uncovered cell count
+    private static final int SEGMENT_SHIFT = 30; // Each mapped segment covers 2^30 bytes
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel channel; // Channel the segments were mapped from
+    private final MappedByteBuffer[] segments; // Consecutive mappings covering the whole file
+    private final int size; // Size of the grid
+    private final long minesOffset; // File offset of the mine bitset
+    private final long revealedOffset; // File offset of the uncovered bitset
+    private long mineCount; // Number of mines on the board, mirrored in the header
+    private long revealedCount; // Number of uncovered cells, mirrored in the header
+
+    private MappedBoard(FileChannel channel, int size, long fileBytes) throws IOException {
+        this.channel = channel;
+        this.size = size;
+        this.minesOffset = HEADER_BYTES;
+        this.revealedOffset = HEADER_BYTES + bitsetBytes(size);
+        int segmentCount = (int) ((fileBytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            long length = Math.min(fileBytes - start, 1L << SEGMENT_SHIFT);
+            this.segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, length);
+            this.segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Creates a new board file with no mines and every cell hidden, replacing any existing file.
+     *
+     * @param path The file in which to store the board.
+     * @param size The size of the grid (size x size).
+     * @return The board backed by the new file.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    public static MappedBoard create(Path path, int size) throws IOException {
+        long fileBytes = HEADER_BYTES + 2 * bitsetBytes(size);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            channel.write(ByteBuffer.allocate(1), fileBytes - 1);
+            MappedBoard board = new MappedBoard(channel, size, fileBytes);
+            MappedByteBuffer header = board.segments[0];
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(SIZE_OFFSET, size);
+            return board;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reopens a board file previously written by {@link #create(Path, int)}.
+     *
+     * @param path The file storing the board.
+     * @return The board backed by the file, with its mines and uncovered cells as they were last written.
+     * @throws IOException If the file cannot be read, or is not a board file of a supported version.
+     */
+    public static MappedBoard open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException(path + " is not a Minesweeper board file.");
+            }
+            int size = header.getInt(SIZE_OFFSET);
+            long fileBytes = HEADER_BYTES + 2 * bitsetBytes(size);
+            if (channel.size() < fileBytes) {
+                throw new IOException(path + " is truncated.");
+            }
+            MappedBoard board = new MappedBoard(channel, size, fileBytes);
+            board.mineCount = header.getLong(MINE_COUNT_OFFSET);
+            board.revealedCount = header.getLong(REVEALED_COUNT_OFFSET);
+            return board;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param size The size of the grid (size x size).
+     * @return The number of bytes taken by one bitset of the grid, rounded up to a whole number of longs.
+     */
+    private static long bitsetBytes(int size) {
+        return (((long) size * size + 63) >>> 6) << 3;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long mineCount() {
+        return this.mineCount;
+    }
+
+    @Override
+    public long revealedCount() {
+        return this.revealedCount;
+    }
+
+    @Override
+    public void placeMine(int row, int col) {
+        if (setBit(this.minesOffset, (long) row * this.size + col)) {
+            this.segments[0].putLong(MINE_COUNT_OFFSET, ++this.mineCount);
+        }
+    }
+
+    @Override
+    public boolean isMine(int row, int col) {
+        return getBit(this.minesOffset, (long) row * this.size + col);
+    }
+
+    @Override
+    public boolean isRevealed(int row, int col) {
+        return getBit(this.revealedOffset, (long) row * this.size + col);
+    }
+
+    @Override
+    public void setRevealed(int row, int col) {
+        if (setBit(this.revealedOffset, (long) row * this.size + col)) {
+            this.segments[0].putLong(REVEALED_COUNT_OFFSET, ++this.revealedCount);
+        }
+    }
+
+    @Override
+    public int adjacentMines(int row, int col) {
+        int firstRow = Math.max(row - 1, 0);
+        int lastRow = Math.min(row + 1, this.size - 1);
+        int firstCol = Math.max(col - 1, 0);
+        int lastCol = Math.min(col + 1, this.size - 1);
+        int count = 0;
+        for (int r = firstRow; r <= lastRow; r++) {
+            long rowStart = (long) r * this.size;
+            for (int c = firstCol; c <= lastCol; c++) {
+                if ((r != row || c != col) && getBit(this.minesOffset, rowStart + c)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long mineWord(long word) {
+        return getWord(this.minesOffset + (word << 3));
+    }
+
+    @Override
+    public long revealedWord(long word) {
+        return getWord(this.revealedOffset + (word << 3));
+    }
+
+    @Override
+    public void placeMineWord(long word, long bits) {
+        long added = orWord(this.minesOffset + (word << 3), bits & validBits(word));
+        if (added != 0) {
+            this.mineCount += added;
+            this.segments[0].putLong(MINE_COUNT_OFFSET, this.mineCount);
+        }
+    }
+
+    @Override
+    public void setRevealedWord(long word, long bits) {
+        long added = orWord(this.revealedOffset + (word << 3), bits & validBits(word));
+        if (added != 0) {
+            this.revealedCount += added;
+            this.segments[0].putLong(REVEALED_COUNT_OFFSET, this.revealedCount);
+        }
+    }
+
+    /**
+     * @return The size of the mapped file, which lives off the heap.
+     */
+    @Override
+    public long footprintBytes() {
+        return HEADER_BYTES + 2 * bitsetBytes(this.size);
+    }
+
+    /**
+     * Writes any changes back to the file and releases the channel.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        for (MappedByteBuffer segment : this.segments) {
+            segment.force();
+        }
+        this.channel.close();
+    }
+
+    /**
+     * @param bitsetOffset The file offset of the bitset.
+     * @param index The row-major index of the cell.
+     * @return True if the bit of the cell is set.
+     */
+    private boolean getBit(long bitsetOffset, long index) {
+        return (getWord(bitsetOffset + ((index >>> 6) << 3)) & (1L << index)) != 0;
+    }
+
+    /**
+     * @param offset The file offset of a word of a bitset.
+     * @return The word.
+     */
+    private long getWord(long offset) {
+        return this.segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Sets several bits of a word of a bitset.
+     *
+     * @param offset The file offset of the word.
+     * @param bits The bits to set.
+     * @return The number of bits which were previously clear.
+     */
+    private long orWord(long offset, long bits) {
+        MappedByteBuffer segment = this.segments[(int) (offset >>> SEGMENT_SHIFT)];
+        int position = (int) (offset & SEGMENT_MASK);
+        long word = segment.getLong(position);
+        segment.putLong(position, word | bits);
+        return Long.bitCount(bits & ~word);
+    }
+
+    /**
+     * @param word The index of a word of the bitsets.
+     * @return The bits of the word which belong to cells of the board.
+     */
+    private long validBits(long word) {
+        long cellsInWord = (long) this.size * this.size - (word << 6);
+        return cellsInWord >= 64 ? -1L : (1L << cellsInWord) - 1;
+    }
+
+    /**
+     * Sets the bit of a cell.
+     *
+     * @param bitsetOffset The file offset of the bitset.
+     * @param index The row-major index of the cell.
+     * @return True if the bit was previously clear.
+     */
+    private boolean setBit(long bitsetOffset, long index) {
+        long offset = bitsetOffset + ((index >>> 6) << 3);
+        MappedByteBuffer segment = this.segments[(int) (offset >>> SEGMENT_SHIFT)];
+        int position = (int) (offset & SEGMENT_MASK);
+        long word = segment.getLong(position);
+        long bit = 1L << index;
+        if ((word & bit) != 0) {
+            return false;
+        }
+        segment.putLong(position, word | bit);
+        return true;
+    }
+}
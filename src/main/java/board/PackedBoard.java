@@ -0,0 +1,146 @@
+package board;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Stores the complete state of a square Minesweeper board in a single flat, row-major byte array.<br><br>
+ *
+ * Each cell is packed into one byte:<br>
+ * - Bits 0 to 3 hold the number of adjacent mines (0 to 8).<br>
+ * - Bit 4 is set if the cell contains a mine.<br>
+ * - Bit 5 is set if the cell has been uncovered.<br><br>
+ *
+ * The adjacent mine counts are updated as each mine is placed, so looking one up is a single array read.<br>
+ */
+public final class PackedBoard implements BoardStorage {
+    private static final int COUNT_MASK = 0x0F; // Bits holding the number of adjacent mines
+    private static final int MINE_BIT = 0x10; // Bit set if the cell contains a mine
+    private static final int REVEALED_BIT = 0x20; // Bit set if the cell has been uncovered
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(byte[].class); // Atomic access to the cells
+    private static final VarHandle REVEALED_COUNT = revealedCountHandle(); // Atomic updates of revealedCount
+    private static final int MAX_CELLS = Integer.MAX_VALUE - 8; // Largest array length supported by the JVM
+
+    private final int size; // Size of the grid
+    private final byte[] cells; // One packed byte per cell, in row-major order
+    private long mineCount; // Number of mines on the board
+    private long revealedCount; // Number of uncovered cells
+
+    /**
+     * Creates an empty packed board with no mines and every cell hidden.
+     *
+     * @param size The size of the grid (size x size).
+     * @throws IllegalArgumentException If the grid has more cells than a single array can hold.
+     */
+    public PackedBoard(int size) {
+        if (!canHold(size)) {
+            throw new IllegalArgumentException("A " + size + "x" + size + " grid is too large for a packed board.");
+        }
+        this.size = size;
+        this.cells = new byte[size * size];
+    }
+
+    /**
+     * @param size The size of the grid (size x size).
+     * @return True if a grid of this size fits in a packed board.
+     */
+    public static boolean canHold(int size) {
+        return (long) size * size <= MAX_CELLS;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long mineCount() {
+        return this.mineCount;
+    }
+
+    @Override
+    public long revealedCount() {
+        return this.revealedCount;
+    }
+
+    /**
+     * Places a mine on a cell and increments the adjacent mine count of every cell surrounding it.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     */
+    @Override
+    public void placeMine(int row, int col) {
+        int index = row * this.size + col;
+        if ((this.cells[index] & MINE_BIT) != 0) {
+            return;
+        }
+        this.cells[index] |= MINE_BIT;
+        this.mineCount++;
+
+        int firstRow = Math.max(row - 1, 0);
+        int lastRow = Math.min(row + 1, this.size - 1);
+        int firstCol = Math.max(col - 1, 0);
+        int lastCol = Math.min(col + 1, this.size - 1);
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstCol; c <= lastCol; c++) {
+                if (r != row || c != col) {
+                    this.cells[r * this.size + c]++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isMine(int row, int col) {
+        return (this.cells[row * this.size + col] & MINE_BIT) != 0;
+    }
+
+    @Override
+    public boolean isRevealed(int row, int col) {
+        return (this.cells[row * this.size + col] & REVEALED_BIT) != 0;
+    }
+
+    @Override
+    public void setRevealed(int row, int col) {
+        int index = row * this.size + col;
+        if ((this.cells[index] & REVEALED_BIT) == 0) {
+            this.cells[index] |= REVEALED_BIT;
+            this.revealedCount++;
+        }
+    }
+
+    @Override
+    public boolean supportsConcurrentReveal() {
+        return true;
+    }
+
+    @Override
+    public boolean claimRevealed(int row, int col) {
+        byte previous = (byte) CELLS.getAndBitwiseOr(this.cells, row * this.size + col, (byte) REVEALED_BIT);
+        return (previous & REVEALED_BIT) == 0;
+    }
+
+    @Override
+    public void addRevealedCount(long cells) {
+        REVEALED_COUNT.getAndAdd(this, cells);
+    }
+
+    @Override
+    public int adjacentMines(int row, int col) {
+        return this.cells[row * this.size + col] & COUNT_MASK;
+    }
+
+    @Override
+    public long footprintBytes() {
+        return this.cells.length;
+    }
+
+    private static VarHandle revealedCountHandle() {
+        try {
+            return MethodHandles.lookup().findVarHandle(PackedBoard.class, "revealedCount", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
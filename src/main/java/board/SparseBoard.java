@@ -0,0 +1,294 @@
+package board;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.LongConsumer;
+
+/**
+ * Stores the state of a square Minesweeper board whose mines are few and far between.<br><br>
+ *
+ * - The mines are kept as row-major cell indices in a {@link CellIndexSet}, so they cost a few bytes per mine
+ *   whatever the size of the grid.<br>
+ * - The uncovered cells are kept in a bitset split into tiles of {@value #TILE_CELLS} cells, allocated the first time
+ *   one of their cells is uncovered, so untouched regions of the grid cost one reference per tile.<br>
+ * - A coarse bitset marks the {@value #BLOCK_CELLS}x{@value #BLOCK_CELLS} blocks of the grid holding at least one mine,
+ *   at one bit per {@value #BLOCK_CELLS} * {@value #BLOCK_CELLS} cells. Most lookups on a sparse board land in an empty block
+ *   and are answered from it without touching the set.<br>
+ * - Adjacent mine counts are not stored; they are counted with one set lookup per neighbour in an occupied block.<br>
+ * - Concurrent reveals are supported: a missing tile is installed with a compare-and-set, so threads meeting on a new
+ *   tile share the same one, and cells are claimed with an atomic bit-or on it, as on a {@link BitSetBoard}.<br><br>
+ *
+ * {@link BoardStorage#forBoard(int, long)} picks this board when the density is low enough for it to be much smaller
+ * than a dense one.
+ */
+public final class SparseBoard implements BoardStorage {
+    private static final int TILE_SHIFT = 12; // log2 of the number of cells per tile
+    private static final int TILE_CELLS = 1 << TILE_SHIFT; // Cells covered by one tile of the revealed bitset
+    private static final int TILE_WORDS = TILE_CELLS >>> 6; // Longs per tile
+    private static final long MAX_TILES = Integer.MAX_VALUE - 8; // Largest array length supported by the JVM
+    private static final int REFERENCE_BYTES = 4; // Size of a tile reference, assuming compressed references
+    private static final int BLOCK_SHIFT = 3; // log2 of the width of a block of the occupancy bitset
+    private static final int BLOCK_CELLS = 1 << BLOCK_SHIFT; // Width and height of a block, in cells
+    private static final VarHandle TILES = MethodHandles.arrayElementVarHandle(long[][].class); // Atomic installation of tiles
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class); // Atomic access to the words of a tile
+    private static final VarHandle REVEALED_COUNT = fieldHandle("revealedCount", long.class); // Atomic updates of revealedCount
+    private static final VarHandle ALLOCATED_TILES = fieldHandle("allocatedTiles", int.class); // Atomic updates of allocatedTiles
+
+    private final int size; // Size of the grid
+    private final CellIndexSet mines; // Row-major indices of the cells containing a mine
+    private final int blocksPerRow; // Number of blocks across the grid
+    private final long[] mineBlocks; // Bit set if the block contains at least one mine
+    private final long[][] revealedTiles; // Tiles of the revealed bitset, null until one of their cells is uncovered
+    private long revealedCount; // Number of uncovered cells
+    private int allocatedTiles; // Number of tiles allocated so far
+
+    /**
+     * Creates an empty sparse board with no mines and every cell hidden.
+     *
+     * @param size The size of the grid (size x size).
+     */
+    public SparseBoard(int size) {
+        this(size, 16);
+    }
+
+    /**
+     * Creates an empty sparse board sized to receive the given number of mines without growing.
+     *
+     * @param size The size of the grid (size x size).
+     * @param expectedMines The number of mines expected.
+     * @throws IllegalArgumentException If the grid has more cells than the tile array can cover, or too many mines are expected.
+     */
+    public SparseBoard(int size, long expectedMines) {
+        long tiles = tileCount(size);
+        if (tiles > MAX_TILES || blockWordCount(size) > MAX_TILES) {
+            throw new IllegalArgumentException("A " + size + "x" + size + " grid is too large for a sparse board.");
+        }
+        if (expectedMines > CellIndexSet.MAX_EXPECTED_SIZE) {
+            throw new IllegalArgumentException(expectedMines + " mines are too many for a sparse board.");
+        }
+        this.size = size;
+        this.mines = new CellIndexSet((int) expectedMines);
+        this.blocksPerRow = (size + BLOCK_CELLS - 1) >>> BLOCK_SHIFT;
+        this.mineBlocks = new long[(int) blockWordCount(size)];
+        this.revealedTiles = new long[(int) tiles][];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long mineCount() {
+        return this.mines.size();
+    }
+
+    @Override
+    public long revealedCount() {
+        return this.revealedCount;
+    }
+
+    @Override
+    public void placeMine(int row, int col) {
+        if (this.mines.add((long) row * this.size + col)) {
+            long block = (long) (row >>> BLOCK_SHIFT) * this.blocksPerRow + (col >>> BLOCK_SHIFT);
+            this.mineBlocks[(int) (block >>> 6)] |= 1L << block;
+        }
+    }
+
+    @Override
+    public boolean isMine(int row, int col) {
+        return blockHasMine(row, col) && this.mines.contains((long) row * this.size + col);
+    }
+
+    @Override
+    public boolean isRevealed(int row, int col) {
+        long index = (long) row * this.size + col;
+        long[] tile = this.revealedTiles[(int) (index >>> TILE_SHIFT)];
+        return tile != null && (tile[(int) (index >>> 6) & (TILE_WORDS - 1)] & (1L << index)) != 0;
+    }
+
+    @Override
+    public void setRevealed(int row, int col) {
+        long index = (long) row * this.size + col;
+        long[] tile = tile(index >>> TILE_SHIFT);
+        int word = (int) (index >>> 6) & (TILE_WORDS - 1);
+        if ((tile[word] & (1L << index)) == 0) {
+            tile[word] |= 1L << index;
+            this.revealedCount++;
+        }
+    }
+
+    @Override
+    public boolean supportsConcurrentReveal() {
+        return true;
+    }
+
+    @Override
+    public boolean claimRevealed(int row, int col) {
+        long index = (long) row * this.size + col;
+        long[] tile = claimTile(index >>> TILE_SHIFT);
+        long bit = 1L << index;
+        long previous = (long) WORDS.getAndBitwiseOr(tile, (int) (index >>> 6) & (TILE_WORDS - 1), bit);
+        return (previous & bit) == 0;
+    }
+
+    @Override
+    public void addRevealedCount(long cells) {
+        REVEALED_COUNT.getAndAdd(this, cells);
+    }
+
+    @Override
+    public int adjacentMines(int row, int col) {
+        int firstRow = Math.max(row - 1, 0);
+        int lastRow = Math.min(row + 1, this.size - 1);
+        int firstCol = Math.max(col - 1, 0);
+        int lastCol = Math.min(col + 1, this.size - 1);
+        if (!blockHasMine(firstRow, firstCol) && !blockHasMine(firstRow, lastCol)
+            && !blockHasMine(lastRow, firstCol) && !blockHasMine(lastRow, lastCol)) {
+            return 0;
+        }
+        int count = 0;
+        for (int r = firstRow; r <= lastRow; r++) {
+            long rowStart = (long) r * this.size;
+            for (int c = firstCol; c <= lastCol; c++) {
+                if ((r != row || c != col) && blockHasMine(r, c) && this.mines.contains(rowStart + c)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Passes the row-major index of every mine to an action, in no particular order.<br>
+     * Unlike a scan of {@link #mineWord(long)}, this costs time proportional to the number of mines rather than of cells.
+     *
+     * @param action Receives the index of each mine, row * size + col. It must not place mines on this board.
+     */
+    public void forEachMine(LongConsumer action) {
+        this.mines.forEach(action);
+    }
+
+    @Override
+    public long mineWord(long word) {
+        long bits = 0;
+        long first = word << 6;
+        long end = Math.min(first + 64, (long) this.size * this.size);
+        for (long index = first; index < end; index++) {
+            if (isMine((int) (index / this.size), (int) (index % this.size))) {
+                bits |= 1L << index;
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    public long revealedWord(long word) {
+        long[] tile = this.revealedTiles[(int) (word >>> (TILE_SHIFT - 6))];
+        return tile == null ? 0 : tile[(int) word & (TILE_WORDS - 1)];
+    }
+
+    @Override
+    public void setRevealedWord(long word, long bits) {
+        long cellsInWord = (long) this.size * this.size - (word << 6);
+        long valid = bits & (cellsInWord >= 64 ? -1L : (1L << cellsInWord) - 1);
+        if (valid == 0) {
+            return;
+        }
+        long[] tile = tile(word >>> (TILE_SHIFT - 6));
+        int w = (int) word & (TILE_WORDS - 1);
+        long added = valid & ~tile[w];
+        tile[w] |= added;
+        this.revealedCount += Long.bitCount(added);
+    }
+
+    /**
+     * Includes the mine set, the occupancy bitset, the tile references and every tile allocated so far.
+     */
+    @Override
+    public long footprintBytes() {
+        return this.mines.footprintBytes() + (long) this.mineBlocks.length * Long.BYTES
+            + (long) this.revealedTiles.length * REFERENCE_BYTES
+            + (long) this.allocatedTiles * TILE_WORDS * Long.BYTES;
+    }
+
+    /**
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to be placed.
+     * @return The {@link #footprintBytes()} of a new sparse board once the mines are placed, before any cell is uncovered.
+     */
+    public static long footprintFor(int size, long mineCount) {
+        return CellIndexSet.footprintFor(mineCount) + blockWordCount(size) * Long.BYTES + tileCount(size) * REFERENCE_BYTES;
+    }
+
+    /**
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to be placed.
+     * @return True if a sparse board can hold the grid and mines.
+     */
+    public static boolean canHold(int size, long mineCount) {
+        return tileCount(size) <= MAX_TILES && blockWordCount(size) <= MAX_TILES && mineCount <= CellIndexSet.MAX_EXPECTED_SIZE;
+    }
+
+    /**
+     * @param tileIndex The index of a tile of the revealed bitset.
+     * @return The tile, allocated if no cell of it has been uncovered yet.
+     */
+    private long[] tile(long tileIndex) {
+        long[] tile = this.revealedTiles[(int) tileIndex];
+        if (tile == null) {
+            tile = new long[TILE_WORDS];
+            this.revealedTiles[(int) tileIndex] = tile;
+            this.allocatedTiles++;
+        }
+        return tile;
+    }
+
+    /**
+     * Returns a tile for a concurrent reveal, installing it with a compare-and-set if no cell of it has been uncovered yet.
+     *
+     * @param tileIndex The index of a tile of the revealed bitset.
+     * @return The tile, the same for every thread.
+     */
+    private long[] claimTile(long tileIndex) {
+        long[] tile = (long[]) TILES.getAcquire(this.revealedTiles, (int) tileIndex);
+        if (tile != null) {
+            return tile;
+        }
+        long[] created = new long[TILE_WORDS];
+        tile = (long[]) TILES.compareAndExchange(this.revealedTiles, (int) tileIndex, (long[]) null, created);
+        if (tile != null) {
+            return tile; // Another thread installed it first
+        }
+        ALLOCATED_TILES.getAndAdd(this, 1);
+        return created;
+    }
+
+    /**
+     * @param row The row index of a cell.
+     * @param col The column index of a cell.
+     * @return True if the block of the cell contains at least one mine.
+     */
+    private boolean blockHasMine(int row, int col) {
+        long block = (long) (row >>> BLOCK_SHIFT) * this.blocksPerRow + (col >>> BLOCK_SHIFT);
+        return (this.mineBlocks[(int) (block >>> 6)] & (1L << block)) != 0;
+    }
+
+    private static long blockWordCount(int size) {
+        long blocksPerRow = (size + BLOCK_CELLS - 1) >>> BLOCK_SHIFT;
+        return (blocksPerRow * blocksPerRow + 63) >>> 6;
+    }
+
+    private static long tileCount(int size) {
+        return ((long) size * size + TILE_CELLS - 1) >>> TILE_SHIFT;
+    }
+
+    private static VarHandle fieldHandle(String name, Class<?> type) {
+        try {
+            return MethodHandles.lookup().findVarHandle(SparseBoard.class, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
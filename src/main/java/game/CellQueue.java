@@ -0,0 +1,129 @@
+package game;
+
+/**
+ * A first-in, first-out queue of cell coordinates backed by a single primitive int array.<br><br>
+ *
+ * - Each entry occupies two consecutive slots of the array: the row index followed by the column index.<br>
+ * - The array is used as a ring buffer, so removing entries never shifts the remaining ones.<br>
+ * - The capacity doubles whenever the queue is full, and the storage is kept for reuse once the queue is drained.<br>
+ */
+final class CellQueue {
+    private static final int INITIAL_CAPACITY = 64; // Number of cells the queue can hold before growing
+
+    private int[] cells = new int[INITIAL_CAPACITY * 2]; // Ring buffer of (row, col) pairs, length is always a power of two
+    private int head; // Array index of the row of the oldest entry
+    private int tail; // Array index at which the next row will be written
+    private int count; // Number of queued cells
+    private int highWaterMark; // Largest number of cells queued at once since the last reset
+
+    /**
+     * Appends a cell to the end of the queue.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     */
+    void add(int row, int col) {
+        if (this.count * 2 == this.cells.length) {
+            grow();
+        }
+        int mask = this.cells.length - 1;
+        this.cells[this.tail] = row;
+        this.cells[this.tail + 1] = col;
+        this.tail = (this.tail + 2) & mask;
+        if (++this.count > this.highWaterMark) {
+            this.highWaterMark = this.count;
+        }
+    }
+
+    /**
+     * @return The row index of the cell at the front of the queue.
+     */
+    int peekRow() {
+        return this.cells[this.head];
+    }
+
+    /**
+     * @return The column index of the cell at the front of the queue.
+     */
+    int peekCol() {
+        return this.cells[this.head + 1];
+    }
+
+    /**
+     * Discards the cell at the front of the queue.
+     */
+    void remove() {
+        this.head = (this.head + 2) & (this.cells.length - 1);
+        this.count--;
+    }
+
+    /**
+     * @return An independent queue holding the same cells in the same order.
+     */
+    CellQueue copy() {
+        CellQueue copy = new CellQueue();
+        copy.cells = this.cells.clone();
+        copy.head = this.head;
+        copy.tail = this.tail;
+        copy.count = this.count;
+        copy.highWaterMark = this.highWaterMark;
+        return copy;
+    }
+
+    /**
+     * @return True if the queue holds no cells.
+     */
+    boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * @return The number of queued cells.
+     */
+    int size() {
+        return this.count;
+    }
+
+    /**
+     * @return The largest number of cells queued at once since the last call to {@link #resetHighWaterMark()}.
+     */
+    int highWaterMark() {
+        return this.highWaterMark;
+    }
+
+    /**
+     * Starts measuring the high-water mark again from the current number of queued cells.
+     */
+    void resetHighWaterMark() {
+        this.highWaterMark = this.count;
+    }
+
+    /**
+     * Removes cells from the front of the queue.
+     *
+     * @param cells The number of cells to remove, at most {@link #size()}.
+     * @return The removed cells as consecutive (row, col) pairs, in queue order.
+     */
+    int[] removeFirst(int cells) {
+        int[] removed = new int[cells * 2];
+        for (int i = 0; i < removed.length; i += 2) {
+            removed[i] = peekRow();
+            removed[i + 1] = peekCol();
+            remove();
+        }
+        return removed;
+    }
+
+    /**
+     * Doubles the capacity of the ring buffer, moving the queued entries to the start of the new array in order.
+     */
+    private void grow() {
+        int[] grown = new int[this.cells.length * 2];
+        int firstPart = this.cells.length - this.head;
+        System.arraycopy(this.cells, this.head, grown, 0, firstPart);
+        System.arraycopy(this.cells, 0, grown, firstPart, this.head);
+        this.head = 0;
+        this.tail = this.cells.length;
+        this.cells = grown;
+    }
+}
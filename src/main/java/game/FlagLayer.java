@@ -0,0 +1,108 @@
+package game;
+
+/**
+ * The flags of a board, with the number of flagged neighbours of every cell kept up to date as cells are flagged.<br><br>
+ *
+ * - Flags are a row-major bitset, one bit per cell.<br>
+ * - Flagged neighbour counts never exceed 8, so they are packed four bits per cell, sixteen cells per long.
+ *   Flagging or unflagging a cell adjusts the counts of its neighbours, so reading a count never rescans the neighbours.<br>
+ */
+final class FlagLayer {
+    private static final long MAX_WORDS = Integer.MAX_VALUE - 8; // Largest array length supported by the JVM
+
+    private final int size; // Size of the grid
+    private final long[] flags; // Bit set if the cell is flagged
+    private final long[] counts; // Number of flagged neighbours of each cell, four bits per cell
+    private long flagCount; // Number of flagged cells
+
+    /**
+     * Creates a layer with no flags.
+     *
+     * @param size The size of the grid (size x size).
+     * @throws IllegalArgumentException If the grid has more cells than the counts array can hold.
+     */
+    FlagLayer(int size) {
+        long cells = (long) size * size;
+        if (((cells + 15) >>> 4) > MAX_WORDS) {
+            throw new IllegalArgumentException("A " + size + "x" + size + " grid is too large to be flagged.");
+        }
+        this.size = size;
+        this.flags = new long[(int) ((cells + 63) >>> 6)];
+        this.counts = new long[(int) ((cells + 15) >>> 4)];
+    }
+
+    private FlagLayer(FlagLayer other) {
+        this.size = other.size;
+        this.flags = other.flags.clone();
+        this.counts = other.counts.clone();
+        this.flagCount = other.flagCount;
+    }
+
+    /**
+     * @return An independent layer with the same flags.
+     */
+    FlagLayer copy() {
+        return new FlagLayer(this);
+    }
+
+    /**
+     * @return The number of flagged cells.
+     */
+    long flagCount() {
+        return this.flagCount;
+    }
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell is flagged.
+     */
+    boolean isFlagged(int row, int col) {
+        long index = (long) row * this.size + col;
+        return (this.flags[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Flags or unflags a cell, adjusting the flagged neighbour counts of the cells around it.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param flagged True to flag the cell, false to remove its flag.
+     * @return True if the flag of the cell changed.
+     */
+    boolean setFlagged(int row, int col, boolean flagged) {
+        if (isFlagged(row, col) == flagged) {
+            return false;
+        }
+        long index = (long) row * this.size + col;
+        this.flags[(int) (index >>> 6)] ^= 1L << index;
+        this.flagCount += flagged ? 1 : -1;
+        long delta = flagged ? 1 : -1;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, this.size - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, this.size - 1); c++) {
+                if (r != row || c != col) {
+                    long neighbour = (long) r * this.size + c;
+                    this.counts[(int) (neighbour >>> 4)] += delta << ((neighbour & 15) << 2);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The number of flagged cells among the neighbours of the cell.
+     */
+    int flaggedNeighbours(int row, int col) {
+        long index = (long) row * this.size + col;
+        return (int) (this.counts[(int) (index >>> 4)] >>> ((index & 15) << 2)) & 15;
+    }
+
+    /**
+     * @return The number of bytes taken by the flags and the counts.
+     */
+    long footprintBytes() {
+        return (long) (this.flags.length + this.counts.length) * Long.BYTES;
+    }
+}
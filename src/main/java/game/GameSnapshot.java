@@ -0,0 +1,308 @@
+package game;
+
+import board.BoardStorage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves and restores games in a compact, versioned binary format.<br><br>
+ *
+ * A snapshot file is laid out as follows, with every number little-endian:<br>
+ * - A 32 byte header: magic number, format version, grid size, game state, mine count and uncovered cell count.<br>
+ * - The mine bitset, then the uncovered bitset, each as the words of 64 cells of {@link BoardStorage#mineWord(long)}
+ *   compressed into runs.<br><br>
+ *
+ * Each run starts with a variable-length integer holding its length in words and its kind:<br>
+ * - A run of empty words or of full words stores nothing else, so mine-free and uncovered areas cost a few bytes whatever their size.<br>
+ * - A run of literal words is followed by the words themselves.<br><br>
+ *
+ * Snapshots are written through a channel in blocks of 1 MiB, to a temporary file which then replaces the target, so an
+ * interrupted save never destroys the previous snapshot, and a failed save removes the temporary file. Large snapshots are read through a memory mapping.
+ * Adjacent mine counts are not stored; the board works them out as the mines are restored.<br>
+ */
+public final class GameSnapshot {
+    private static final int MAGIC = 0x4D534E50; // "MSNP"
+    private static final int VERSION = 1; // Version of the file layout
+    private static final int HEADER_BYTES = 32; // Size of the header
+    private static final int ZEROS = 0; // Kind of a run of empty words
+    private static final int ONES = 1; // Kind of a run of full words
+    private static final int LITERALS = 2; // Kind of a run of words stored as they are
+    private static final int MAX_LITERALS = 4096; // Longest run of literal words, bounds the writer's scratch array
+    private static final int BUFFER_BYTES = 1 << 20; // Size of the blocks written and read through the channel
+    private static final long MAP_THRESHOLD = 1 << 20; // Snapshots at least this large are memory-mapped for reading
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Saves a game, replacing any existing file.
+     *
+     * @param game The game to save.
+     * @param path The file in which to save the game.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalStateException If the game waits for its first move to place its mines.
+     */
+    public static void write(Minesweeper game, Path path) throws IOException {
+        if (game.isBoardPending()) {
+            throw new IllegalStateException("A game cannot be saved before its first move places the mines.");
+        }
+        BoardStorage board = game.getBoard();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                Writer writer = new Writer(channel);
+                writer.buffer.putInt(MAGIC).putInt(VERSION).putInt(board.size()).putInt(game.getState().ordinal())
+                    .putLong(board.mineCount()).putLong(board.revealedCount());
+                writer.writeLayer(board, true);
+                writer.writeLayer(board, false);
+                writer.flush();
+                channel.force(false);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException | Error e) {
+            // Do not leave a partial snapshot behind; the target is untouched
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Restores a game on a new on-heap board, see {@link BoardStorage#forBoard(int, long)}.
+     *
+     * @param path The file the game was saved in.
+     * @return The game, in the state it was saved in.
+     * @throws IOException If the file cannot be read, or is not a valid snapshot of a supported version.
+     */
+    public static Minesweeper read(Path path) throws IOException {
+        return read(path, null);
+    }
+
+    /**
+     * Restores a game on a given empty board, such as a {@code MappedBoard} for boards larger than the heap.
+     *
+     * @param path The file the game was saved in.
+     * @param board An empty board of the size of the saved game, or null to create one with {@link BoardStorage#forBoard(int, long)}.
+     * @return The game, in the state it was saved in.
+     * @throws IOException If the file cannot be read, or is not a valid snapshot of a supported version.
+     * @throws IllegalArgumentException If the board is not empty or does not have the size of the saved game.
+     */
+    public static Minesweeper read(Path path, BoardStorage board) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Reader reader = new Reader(path, channel);
+            reader.require(HEADER_BYTES);
+            ByteBuffer header = reader.buffer;
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException(path + " is not a Minesweeper snapshot.");
+            }
+            int size = header.getInt();
+            int state = header.getInt();
+            long mineCount = header.getLong();
+            long revealedCount = header.getLong();
+            if (size < 0 || state < 0 || state >= GameState.values().length) {
+                throw reader.corrupt();
+            }
+
+            if (board == null) {
+                board = BoardStorage.forBoard(size, mineCount);
+            } else if (board.size() != size || board.mineCount() != 0 || board.revealedCount() != 0) {
+                throw new IllegalArgumentException("A " + size + "x" + size + " game must be restored on an empty board of that size.");
+            }
+            reader.readLayer(board, true);
+            reader.readLayer(board, false);
+            if (board.mineCount() != mineCount || board.revealedCount() != revealedCount) {
+                throw reader.corrupt();
+            }
+
+            Minesweeper game = state == GameState.LOST.ordinal() ? new Minesweeper(board, GameState.LOST) : new Minesweeper(board);
+            if (game.getState().ordinal() != state) {
+                throw reader.corrupt();
+            }
+            return game;
+        }
+    }
+
+    /**
+     * Encodes bitsets into runs, writing them through a channel in blocks.
+     */
+    private static final class Writer {
+        private final FileChannel channel; // Channel of the snapshot file
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN); // Block being filled
+        private final long[] literals = new long[MAX_LITERALS]; // Words of the literal run being collected
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Writes one bitset of a board as runs of empty, full and literal words.
+         *
+         * @param board The board to save.
+         * @param mines True to write the mine bitset, false to write the uncovered bitset.
+         */
+        void writeLayer(BoardStorage board, boolean mines) throws IOException {
+            long words = board.wordCount();
+            long index = 0;
+            while (index < words) {
+                long word = mines ? board.mineWord(index) : board.revealedWord(index);
+                long end = index + 1;
+                if (word == 0 || word == -1L) {
+                    while (end < words && (mines ? board.mineWord(end) : board.revealedWord(end)) == word) {
+                        end++;
+                    }
+                    putRun(word == 0 ? ZEROS : ONES, end - index);
+                } else {
+                    this.literals[0] = word;
+                    int count = 1;
+                    while (end < words && count < MAX_LITERALS) {
+                        long next = mines ? board.mineWord(end) : board.revealedWord(end);
+                        if (next == 0 || next == -1L) {
+                            break;
+                        }
+                        this.literals[count++] = next;
+                        end++;
+                    }
+                    putRun(LITERALS, count);
+                    for (int i = 0; i < count; i++) {
+                        ensure(Long.BYTES);
+                        this.buffer.putLong(this.literals[i]);
+                    }
+                }
+                index = end;
+            }
+        }
+
+        /**
+         * Writes the header of a run as an unsigned variable-length integer, seven bits per byte.
+         */
+        private void putRun(int kind, long length) throws IOException {
+            ensure(10);
+            long value = (length << 2) | kind;
+            while ((value & ~0x7FL) != 0) {
+                this.buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            this.buffer.put((byte) value);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (this.buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+    }
+
+    /**
+     * Decodes runs from a memory mapping of the whole file, or from blocks read through the channel.
+     */
+    private static final class Reader {
+        private final Path path; // Snapshot file, for error messages
+        private final FileChannel channel; // Channel of the snapshot file
+        private final boolean mapped; // True if the buffer maps the whole file
+        private ByteBuffer buffer; // Bytes not decoded yet, ready to be read
+
+        Reader(Path path, FileChannel channel) throws IOException {
+            this.path = path;
+            this.channel = channel;
+            long fileBytes = channel.size();
+            this.mapped = fileBytes >= MAP_THRESHOLD && fileBytes <= Integer.MAX_VALUE;
+            this.buffer = this.mapped ? channel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes)
+                : ByteBuffer.allocate(BUFFER_BYTES).limit(0);
+            this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * Restores one bitset of a board from its runs.
+         *
+         * @param board The board to restore.
+         * @param mines True to restore the mine bitset, false to restore the uncovered bitset.
+         */
+        void readLayer(BoardStorage board, boolean mines) throws IOException {
+            long words = board.wordCount();
+            long index = 0;
+            while (index < words) {
+                long run = getRun();
+                int kind = (int) (run & 3);
+                long length = run >>> 2;
+                if (length == 0 || length > words - index || kind > LITERALS) {
+                    throw corrupt();
+                }
+                if (kind == ONES || kind == LITERALS) {
+                    for (long word = index; word < index + length; word++) {
+                        long bits = -1L;
+                        if (kind == LITERALS) {
+                            require(Long.BYTES);
+                            bits = this.buffer.getLong();
+                        }
+                        if (mines) {
+                            board.placeMineWord(word, bits);
+                        } else {
+                            board.setRevealedWord(word, bits);
+                        }
+                    }
+                }
+                index += length;
+            }
+        }
+
+        /**
+         * Reads the header of a run, an unsigned variable-length integer of seven bits per byte.
+         */
+        private long getRun() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                require(1);
+                byte b = this.buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw corrupt();
+        }
+
+        /**
+         * Makes sure the buffer holds at least the given number of bytes, reading the next block if needed.
+         *
+         * @throws IOException If the file ends first.
+         */
+        void require(int bytes) throws IOException {
+            if (this.buffer.remaining() >= bytes) {
+                return;
+            }
+            if (!this.mapped) {
+                this.buffer.compact();
+                while (this.buffer.position() < bytes && this.channel.read(this.buffer) >= 0) {
+                    // Keep reading until the block holds enough bytes or the file ends
+                }
+                this.buffer.flip();
+            }
+            if (this.buffer.remaining() < bytes) {
+                throw new IOException(this.path + " is truncated.");
+            }
+        }
+
+        IOException corrupt() {
+            return new IOException(this.path + " is not a valid Minesweeper snapshot.");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package game;
+
+/**
+ * The possible states of a Minesweeper game.<br><br>
+ *
+ * - ONGOING: Safe cells remain to be uncovered and no mine has been detonated.<br>
+ * - WON: Every non-mine cell has been uncovered.<br>
+ * - LOST: A mine has been uncovered.<br>
+ */
+public enum GameState {
+    ONGOING,
+    WON,
+    LOST
+}
@@ -0,0 +1,850 @@
+package game;
+
+import board.BoardStorage;
+import board.CellIndexSet;
+import board.CopyOnWriteBoard;
+import metrics.MetricsListener;
+import render.BoardRenderer;
+import services.MinePlacer;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The Minesweeper class represents a game of Minesweeper with a square grid.<br><br>
+ *
+ * - The game board consists of hidden cells, some containing mines.<br>
+ * - The player uncovers cells to reveal numbers indicating adjacent mines.<br>
+ * - If a mine is uncovered, the game is lost.<br>
+ * - The game is won when all non-mine cells are uncovered.<br><br>
+ *
+ * This class handles:<br>
+ * - Initializing the game board and placing mines randomly.<br>
+ * - Uncovering cells and revealing adjacent mine counts.<br>
+ * - Checking game status (win/loss conditions).<br>
+ * - Displaying the board state.<br>
+ */
+public class Minesweeper {
+    private final int size; // Size of the grid
+    private BoardStorage board; // Stores the mine, uncovered and adjacent mine count of every cell, wrapped on the first fork
+    private long hiddenSafeCells; // Number of non-mine cells that have not been uncovered yet
+    private GameState state; // Current status of the game
+    private RevealLog revealLog; // Records uncovered cells while a batch of moves is applied, otherwise null
+    private ForkJoinPool parallelPool; // Pool expanding large safe areas, or null if reveals are sequential
+    private long parallelThreshold = Long.MAX_VALUE; // Cells a flood fill expands sequentially before switching to the pool
+    private CellQueue floodQueue; // Work queue reused by every flood fill, created by the first one
+    private CellIndexSet frontier; // Uncovered numbered cells with a hidden neighbour, or null if the frontier is not tracked
+    private CellQueue frontierChanges; // Cells uncovered since the last drainFrontierChanges, or null if the frontier is not tracked
+    private BoardRenderer renderer; // Builds the frames printed by displayBoard, created on first use
+    private MetricsListener metrics; // Receives the cost of every move, or null if the game is not instrumented
+    private FlagLayer flags; // Flagged cells and their neighbour counts, or null until the first cell is flagged
+    private StartBoardFactory startBoards; // Creates the board on the first move, or null once the mines have been placed
+    private int pendingMineCount; // Number of mines the first move will place, if startBoards is set
+
+    /**
+     * Constructs a Minesweeper game with the given grid size and mine count.
+     *
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to be placed on the board.
+     */
+    public Minesweeper(MinePlacer minePlacer, int size, int mineCount) {
+        this(minePlacer, BoardStorage.forBoard(size, mineCount), mineCount);
+    }
+
+    /**
+     * Constructs a Minesweeper game on the given board storage, placing mines directly into it.
+     *
+     * @param minePlacer The strategy used to place the mines.
+     * @param board The empty board on which to play.
+     * @param mineCount The number of mines to be placed on the board.
+     */
+    public Minesweeper(MinePlacer minePlacer, BoardStorage board, int mineCount) {
+        this(placeMines(minePlacer, board, mineCount));
+    }
+
+    /**
+     * Resumes a Minesweeper game on a board whose mines have already been placed, such as a reopened {@code MappedBoard}.
+     *
+     * @param board The board on which to play, with any previously uncovered cells still uncovered.
+     */
+    public Minesweeper(BoardStorage board) {
+        this.size = board.size();
+        this.board = board;
+        this.hiddenSafeCells = (long) this.size * this.size - board.mineCount() - board.revealedCount();
+        this.state = this.hiddenSafeCells == 0 ? GameState.WON : GameState.ONGOING;
+    }
+
+    /**
+     * Resumes a Minesweeper game in a known state, such as a game restored by {@link GameSnapshot} after a mine was uncovered.
+     *
+     * @param board The board on which to play, with any previously uncovered cells still uncovered.
+     * @param state The state of the game.
+     */
+    Minesweeper(BoardStorage board, GameState state) {
+        this(board);
+        this.state = state;
+    }
+
+    /**
+     * Creates a game whose mines are only placed when the first cell is uncovered, so the first move can never lose.<br><br>
+     *
+     * Until then the game is played on an empty board: every cell is hidden and cells can be flagged. The first move which
+     * is not flagged nor outside the board asks the factory for a board avoiding that cell and its neighbours, then
+     * uncovers the cell, which therefore always opens a safe area. On boards too crowded to keep the neighbours free,
+     * only the cell itself is safe. Forks taken before the first move each create their own board; a game cannot be
+     * saved with {@link GameSnapshot} before it has one.
+     *
+     * @param factory Creates the board from the first move, e.g. a {@code solver.BoardGenerator}.
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to be placed on the board.
+     * @return The game, waiting for its first move, or already won if every cell holds a mine.
+     * @throws IllegalArgumentException If the mine count is negative or above the number of cells.
+     */
+    public static Minesweeper withSafeStart(StartBoardFactory factory, int size, int mineCount) {
+        if (mineCount < 0 || mineCount > (long) size * size) {
+            throw new IllegalArgumentException(mineCount + " mines do not fit in a " + size + "x" + size + " grid.");
+        }
+        Minesweeper game = new Minesweeper(BoardStorage.forBoard(size, 0));
+        game.startBoards = factory;
+        game.pendingMineCount = mineCount;
+        game.hiddenSafeCells = (long) size * size - mineCount;
+        game.state = game.hiddenSafeCells == 0 ? GameState.WON : GameState.ONGOING;
+        return game;
+    }
+
+    /**
+     * Places mines on an empty board.
+     *
+     * @param minePlacer The strategy used to place the mines.
+     * @param board The empty board on which to place the mines.
+     * @param mineCount The number of mines to be placed on the board.
+     * @return The board, now holding the mines.
+     */
+    private static BoardStorage placeMines(MinePlacer minePlacer, BoardStorage board, int mineCount) {
+        minePlacer.placeMines(board.size(), mineCount, board);
+        return board;
+    }
+
+    /**
+     * Uncovers a cell at the specified row and column.<br><br>
+     *
+     * - If the cell contains a mine, the game is lost, and the method returns false.<br>
+     * - Otherwise, the cell is revealed, and the number of adjacent mines is displayed.<br>
+     * - If the cell has no adjacent mines, its neighbors are uncovered as well.<br>
+     *
+     * @param row The row index of the cell to uncover.
+     * @param col The column index of the cell to uncover.
+     * @return True if the cell is successfully uncovered, false if a mine is detonated.
+     */
+    public boolean uncoverCell(int row, int col) {
+        switch (applyMove(row, col)) {
+            case MoveResults.ALREADY_REVEALED:
+                System.out.println("This cell has been revealed. Please select another cell.");
+                return true;
+            case MoveResults.MINE:
+                return false; // Game Over
+            case MoveResults.FLAGGED:
+                System.out.println("This cell is flagged. Please unflag it first.");
+                return true;
+            case MoveResults.INVALID:
+                throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") is outside the board.");
+            default:
+                System.out.println("This square contains " + this.board.adjacentMines(row, col) + " adjacent mines.");
+                return true;
+        }
+    }
+
+    /**
+     * Uncovers a batch of cells without any console output, recording what each move changed.<br><br>
+     *
+     * The moves are applied in order, exactly as successive calls to {@link #uncoverCell(int, int)} would apply them.
+     * Moves are still applied after a mine has been uncovered; callers can stop early by checking {@link #getState()}.
+     *
+     * @param rows The row index of the cell of each move.
+     * @param cols The column index of the cell of each move, of the same length as rows.
+     * @return The outcome of each move and the cells each move newly uncovered.
+     */
+    public MoveResults uncoverCells(int[] rows, int[] cols) {
+        if (rows.length != cols.length) {
+            throw new IllegalArgumentException("Got " + rows.length + " rows but " + cols.length + " columns.");
+        }
+        return applyBatch(rows, cols, rows.length, false);
+    }
+
+    /**
+     * Uncovers the first moves of a batch, as {@link #uncoverCells(int[], int[])} does, but stops after the move which
+     * wins or loses the game, so that no move is applied to a finished game.
+     *
+     * @param rows The row index of the cell of each move.
+     * @param cols The column index of the cell of each move.
+     * @param count The number of moves to apply at most, taken from the start of both arrays.
+     * @return The outcome of each move applied and the cells it newly uncovered. {@link MoveResults#moveCount()} is
+     *         below count if the game ended before the last move, and 0 if it was already over.
+     */
+    public MoveResults uncoverCellsUntilOver(int[] rows, int[] cols, int count) {
+        if (count < 0 || count > rows.length || count > cols.length) {
+            throw new IllegalArgumentException("Cannot apply " + count + " moves from " + rows.length + " rows and " + cols.length + " columns.");
+        }
+        return applyBatch(rows, cols, count, true);
+    }
+
+    /**
+     * Applies the first moves of a batch, recording what each move changed.
+     */
+    private MoveResults applyBatch(int[] rows, int[] cols, int count, boolean stopWhenOver) {
+        byte[] outcomes = new byte[count];
+        int[] revealedOffsets = new int[count + 1];
+        RevealLog log = new RevealLog();
+        this.revealLog = log;
+        int applied = 0;
+        try {
+            while (applied < count && !(stopWhenOver && getState() != GameState.ONGOING)) {
+                revealedOffsets[applied] = log.size();
+                outcomes[applied] = applyMove(rows[applied], cols[applied]);
+                applied++;
+            }
+        } finally {
+            this.revealLog = null;
+        }
+        revealedOffsets[applied] = log.size();
+        if (applied < count) {
+            return log.toResults(Arrays.copyOf(outcomes, applied), Arrays.copyOf(revealedOffsets, applied + 1));
+        }
+        return log.toResults(outcomes, revealedOffsets);
+    }
+
+    /**
+     * Uncovers a batch of cells given as packed coordinates, see {@link #uncoverCells(int[], int[])}.
+     *
+     * @param cells The cell of each move, packed as {@code ((long) row << 32) | col}.
+     * @return The outcome of each move and the cells each move newly uncovered.
+     */
+    public MoveResults uncoverCells(long[] cells) {
+        int[] rows = new int[cells.length];
+        int[] cols = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            rows[i] = (int) (cells[i] >>> 32);
+            cols[i] = (int) cells[i];
+        }
+        return uncoverCells(rows, cols);
+    }
+
+    /**
+     * Applies a single move without any console output or recording.<br>
+     * This is the engine behind both {@link #uncoverCell(int, int)} and {@link #uncoverCells(int[], int[])},
+     * and the cheapest way to play a move headlessly. If the game is instrumented, the move is measured and reported
+     * to the metrics listener; otherwise the only cost is a null check.
+     *
+     * @param row The row index of the cell to uncover.
+     * @param col The column index of the cell to uncover.
+     * @return The outcome of the move, one of the constants of {@link MoveResults}.
+     */
+    public byte applyMove(int row, int col) {
+        return this.metrics == null ? move(row, col) : measureMove(row, col, false);
+    }
+
+    /**
+     * Applies a move or a chord, reporting its duration, the cells it uncovered and the flood fill's queue high-water mark.<br>
+     * Kept apart from {@link #applyMove(int, int)} so that uninstrumented moves stay small enough to inline.
+     */
+    private byte measureMove(int row, int col, boolean chord) {
+        long revealedBefore = this.board.revealedCount();
+        floodQueue().resetHighWaterMark();
+        long start = System.nanoTime();
+        byte outcome = chord ? chordMove(row, col) : move(row, col);
+        long nanos = System.nanoTime() - start;
+        this.metrics.onMove(nanos, this.board.revealedCount() - revealedBefore, floodQueue().highWaterMark());
+        return outcome;
+    }
+
+    /**
+     * Applies a single move.
+     *
+     * @param row The row index of the cell to uncover.
+     * @param col The column index of the cell to uncover.
+     * @return The outcome of the move, one of the constants of {@link MoveResults}.
+     */
+    private byte move(int row, int col) {
+        if (row < 0 || row >= this.size || col < 0 || col >= this.size) {
+            return MoveResults.INVALID;
+        }
+
+        if (this.board.isRevealed(row, col)) {
+            return MoveResults.ALREADY_REVEALED;
+        }
+
+        if (this.flags != null && this.flags.isFlagged(row, col)) {
+            return MoveResults.FLAGGED;
+        }
+
+        if (this.startBoards != null) {
+            placeStartBoard(row, col);
+        }
+
+        if (this.board.isMine(row, col)) {
+            this.state = GameState.LOST;
+            return MoveResults.MINE;
+        }
+
+        reveal(row, col, true);
+        return MoveResults.REVEALED;
+    }
+
+    /**
+     * Flags a hidden cell, so that it cannot be uncovered until it is unflagged.<br>
+     * The first flag allocates the flags of the whole board: a bit per cell, plus four bits per cell counting its
+     * flagged neighbours, which are adjusted on every flag and unflag.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell was flagged, false if it was already flagged, is uncovered or is outside the board.
+     * @throws IllegalArgumentException If the board is too large to be flagged.
+     */
+    public boolean flag(int row, int col) {
+        if (row < 0 || row >= this.size || col < 0 || col >= this.size || this.board.isRevealed(row, col)) {
+            return false;
+        }
+        if (this.flags == null) {
+            this.flags = new FlagLayer(this.size);
+        }
+        return this.flags.setFlagged(row, col, true);
+    }
+
+    /**
+     * Removes the flag of a cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell was flagged.
+     */
+    public boolean unflag(int row, int col) {
+        return isFlagged(row, col) && this.flags.setFlagged(row, col, false);
+    }
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell is inside the board and flagged.
+     */
+    public boolean isFlagged(int row, int col) {
+        return this.flags != null && row >= 0 && row < this.size && col >= 0 && col < this.size && this.flags.isFlagged(row, col);
+    }
+
+    /**
+     * @return The number of flagged cells.
+     */
+    public long getFlagCount() {
+        return this.flags == null ? 0 : this.flags.flagCount();
+    }
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The number of flagged cells among the neighbours of the cell, read from a maintained count.
+     */
+    public int getFlaggedNeighbours(int row, int col) {
+        return this.flags == null ? 0 : this.flags.flaggedNeighbours(row, col);
+    }
+
+    /**
+     * Chords an uncovered number: if as many of its neighbours are flagged as it has adjacent mines, every other
+     * hidden neighbour is uncovered, exactly as if each had been played with {@link #applyMove(int, int)}.<br><br>
+     *
+     * - Eligibility is a comparison of the cell's number with its maintained flagged neighbour count, so chords which
+     *   do nothing cost no more than a move on an uncovered cell.<br>
+     * - If a flag was wrong, a neighbour holding a mine is uncovered and the game is lost; the other neighbours are
+     *   still uncovered.<br>
+     * - Instrumented games report a chord as one move.<br>
+     *
+     * @param row The row index of the uncovered number.
+     * @param col The column index of the uncovered number.
+     * @return {@link MoveResults#REVEALED} if the chord was applied, {@link MoveResults#MINE} if it uncovered a mine,
+     *         {@link MoveResults#UNSATISFIED} if the cell is hidden or its flags do not match its number,
+     *         or {@link MoveResults#INVALID} if the cell is outside the board.
+     */
+    public byte chord(int row, int col) {
+        return this.metrics == null ? chordMove(row, col) : measureMove(row, col, true);
+    }
+
+    private byte chordMove(int row, int col) {
+        if (row < 0 || row >= this.size || col < 0 || col >= this.size) {
+            return MoveResults.INVALID;
+        }
+        if (!this.board.isRevealed(row, col) || getFlaggedNeighbours(row, col) != this.board.adjacentMines(row, col)) {
+            return MoveResults.UNSATISFIED;
+        }
+        byte outcome = MoveResults.REVEALED;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, this.size - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, this.size - 1); c++) {
+                if (move(r, c) == MoveResults.MINE) {
+                    outcome = MoveResults.MINE;
+                }
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * Reveals the number of adjacent mines of the specified cell and that of its adjacent cells, if necessary.<br><br>
+     *
+     * If the specified cell does not have adjacent mines, all surrounding cells, up to the maximum of 8, are uncovered as well.<br>
+     * This continues for all adjacent cells that also have no adjacent mines, effectively revealing large safe areas.<br>
+     * The expansion is performed iteratively by {@link #floodFill(int, int)}, so the depth of a safe area is not bounded by the thread stack.<br>
+     *
+     * @param row The row index of the cell to reveal.
+     * @param col The column index of the cell to reveal.
+     * @param isUserSelection A flag indicating whether the cell was selected by the user.<br>
+     *                        - If true, the method returns the number of adjacent mines for the selected cell.<br>
+     *                        - If false, the method returns -1.<br>
+     * @return The number of adjacent mines if `isUserSelection` is true, otherwise -1.
+     */
+    private int reveal(int row, int col, boolean isUserSelection) {
+        if (row < 0 || row >= this.size || col < 0 || col >= this.size || this.board.isRevealed(row, col)) {
+            return -1;
+        }
+
+        int adjacentMines = revealCell(row, col);
+        if (adjacentMines == 0) {
+            floodFill(row, col);
+        }
+
+        return isUserSelection ? adjacentMines : -1;
+    }
+
+    /**
+     * Marks a single hidden cell as revealed, recording it if a batch of moves is being applied.<br>
+     * The game is won once the last hidden non-mine cell has been revealed.
+     *
+     * @param row The row index of the cell to reveal.
+     * @param col The column index of the cell to reveal.
+     * @return The number of adjacent mines of the revealed cell.
+     */
+    private int revealCell(int row, int col) {
+        this.board.setRevealed(row, col);
+        if (--this.hiddenSafeCells == 0 && this.state == GameState.ONGOING) {
+            this.state = GameState.WON;
+        }
+        int adjacentMines = this.board.adjacentMines(row, col);
+        if (this.revealLog != null) {
+            this.revealLog.add(row, col, adjacentMines);
+        }
+        if (this.frontier != null) {
+            updateFrontier(row, col, adjacentMines);
+        }
+        return adjacentMines;
+    }
+
+    /**
+     * Updates the frontier after a single cell has been revealed, looking only at that cell and its neighbours:<br>
+     * - The cell joins the frontier if it is numbered and still has a hidden neighbour.<br>
+     * - Each uncovered neighbour in the frontier leaves it if the cell was its last hidden neighbour.<br>
+     *
+     * @param row The row index of the revealed cell.
+     * @param col The column index of the revealed cell.
+     * @param adjacentMines The number of adjacent mines of the revealed cell.
+     */
+    private void updateFrontier(int row, int col, int adjacentMines) {
+        this.frontierChanges.add(row, col);
+        if (adjacentMines > 0 && hasHiddenNeighbour(row, col)) {
+            this.frontier.add(pack(row, col));
+        }
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, this.size - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, this.size - 1); c++) {
+                if ((r != row || c != col) && this.board.isRevealed(r, c) && !hasHiddenNeighbour(r, c)) {
+                    this.frontier.remove(pack(r, c));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param row The row index of a cell.
+     * @param col The column index of a cell.
+     * @return True if at least one of the neighbours of the cell is hidden.
+     */
+    private boolean hasHiddenNeighbour(int row, int col) {
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, this.size - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, this.size - 1); c++) {
+                if ((r != row || c != col) && !this.board.isRevealed(r, c)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long pack(int row, int col) {
+        return ((long) row << 32) | col;
+    }
+
+    /**
+     * Uncovers the safe area surrounding an already revealed cell that has no adjacent mines.<br><br>
+     *
+     * The area is expanded breadth-first through a work queue of cell coordinates:<br>
+     * - Every hidden neighbour of a queued cell is revealed as soon as it is discovered.<br>
+     * - Neighbours which have no adjacent mines themselves are queued for expansion.<br><br>
+     *
+     * Because a cell is revealed before it is queued, each cell enters the queue at most once, and the queue
+     * only ever holds the current edge of the expanding area rather than the area itself.<br><br>
+     *
+     * If parallel reveals are enabled and the area grows beyond the configured threshold, the rest of the area is
+     * expanded by {@link ParallelFloodFill}, starting from the cells still queued. Games tracking their frontier always
+     * expand sequentially, since the frontier is updated cell by cell, and so do games with flags, since flagged cells
+     * are never uncovered by a flood fill.<br>
+     *
+     * @param row The row index of the revealed cell with no adjacent mines.
+     * @param col The column index of the revealed cell with no adjacent mines.
+     */
+    private void floodFill(int row, int col) {
+        CellQueue queue = floodQueue();
+        FlagLayer flags = this.flags;
+        queue.add(row, col);
+        long expanded = 0;
+        while (!queue.isEmpty()) {
+            if (++expanded > this.parallelThreshold && this.parallelPool != null && this.frontier == null
+                && flags == null && this.board.supportsConcurrentReveal()) {
+                int[] seeds = queue.removeFirst(queue.size());
+                long claimed = ParallelFloodFill.expand(this.parallelPool, this.board, seeds, this.revealLog);
+                this.hiddenSafeCells -= claimed;
+                if (this.hiddenSafeCells == 0 && this.state == GameState.ONGOING) {
+                    this.state = GameState.WON;
+                }
+                return;
+            }
+            int currentRow = queue.peekRow();
+            int currentCol = queue.peekCol();
+            queue.remove();
+            for (int dr = -1; dr <= 1; dr++) {
+                int newRow = currentRow + dr;
+                if (newRow < 0 || newRow >= this.size) continue;
+                for (int dc = -1; dc <= 1; dc++) {
+                    int newCol = currentCol + dc;
+                    if (newCol < 0 || newCol >= this.size || this.board.isRevealed(newRow, newCol)) continue;
+                    if (flags != null && flags.isFlagged(newRow, newCol)) continue;
+                    if (revealCell(newRow, newCol) == 0) {
+                        queue.add(newRow, newCol);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Enables or disables parallel reveals of large safe areas.<br><br>
+     *
+     * A flood fill always starts sequentially. Once it has expanded more than `threshold` cells, the rest of the area
+     * is expanded by the threads of the pool. The uncovered cells are exactly the same as with a sequential reveal.<br>
+     * Parallel reveals are only used on boards whose storage supports concurrent reveals; other boards stay sequential.
+     *
+     * @param pool The pool whose threads expand large areas, or null to always reveal sequentially.
+     * @param threshold The number of cells a flood fill expands sequentially before switching to the pool.
+     */
+    public void setParallelReveal(ForkJoinPool pool, long threshold) {
+        this.parallelPool = pool;
+        this.parallelThreshold = threshold;
+    }
+
+    /**
+     * Instruments the game: from now on every move is timed and reported to the listener, with the number of cells it
+     * uncovered and the high-water mark of the flood fill's queue. The listener is told the footprint of the board at once,
+     * or on the first move for a game created by {@link #withSafeStart}, whose board does not exist until then.<br>
+     * The queue high-water mark only covers the sequential part of a flood fill, see {@link #setParallelReveal}.
+     *
+     * @param listener The listener receiving the measurements, or null to stop measuring.
+     */
+    public void setMetricsListener(MetricsListener listener) {
+        this.metrics = listener;
+        if (listener != null && this.startBoards == null) {
+            listener.onGameStarted(this.board.footprintBytes());
+        }
+    }
+
+    /**
+     * Replaces the empty board of a game created by {@link #withSafeStart} with a board built around its first move.
+     *
+     * @param row The row index of the first move.
+     * @param col The column index of the first move.
+     * @throws IllegalStateException If the factory returned a board which does not match the game or has a mine on the first move.
+     */
+    private void placeStartBoard(int row, int col) {
+        BoardStorage board = this.startBoards.create(this.size, this.pendingMineCount, row, col);
+        if (board.size() != this.size || board.mineCount() != this.pendingMineCount || board.revealedCount() != 0 || board.isMine(row, col)) {
+            throw new IllegalStateException("The start board factory returned a board which does not match the game.");
+        }
+        this.board = board;
+        this.startBoards = null;
+        if (this.metrics != null) {
+            this.metrics.onGameStarted(board.footprintBytes());
+        }
+    }
+
+    /**
+     * @return True if the game was created by {@link #withSafeStart} and its first move has not been played yet.
+     */
+    boolean isBoardPending() {
+        return this.startBoards != null;
+    }
+
+    /**
+     * Creates an independent copy of the game for what-if search, in constant time.<br><br>
+     *
+     * - The fork shares the mines with this game and starts with the same uncovered cells and state.<br>
+     * - Moves played on either game afterwards are not seen by the other, and each game only copies the tiles of
+     *   512 cells it changes, see {@link CopyOnWriteBoard}.<br>
+     * - On the first fork, this game's board is wrapped in a {@link CopyOnWriteBoard} and never written again;
+     *   later moves of this game are kept in memory, so a {@code MappedBoard} no longer records them.<br>
+     * - If the frontier is tracked, the fork gets a copy of the frontier and of the pending changes, which costs time
+     *   proportional to the frontier. Flags are copied too, in time proportional to the board.
+     *   Metrics and parallel reveals are not carried over, and forks always reveal sequentially.<br>
+     *
+     * @return The new game.
+     */
+    public Minesweeper fork() {
+        if (!(this.board instanceof CopyOnWriteBoard)) {
+            this.board = new CopyOnWriteBoard(this.board);
+        }
+        Minesweeper fork = new Minesweeper(((CopyOnWriteBoard) this.board).fork(), this.state);
+        if (this.frontier != null) {
+            fork.frontier = this.frontier.copy();
+            fork.frontierChanges = this.frontierChanges.copy();
+        }
+        if (this.flags != null) {
+            fork.flags = this.flags.copy();
+        }
+        if (this.startBoards != null) {
+            fork.startBoards = this.startBoards;
+            fork.pendingMineCount = this.pendingMineCount;
+            fork.hiddenSafeCells = this.hiddenSafeCells;
+        }
+        return fork;
+    }
+
+    /**
+     * Starts tracking the frontier of the game: the uncovered cells showing a number which still border a hidden cell.<br><br>
+     *
+     * The frontier is kept in a primitive hash set of cells, updated on every reveal for the revealed cell and its
+     * neighbours only, so it never has to be found by rescanning the board. Cells uncovered from now on are also queued
+     * until {@link #drainFrontierChanges()} is called, so a solver only needs to look at what changed.<br>
+     * If cells have already been uncovered, the board is scanned once to build the initial frontier, and every frontier
+     * cell is queued as a change. Calling this method again has no effect.
+     */
+    public void trackFrontier() {
+        if (this.frontier != null) {
+            return;
+        }
+        this.frontier = new CellIndexSet();
+        this.frontierChanges = new CellQueue();
+        if (this.board.revealedCount() == 0) {
+            return;
+        }
+        for (int row = 0; row < this.size; row++) {
+            for (int col = 0; col < this.size; col++) {
+                if (this.board.isRevealed(row, col) && this.board.adjacentMines(row, col) > 0 && hasHiddenNeighbour(row, col)) {
+                    this.frontier.add(pack(row, col));
+                    this.frontierChanges.add(row, col);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell is uncovered, shows a number and borders a hidden cell.
+     * @throws IllegalStateException If the frontier is not tracked.
+     */
+    public boolean isFrontier(int row, int col) {
+        return trackedFrontier().contains(pack(row, col));
+    }
+
+    /**
+     * @return The cells of the frontier, packed as {@code ((long) row << 32) | col}, in no particular order.
+     * @throws IllegalStateException If the frontier is not tracked.
+     */
+    public long[] getFrontier() {
+        return trackedFrontier().toArray();
+    }
+
+    /**
+     * @return The number of cells in the frontier.
+     * @throws IllegalStateException If the frontier is not tracked.
+     */
+    public int getFrontierSize() {
+        return trackedFrontier().size();
+    }
+
+    /**
+     * Returns the cells uncovered since the previous call, or since the frontier started being tracked, and forgets them.
+     *
+     * @return The uncovered cells, packed as {@code ((long) row << 32) | col}, in the order they were uncovered.
+     * @throws IllegalStateException If the frontier is not tracked.
+     */
+    public long[] drainFrontierChanges() {
+        trackedFrontier();
+        long[] changes = new long[this.frontierChanges.size()];
+        for (int i = 0; i < changes.length; i++) {
+            changes[i] = pack(this.frontierChanges.peekRow(), this.frontierChanges.peekCol());
+            this.frontierChanges.remove();
+        }
+        return changes;
+    }
+
+    private CellIndexSet trackedFrontier() {
+        if (this.frontier == null) {
+            throw new IllegalStateException("The frontier is not tracked, call trackFrontier() first.");
+        }
+        return this.frontier;
+    }
+
+    private CellQueue floodQueue() {
+        if (this.floodQueue == null) {
+            this.floodQueue = new CellQueue();
+        }
+        return this.floodQueue;
+    }
+
+    private BoardRenderer renderer() {
+        if (this.renderer == null) {
+            this.renderer = new BoardRenderer();
+        }
+        return this.renderer;
+    }
+
+    /**
+     * @return The storage of the board, for saving the game.
+     */
+    BoardStorage getBoard() {
+        return this.board;
+    }
+
+    /**
+     * @return The size of the grid (size x size).
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell has been uncovered.
+     */
+    public boolean isRevealed(int row, int col) {
+        return this.board.isRevealed(row, col);
+    }
+
+    /**
+     * Returns the number shown on an uncovered cell. Hidden cells give nothing away.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The number of mines adjacent to the cell, or -1 if the cell is still hidden.
+     */
+    public int getAdjacentMines(int row, int col) {
+        return this.board.isRevealed(row, col) ? this.board.adjacentMines(row, col) : -1;
+    }
+
+    /**
+     * @return The number of mines on the board, which the player is told at the start of the game.
+     */
+    public long getMineCount() {
+        return this.startBoards != null ? this.pendingMineCount : this.board.mineCount();
+    }
+
+    /**
+     * @return The number of cells uncovered so far.
+     */
+    public long getRevealedCount() {
+        return this.board.revealedCount();
+    }
+
+    /**
+     * @return The number of non-mine cells that remain hidden.
+     */
+    public long getHiddenSafeCount() {
+        return this.hiddenSafeCells;
+    }
+
+    /**
+     * Returns the character currently shown for a cell: its number of adjacent mines if it has been uncovered,
+     * otherwise 'F' if it is flagged or '_' if not.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The character displayed for the cell.
+     */
+    char getCell(int row, int col) {
+        if (this.board.isRevealed(row, col)) {
+            return (char) ('0' + this.board.adjacentMines(row, col));
+        }
+        return this.flags != null && this.flags.isFlagged(row, col) ? 'F' : '_';
+    }
+
+    /**
+     * Prints the current state of the game board to the console.<br><br>
+     *
+     * The board is displayed with each row labeled alphabetically (A, B, ..., Z, AA, AB, ...) and each column numbered (1, 2, 3, ...).<br>
+     * - Unrevealed cells are represented by an underscore ('_'), or an 'F' if they are flagged.<br>
+     * - Revealed cells display the number of adjacent mines as a character ('1' to '8'), or '0' if the cell has no adjacent mines.<br><br>
+     *
+     * The whole frame is built in a reusable buffer and written to the console in a single call.
+     */
+    public void displayBoard() {
+        displayBoard(System.out);
+    }
+
+    /**
+     * Writes the current state of the game board to a stream, in the same format as {@link #displayBoard()}.
+     *
+     * @param out The stream to write the board to.
+     */
+    public void displayBoard(PrintStream out) {
+        renderer().render(this::getCell, this.size, out);
+    }
+
+    /**
+     * Prints a window of the game board to the console, in the same format as {@link #displayBoard()}.<br>
+     * The window is clipped to the edges of the board.
+     *
+     * @param firstRow The row index of the first row to display.
+     * @param firstCol The column index of the first column to display.
+     * @param rows The number of rows to display.
+     * @param cols The number of columns to display.
+     */
+    public void displayBoard(int firstRow, int firstCol, int rows, int cols) {
+        renderer().render(this::getCell, this.size, firstRow, firstCol, rows, cols, System.out);
+    }
+
+    /**
+     * Updates a window of the game board on an ANSI terminal, redrawing only the cells that changed since the last update.<br>
+     * The first update, and any update after the window moves, clears the screen and draws the whole window.
+     *
+     * @param firstRow The row index of the first row to display.
+     * @param firstCol The column index of the first column to display.
+     * @param rows The number of rows to display.
+     * @param cols The number of columns to display.
+     */
+    public void displayBoardChanges(int firstRow, int firstCol, int rows, int cols) {
+        renderer().renderChanges(this::getCell, this.size, firstRow, firstCol, rows, cols, System.out);
+    }
+
+    /**
+     * Checks if the player has won the game.<br>
+     * The game is won if all non-mine cells are uncovered.<br><br>
+     *
+     * The number of hidden non-mine cells is updated on every reveal, so this check takes constant time.
+     *
+     * @return True if the game is won, false otherwise.
+     */
+    public boolean isGameWon() {
+        return this.state == GameState.WON;
+    }
+
+    /**
+     * @return The current state of the game: ongoing, won or lost.
+     */
+    public GameState getState() {
+        return this.state;
+    }
+}
@@ -0,0 +1,220 @@
+package game;
+
+import services.MinePlacer;
+import services.RandomMinePlacer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongFunction;
+
+/**
+ * An append-only log of the moves of a game, from which the game can be rebuilt by replaying it.<br><br>
+ *
+ * Instead of saving the board, the journal records how the board was made and what was played:<br>
+ * - A 32 byte header: magic number, format version, grid size, mine count and the seed of the mine placer.<br>
+ * - One 8 byte record per move: its row and column, little-endian.<br><br>
+ *
+ * Replaying creates the mines again with a placer built from the seed, then applies every recorded move, so a journal
+ * stays small however large the board is. Moves are buffered and written through the channel in blocks; moves not yet
+ * written by {@link #flush()} or {@link #close()} are lost if the process dies. A record cut short by a crash is
+ * ignored on replay, and overwritten when the journal is reopened.<br>
+ */
+public final class MoveJournal implements Closeable {
+    private static final int MAGIC = 0x4D534A4C; // "MSJL"
+    private static final int VERSION = 1; // Version of the file layout
+    private static final int HEADER_BYTES = 32; // Size of the header
+    private static final int RECORD_BYTES = 2 * Integer.BYTES; // Size of the record of a move
+    private static final int BUFFER_BYTES = 1 << 16; // Size of the blocks written through the channel
+
+    private final FileChannel channel; // Channel of the journal file
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN); // Moves not written yet
+    private final int size; // Size of the grid of the game
+    private final int mineCount; // Number of mines of the game
+    private final long seed; // Seed of the mine placer of the game
+    private long moveCount; // Number of moves recorded, written or not
+
+    private MoveJournal(FileChannel channel, int size, int mineCount, long seed, long moveCount) {
+        this.channel = channel;
+        this.size = size;
+        this.mineCount = mineCount;
+        this.seed = seed;
+        this.moveCount = moveCount;
+    }
+
+    /**
+     * Starts a new journal, replacing any existing file.<br>
+     * The game being recorded must have been created with a placer built from the same seed as replays will use,
+     * e.g. {@code new Minesweeper(new RandomMinePlacer(seed), size, mineCount)}.
+     *
+     * @param path The file in which to record the moves.
+     * @param size The size of the grid of the game (size x size).
+     * @param mineCount The number of mines of the game.
+     * @param seed The seed of the mine placer of the game.
+     * @return The empty journal.
+     * @throws IOException If the file cannot be created.
+     */
+    public static MoveJournal create(Path path, int size, int mineCount, long seed) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(mineCount).putLong(seed).clear();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            return new MoveJournal(channel, size, mineCount, seed, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reopens a journal to record more moves after the existing ones.
+     *
+     * @param path The file the moves were recorded in.
+     * @return The journal, positioned after its last complete move.
+     * @throws IOException If the file cannot be opened, or is not a journal of a supported version.
+     */
+    public static MoveJournal open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = readHeader(path, channel);
+            long moveCount = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+            channel.truncate(HEADER_BYTES + moveCount * RECORD_BYTES);
+            channel.position(HEADER_BYTES + moveCount * RECORD_BYTES);
+            return new MoveJournal(channel, header.getInt(8), header.getInt(12), header.getLong(16), moveCount);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Rebuilds a game whose mines were placed by a {@link RandomMinePlacer}.
+     *
+     * @param path The file the moves were recorded in.
+     * @return The game, after every recorded move has been applied.
+     * @throws IOException If the file cannot be read, or is not a journal of a supported version.
+     */
+    public static Minesweeper replay(Path path) throws IOException {
+        return replay(path, RandomMinePlacer::new);
+    }
+
+    /**
+     * Rebuilds a game by placing its mines again and applying every recorded move.
+     *
+     * @param path The file the moves were recorded in.
+     * @param placerFactory Creates the placer which placed the mines of the game from its seed, e.g. {@code RandomMinePlacer::new}.
+     * @return The game, after every recorded move has been applied.
+     * @throws IOException If the file cannot be read, or is not a journal of a supported version.
+     */
+    public static Minesweeper replay(Path path, LongFunction<MinePlacer> placerFactory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(path, channel);
+            Minesweeper game = new Minesweeper(placerFactory.apply(header.getLong(16)), header.getInt(8), header.getInt(12));
+
+            ByteBuffer records = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.position(HEADER_BYTES);
+            while (channel.read(records) >= 0) {
+                records.flip();
+                while (records.remaining() >= RECORD_BYTES) {
+                    game.applyMove(records.getInt(), records.getInt());
+                }
+                records.compact();
+            }
+            return game;
+        }
+    }
+
+    /**
+     * Reads and checks the header of a journal.
+     *
+     * @return The header, in little-endian order.
+     */
+    private static ByteBuffer readHeader(Path path, FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Keep reading until the header is complete or the file ends
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException(path + " is not a Minesweeper move journal.");
+        }
+        return header;
+    }
+
+    /**
+     * Records a move. It is written to the file once the buffer is full, or on {@link #flush()} or {@link #close()}.
+     *
+     * @param row The row index of the cell uncovered by the move.
+     * @param col The column index of the cell uncovered by the move.
+     * @throws IOException If the buffer is full and cannot be written.
+     */
+    public void append(int row, int col) throws IOException {
+        if (this.buffer.remaining() < RECORD_BYTES) {
+            flush();
+        }
+        this.buffer.putInt(row).putInt(col);
+        this.moveCount++;
+    }
+
+    /**
+     * Writes the recorded moves to the file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * @return The size of the grid of the game.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return The number of mines of the game.
+     */
+    public int mineCount() {
+        return this.mineCount;
+    }
+
+    /**
+     * @return The seed of the mine placer of the game.
+     */
+    public long seed() {
+        return this.seed;
+    }
+
+    /**
+     * @return The number of moves recorded so far.
+     */
+    public long moveCount() {
+        return this.moveCount;
+    }
+
+    /**
+     * Writes the recorded moves to the file and releases the channel.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads moves written as cell labels, such as "A1" or "AB12", from a byte stream.<br><br>
+ *
+ * - A label is a row label made of upper case letters, as shown on the board (A to Z, then AA, AB, ...), followed by a
+ *   column number starting from 1.<br>
+ * - Labels are separated by spaces, tabs, commas or line breaks; a '#' starts a comment running to the end of the line.<br>
+ * - Bytes are parsed straight from a reused buffer, so reading moves creates no strings and no garbage.<br><br>
+ *
+ * Labels outside the board are still returned, with a row or column outside of it, so that the game reports them as
+ * {@link MoveResults#INVALID}; only text which is not a label at all is rejected.
+ */
+public final class MoveReader implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16; // Bytes read from the stream at once
+
+    private final InputStream in; // Stream of labels
+    private final byte[] buffer; // Bytes read but not parsed yet
+    private int position; // Index of the next byte to parse in the buffer
+    private int limit; // Number of valid bytes in the buffer
+    private long line = 1; // Line of the next byte, for error messages
+
+    /**
+     * @param in The stream to read labels from. It is closed with the reader.
+     */
+    public MoveReader(InputStream in) {
+        this(in, BUFFER_BYTES);
+    }
+
+    MoveReader(InputStream in, int bufferBytes) {
+        this.in = in;
+        this.buffer = new byte[bufferBytes];
+    }
+
+    /**
+     * Reads up to one move per element of the arrays.
+     *
+     * @param rows Receives the row index of each move.
+     * @param cols Receives the column index of each move, of the same length as rows.
+     * @return The number of moves read, or -1 if the stream has no moves left.
+     * @throws IOException If the stream cannot be read.
+     * @throws IllegalArgumentException If the stream holds text which is not a label.
+     */
+    public int read(int[] rows, int[] cols) throws IOException {
+        if (rows.length != cols.length) {
+            throw new IllegalArgumentException("Got " + rows.length + " rows but " + cols.length + " columns.");
+        }
+        int count = 0;
+        while (count < rows.length) {
+            int b = skipSeparators();
+            if (b < 0) {
+                break;
+            }
+            long row = -1;
+            int letters = 0;
+            for (; b >= 'A' && b <= 'Z'; b = next(), letters++) {
+                row = Math.min((row + 1) * 26 + (b - 'A'), Integer.MAX_VALUE);
+            }
+            long col = 0;
+            int digits = 0;
+            for (; b >= '0' && b <= '9'; b = next(), digits++) {
+                col = Math.min(col * 10 + (b - '0'), Integer.MAX_VALUE);
+            }
+            if (letters == 0 || digits == 0 || (b >= 0 && !isSeparator(b) && b != '#')) {
+                throw new IllegalArgumentException("Invalid move on line " + this.line + ", expected a label such as A1.");
+            }
+            if (b >= 0) {
+                this.position--; // Leave the separator for the next label, so line breaks are counted
+            }
+            rows[count] = (int) row;
+            cols[count] = (int) col - 1;
+            count++;
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    /**
+     * Parses a single label, as typed by a player.
+     *
+     * @param label The label, e.g. "A1" or "AB12".
+     * @param size The size of the grid (size x size).
+     * @return The cell of the label, packed as {@code ((long) row << 32) | col}, or -1 if the label is malformed or outside the board.
+     */
+    public static long parseCell(CharSequence label, int size) {
+        int i = 0;
+        long row = -1;
+        for (; i < label.length() && label.charAt(i) >= 'A' && label.charAt(i) <= 'Z'; i++) {
+            row = Math.min((row + 1) * 26 + (label.charAt(i) - 'A'), Integer.MAX_VALUE);
+        }
+        int firstDigit = i;
+        long col = 0;
+        for (; i < label.length() && label.charAt(i) >= '0' && label.charAt(i) <= '9'; i++) {
+            col = Math.min(col * 10 + (label.charAt(i) - '0'), Integer.MAX_VALUE);
+        }
+        if (firstDigit == 0 || i == firstDigit || i != label.length() || row >= size || col < 1 || col > size) {
+            return -1;
+        }
+        return (row << 32) | (col - 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+    /**
+     * Skips separators and comments.
+     *
+     * @return The first byte of the next label, already consumed, or -1 at the end of the stream.
+     */
+    private int skipSeparators() throws IOException {
+        int b = next();
+        while (b >= 0) {
+            if (b == '#') {
+                while (b >= 0 && b != '\n') {
+                    b = next();
+                }
+            } else if (!isSeparator(b)) {
+                return b;
+            }
+            if (b == '\n') {
+                this.line++;
+            }
+            b = next();
+        }
+        return -1;
+    }
+
+    /**
+     * @return The next byte of the stream, or -1 at its end.
+     */
+    private int next() throws IOException {
+        if (this.position == this.limit) {
+            int read = this.in.read(this.buffer, 0, this.buffer.length);
+            if (read <= 0) {
+                return -1;
+            }
+            this.position = 0;
+            this.limit = read;
+        }
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    private static boolean isSeparator(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',';
+    }
+}
@@ -0,0 +1,105 @@
+package game;
+
+/**
+ * The results of a batch of moves, encoded in primitive arrays.<br><br>
+ *
+ * For each move, in the order the moves were given:<br>
+ * - Its outcome: {@link #REVEALED}, {@link #ALREADY_REVEALED}, {@link #MINE}, {@link #INVALID} or {@link #FLAGGED}.<br>
+ * - The cells it newly uncovered, with their numbers of adjacent mines. Only {@link #REVEALED} moves uncover cells.<br><br>
+ *
+ * The uncovered cells of all moves are stored one after the other; the cells of move i are those with an index from
+ * {@link #firstRevealed(int) firstRevealed(i)} (inclusive) to {@link #firstRevealed(int) firstRevealed(i + 1)} (exclusive).<br>
+ */
+public final class MoveResults {
+    public static final byte REVEALED = 0; // The cell was safe and has been uncovered, possibly along with its surroundings
+    public static final byte ALREADY_REVEALED = 1; // The cell had already been uncovered, nothing changed
+    public static final byte MINE = 2; // The cell contains a mine, the game is lost
+    public static final byte INVALID = 3; // The cell is outside the board, nothing changed
+    public static final byte FLAGGED = 4; // The cell is flagged and must be unflagged before it can be uncovered, nothing changed
+    public static final byte UNSATISFIED = 5; // The chorded cell is hidden or its number differs from its flagged neighbours, nothing changed
+
+    private static final String[] NAMES = {"REVEALED", "ALREADY_REVEALED", "MINE", "INVALID", "FLAGGED", "UNSATISFIED"}; // Name of each outcome
+
+    private final byte[] outcomes; // Outcome of each move
+    private final int[] revealedOffsets; // Index of the first uncovered cell of each move, followed by the total
+    private final int[] rows; // Row index of each uncovered cell
+    private final int[] cols; // Column index of each uncovered cell
+    private final byte[] adjacentMines; // Number of adjacent mines of each uncovered cell
+
+    MoveResults(byte[] outcomes, int[] revealedOffsets, int[] rows, int[] cols, byte[] adjacentMines) {
+        this.outcomes = outcomes;
+        this.revealedOffsets = revealedOffsets;
+        this.rows = rows;
+        this.cols = cols;
+        this.adjacentMines = adjacentMines;
+    }
+
+    /**
+     * @param outcome One of the outcome constants, such as {@link #REVEALED}.
+     * @return The name of the constant, e.g. "REVEALED".
+     */
+    public static String name(byte outcome) {
+        return NAMES[outcome];
+    }
+
+    /**
+     * @return The number of outcome constants, each between 0 and this count - 1.
+     */
+    public static int outcomeCount() {
+        return NAMES.length;
+    }
+
+    /**
+     * @return The number of moves in the batch.
+     */
+    public int moveCount() {
+        return this.outcomes.length;
+    }
+
+    /**
+     * @param move The index of the move in the batch.
+     * @return The outcome of the move.
+     */
+    public byte outcome(int move) {
+        return this.outcomes[move];
+    }
+
+    /**
+     * @param move The index of the move in the batch, or the number of moves to get the total number of uncovered cells.
+     * @return The index of the first cell uncovered by the move.
+     */
+    public int firstRevealed(int move) {
+        return this.revealedOffsets[move];
+    }
+
+    /**
+     * @return The number of cells uncovered by the whole batch.
+     */
+    public int revealedCount() {
+        return this.rows.length;
+    }
+
+    /**
+     * @param index The index of an uncovered cell.
+     * @return The row index of the cell.
+     */
+    public int revealedRow(int index) {
+        return this.rows[index];
+    }
+
+    /**
+     * @param index The index of an uncovered cell.
+     * @return The column index of the cell.
+     */
+    public int revealedCol(int index) {
+        return this.cols[index];
+    }
+
+    /**
+     * @param index The index of an uncovered cell.
+     * @return The number of mines adjacent to the cell.
+     */
+    public int adjacentMines(int index) {
+        return this.adjacentMines[index];
+    }
+}
@@ -0,0 +1,125 @@
+package game;
+
+import board.BoardStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expands a large safe area over several threads of a {@link ForkJoinPool}.<br><br>
+ *
+ * The expansion starts from the edge of an area that a sequential flood fill has already begun uncovering:<br>
+ * - Each task expands its own queue of cells with no adjacent mines, exactly like the sequential flood fill.<br>
+ * - Cells are claimed with {@link BoardStorage#claimRevealed(int, int)}, so when the areas of two tasks meet,
+ *   each cell is uncovered by exactly one of them.<br>
+ * - Whenever a task's queue grows large, half of it is handed to a new task which idle threads can steal.<br><br>
+ *
+ * The set of uncovered cells is therefore the same as with the sequential flood fill; only the order differs.<br>
+ */
+final class ParallelFloodFill {
+    private static final int SPLIT_SIZE = 256; // Queued cells above which a task hands half of its queue to a new task
+    private static final int SPLIT_INTERVAL = 64; // Number of expanded cells between two checks for splitting
+
+    private final BoardStorage board; // Board being uncovered, must support concurrent reveals
+    private final int size; // Size of the grid
+    private final boolean recording; // True if uncovered cells must be recorded for a batch of moves
+    private final AtomicLong claimed = new AtomicLong(); // Number of cells uncovered by all tasks
+    private final Queue<RevealLog> logs = new ConcurrentLinkedQueue<>(); // Uncovered cells recorded by each task
+
+    private ParallelFloodFill(BoardStorage board, boolean recording) {
+        this.board = board;
+        this.size = board.size();
+        this.recording = recording;
+    }
+
+    /**
+     * Expands the safe area from the given cells until it is fully uncovered.
+     *
+     * @param pool The pool whose threads expand the area.
+     * @param board The board being uncovered, which must support concurrent reveals.
+     * @param seeds Uncovered cells with no adjacent mines whose neighbours remain to be expanded, as (row, col) pairs.
+     * @param log Receives every cell uncovered, or null if cells need not be recorded.
+     * @return The number of cells uncovered.
+     */
+    static long expand(ForkJoinPool pool, BoardStorage board, int[] seeds, RevealLog log) {
+        ParallelFloodFill fill = new ParallelFloodFill(board, log != null);
+        pool.invoke(fill.new ExpandTask(seeds));
+        long claimed = fill.claimed.get();
+        board.addRevealedCount(claimed);
+        if (log != null) {
+            for (RevealLog taskLog : fill.logs) {
+                taskLog.copyTo(log);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Expands the area reachable from a set of seed cells, splitting off subtasks as its queue grows.
+     */
+    private final class ExpandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L; // Tasks are never serialized, declared for RecursiveAction
+
+        private final int[] seeds; // Cells to expand, as (row, col) pairs
+
+        ExpandTask(int[] seeds) {
+            this.seeds = seeds;
+        }
+
+        @Override
+        protected void compute() {
+            CellQueue queue = new CellQueue();
+            for (int i = 0; i < this.seeds.length; i += 2) {
+                queue.add(this.seeds[i], this.seeds[i + 1]);
+            }
+            RevealLog log = recording ? new RevealLog() : null;
+            List<ExpandTask> forked = new ArrayList<>();
+            long uncovered = 0;
+            int sinceSplit = 0;
+
+            while (!queue.isEmpty()) {
+                if (++sinceSplit == SPLIT_INTERVAL) {
+                    sinceSplit = 0;
+                    if (queue.size() > SPLIT_SIZE) {
+                        ExpandTask task = new ExpandTask(queue.removeFirst(queue.size() / 2));
+                        task.fork();
+                        forked.add(task);
+                    }
+                }
+                int currentRow = queue.peekRow();
+                int currentCol = queue.peekCol();
+                queue.remove();
+                for (int dr = -1; dr <= 1; dr++) {
+                    int newRow = currentRow + dr;
+                    if (newRow < 0 || newRow >= size) continue;
+                    for (int dc = -1; dc <= 1; dc++) {
+                        int newCol = currentCol + dc;
+                        if (newCol < 0 || newCol >= size || board.isRevealed(newRow, newCol)) continue;
+                        if (!board.claimRevealed(newRow, newCol)) continue;
+                        uncovered++;
+                        int adjacentMines = board.adjacentMines(newRow, newCol);
+                        if (log != null) {
+                            log.add(newRow, newCol, adjacentMines);
+                        }
+                        if (adjacentMines == 0) {
+                            queue.add(newRow, newCol);
+                        }
+                    }
+                }
+            }
+
+            claimed.addAndGet(uncovered);
+            if (log != null) {
+                logs.add(log);
+            }
+            for (ExpandTask task : forked) {
+                task.join();
+            }
+        }
+    }
+}
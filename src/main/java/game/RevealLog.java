@@ -0,0 +1,63 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * Records the cells uncovered during a batch of moves in growable primitive arrays, see {@link MoveResults}.
+ */
+final class RevealLog {
+    private int[] rows = new int[64]; // Row index of each uncovered cell
+    private int[] cols = new int[64]; // Column index of each uncovered cell
+    private byte[] adjacentMines = new byte[64]; // Number of adjacent mines of each uncovered cell
+    private int count; // Number of uncovered cells recorded
+
+    /**
+     * Records an uncovered cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param mines The number of mines adjacent to the cell.
+     */
+    void add(int row, int col, int mines) {
+        if (this.count == this.rows.length) {
+            int capacity = this.count * 2;
+            this.rows = Arrays.copyOf(this.rows, capacity);
+            this.cols = Arrays.copyOf(this.cols, capacity);
+            this.adjacentMines = Arrays.copyOf(this.adjacentMines, capacity);
+        }
+        this.rows[this.count] = row;
+        this.cols[this.count] = col;
+        this.adjacentMines[this.count] = (byte) mines;
+        this.count++;
+    }
+
+    /**
+     * @return The number of uncovered cells recorded so far.
+     */
+    int size() {
+        return this.count;
+    }
+
+    /**
+     * Appends every recorded cell to another log.
+     *
+     * @param target The log to append to.
+     */
+    void copyTo(RevealLog target) {
+        for (int i = 0; i < this.count; i++) {
+            target.add(this.rows[i], this.cols[i], this.adjacentMines[i]);
+        }
+    }
+
+    /**
+     * Packs the recorded cells into the results of a batch.
+     *
+     * @param outcomes The outcome of each move.
+     * @param revealedOffsets The index of the first uncovered cell of each move, followed by the total.
+     * @return The results of the batch.
+     */
+    MoveResults toResults(byte[] outcomes, int[] revealedOffsets) {
+        return new MoveResults(outcomes, revealedOffsets, Arrays.copyOf(this.rows, this.count),
+            Arrays.copyOf(this.cols, this.count), Arrays.copyOf(this.adjacentMines, this.count));
+    }
+}
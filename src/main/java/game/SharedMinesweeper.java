@@ -0,0 +1,160 @@
+package game;
+
+import board.BitSetBoard;
+import board.BoardStorage;
+import services.MinePlacer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A cooperative game of Minesweeper in which many threads uncover cells of the same board at once.<br><br>
+ *
+ * Every method may be called from any thread, and no lock is ever taken:<br>
+ * - Cells are uncovered with {@link BoardStorage#claimRevealed(int, int)}, an atomic compare-and-set of the cell's bit,
+ *   so exactly one thread uncovers each cell. When flood fills started by different threads meet, each cell of the
+ *   overlap is claimed by one of them and the other simply stops there.<br>
+ * - Each move subtracts the cells it claimed from an atomic count of hidden safe cells; the move which brings it to
+ *   zero wins the game.<br>
+ * - The state only ever leaves {@link GameState#ONGOING} through a compare-and-set, so a game is won or lost exactly once,
+ *   even if the last safe cell and a mine are uncovered at the same time.<br><br>
+ *
+ * Moves are still applied once the game is over, as in {@link Minesweeper}. Reads may lag behind moves being applied
+ * by other threads, but never see a cell uncovered twice.
+ */
+public final class SharedMinesweeper {
+    private final int size; // Size of the grid
+    private final BoardStorage board; // Board supporting concurrent reveals
+    private final AtomicLong hiddenSafeCells; // Number of non-mine cells that have not been uncovered yet
+    private final AtomicReference<GameState> state; // Current status of the game, changed once at most
+
+    /**
+     * Creates a shared game on a new bitset board.
+     *
+     * @param minePlacer The strategy used to place the mines.
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to be placed on the board.
+     */
+    public SharedMinesweeper(MinePlacer minePlacer, int size, int mineCount) {
+        this(placeMines(minePlacer, new BitSetBoard(size), mineCount));
+    }
+
+    /**
+     * Creates a shared game on a board whose mines have already been placed.
+     *
+     * @param board The board on which to play, which must support concurrent reveals and not be used by anything else.
+     * @throws IllegalArgumentException If the board does not support concurrent reveals.
+     */
+    public SharedMinesweeper(BoardStorage board) {
+        if (!board.supportsConcurrentReveal()) {
+            throw new IllegalArgumentException(board.getClass().getSimpleName() + " does not support concurrent reveals.");
+        }
+        this.size = board.size();
+        this.board = board;
+        this.hiddenSafeCells = new AtomicLong((long) this.size * this.size - board.mineCount() - board.revealedCount());
+        this.state = new AtomicReference<>(this.hiddenSafeCells.get() == 0 ? GameState.WON : GameState.ONGOING);
+    }
+
+    private static BoardStorage placeMines(MinePlacer minePlacer, BoardStorage board, int mineCount) {
+        minePlacer.placeMines(board.size(), mineCount, board);
+        return board;
+    }
+
+    /**
+     * Uncovers a cell on behalf of one player, expanding safe areas on the calling thread.
+     *
+     * @param row The row index of the cell to uncover.
+     * @param col The column index of the cell to uncover.
+     * @return The outcome of the move: {@link MoveResults#REVEALED} if this call uncovered the cell,
+     *         {@link MoveResults#ALREADY_REVEALED} if another move got there first, {@link MoveResults#MINE} or
+     *         {@link MoveResults#INVALID}.
+     */
+    public byte uncover(int row, int col) {
+        if (row < 0 || row >= this.size || col < 0 || col >= this.size) {
+            return MoveResults.INVALID;
+        }
+        if (this.board.isMine(row, col)) {
+            this.state.compareAndSet(GameState.ONGOING, GameState.LOST);
+            return MoveResults.MINE;
+        }
+        if (this.board.isRevealed(row, col) || !this.board.claimRevealed(row, col)) {
+            return MoveResults.ALREADY_REVEALED;
+        }
+        long claimed = 1;
+        if (this.board.adjacentMines(row, col) == 0) {
+            claimed += floodFill(row, col);
+        }
+        this.board.addRevealedCount(claimed);
+        if (this.hiddenSafeCells.addAndGet(-claimed) == 0) {
+            this.state.compareAndSet(GameState.ONGOING, GameState.WON);
+        }
+        return MoveResults.REVEALED;
+    }
+
+    /**
+     * Claims the safe area around a cell with no adjacent mines, stopping at cells claimed by other threads.
+     *
+     * @param row The row index of the claimed cell with no adjacent mines.
+     * @param col The column index of the claimed cell with no adjacent mines.
+     * @return The number of cells claimed, excluding the starting cell.
+     */
+    private long floodFill(int row, int col) {
+        CellQueue queue = new CellQueue();
+        queue.add(row, col);
+        long claimed = 0;
+        while (!queue.isEmpty()) {
+            int currentRow = queue.peekRow();
+            int currentCol = queue.peekCol();
+            queue.remove();
+            for (int r = Math.max(currentRow - 1, 0); r <= Math.min(currentRow + 1, this.size - 1); r++) {
+                for (int c = Math.max(currentCol - 1, 0); c <= Math.min(currentCol + 1, this.size - 1); c++) {
+                    if (this.board.isRevealed(r, c) || !this.board.claimRevealed(r, c)) continue;
+                    claimed++;
+                    if (this.board.adjacentMines(r, c) == 0) {
+                        queue.add(r, c);
+                    }
+                }
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * @return The size of the grid (size x size).
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell has been uncovered.
+     */
+    public boolean isRevealed(int row, int col) {
+        return this.board.isRevealed(row, col);
+    }
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The number of mines surrounding the cell if it has been uncovered, otherwise -1.
+     */
+    public int getAdjacentMines(int row, int col) {
+        return this.board.isRevealed(row, col) ? this.board.adjacentMines(row, col) : -1;
+    }
+
+    /**
+     * @return The number of non-mine cells that have not been uncovered yet.
+     */
+    public long getHiddenSafeCount() {
+        return this.hiddenSafeCells.get();
+    }
+
+    /**
+     * @return The current state of the game.
+     */
+    public GameState getState() {
+        return this.state.get();
+    }
+}
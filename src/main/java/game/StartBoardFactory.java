@@ -0,0 +1,21 @@
+package game;
+
+import board.BoardStorage;
+
+/**
+ * Creates the board of a game once its first move is known, so that the mines can be placed around it.
+ * See {@link Minesweeper#withSafeStart(StartBoardFactory, int, int)}.
+ */
+@FunctionalInterface
+public interface StartBoardFactory {
+    /**
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to place on the board.
+     * @param startRow The row index of the first move.
+     * @param startCol The column index of the first move.
+     * @return A new board of the given size holding exactly mineCount mines, with every cell hidden and no mine on the
+     *         first move's cell or its neighbours. If the mines do not fit outside that area, only the first move's cell
+     *         must be free of mines.
+     */
+    BoardStorage create(int size, int mineCount, int startRow, int startCol);
+}
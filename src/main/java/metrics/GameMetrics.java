@@ -0,0 +1,166 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the measurements of any number of games and placers, and exposes them as a JMX MBean.<br><br>
+ *
+ * Every counter is a {@link LongAdder}, {@link LongAccumulator} or {@link LatencyHistogram}, so games playing on many
+ * threads can share one instance without locking. Attributes are read without stopping the recording, so they are
+ * only consistent with each other once the games are idle.
+ */
+public final class GameMetrics implements MetricsListener, GameMetricsMBean {
+    private final LongAdder games = new LongAdder(); // Number of games instrumented
+    private final LongAdder boardBytes = new LongAdder(); // Memory taken by the boards of the instrumented games
+    private final LongAccumulator maxBoardBytes = new LongAccumulator(Math::max, 0); // Memory taken by the largest board
+    private final LatencyHistogram moveNanos = new LatencyHistogram(); // Time taken by each move
+    private final LongAdder revealedCells = new LongAdder(); // Cells uncovered by every move together
+    private final LongAccumulator maxRevealedCells = new LongAccumulator(Math::max, 0); // Most cells uncovered by one move
+    private final LongAccumulator queueHighWaterMark = new LongAccumulator(Math::max, 0); // Longest flood fill queue
+    private final LatencyHistogram placementNanos = new LatencyHistogram(); // Time taken by each placement
+    private final LongAdder placementCollisions = new LongAdder(); // Draws which hit a cell already holding a mine
+
+    @Override
+    public void onMove(long nanos, long revealedCells, int queueHighWaterMark) {
+        this.moveNanos.record(nanos);
+        if (revealedCells > 0) {
+            this.revealedCells.add(revealedCells);
+            this.maxRevealedCells.accumulate(revealedCells);
+        }
+        if (queueHighWaterMark > 0) {
+            this.queueHighWaterMark.accumulate(queueHighWaterMark);
+        }
+    }
+
+    @Override
+    public void onPlacement(long nanos, long mineCount, long collisions) {
+        this.placementNanos.record(nanos);
+        this.placementCollisions.add(collisions);
+    }
+
+    @Override
+    public void onGameStarted(long boardFootprintBytes) {
+        this.games.increment();
+        this.boardBytes.add(boardFootprintBytes);
+        this.maxBoardBytes.accumulate(boardFootprintBytes);
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, as {@code minesweeper:type=GameMetrics,name=<name>}.
+     *
+     * @param name The name distinguishing these metrics from others registered in the same JVM.
+     * @return The name the MBean was registered under, to unregister it later.
+     * @throws JMException If the name is malformed or already registered.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("minesweeper:type=GameMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * @return The distribution of the time taken by each move, in nanoseconds.
+     */
+    public LatencyHistogram moveLatency() {
+        return this.moveNanos;
+    }
+
+    /**
+     * @return The distribution of the time taken by each placement, in nanoseconds.
+     */
+    public LatencyHistogram placementLatency() {
+        return this.placementNanos;
+    }
+
+    @Override
+    public long getGameCount() {
+        return this.games.sum();
+    }
+
+    @Override
+    public long getBoardFootprintBytes() {
+        return this.boardBytes.sum();
+    }
+
+    @Override
+    public long getMaxBoardFootprintBytes() {
+        return this.maxBoardBytes.get();
+    }
+
+    @Override
+    public long getMoveCount() {
+        return this.moveNanos.count();
+    }
+
+    @Override
+    public double getMoveLatencyMeanNanos() {
+        return this.moveNanos.mean();
+    }
+
+    @Override
+    public long getMoveLatencyP50Nanos() {
+        return this.moveNanos.percentile(50);
+    }
+
+    @Override
+    public long getMoveLatencyP99Nanos() {
+        return this.moveNanos.percentile(99);
+    }
+
+    @Override
+    public long getMoveLatencyP999Nanos() {
+        return this.moveNanos.percentile(99.9);
+    }
+
+    @Override
+    public long getMoveLatencyMaxNanos() {
+        return this.moveNanos.max();
+    }
+
+    @Override
+    public long getRevealedCellCount() {
+        return this.revealedCells.sum();
+    }
+
+    @Override
+    public long getMaxRevealedCellsPerMove() {
+        return this.maxRevealedCells.get();
+    }
+
+    @Override
+    public long getFloodQueueHighWaterMark() {
+        return this.queueHighWaterMark.get();
+    }
+
+    @Override
+    public long getPlacementCount() {
+        return this.placementNanos.count();
+    }
+
+    @Override
+    public double getPlacementMeanNanos() {
+        return this.placementNanos.mean();
+    }
+
+    @Override
+    public long getPlacementMaxNanos() {
+        return this.placementNanos.max();
+    }
+
+    @Override
+    public long getPlacementCollisionCount() {
+        return this.placementCollisions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Games: %d, board memory: %d bytes%nMove latency (ns): %s%nCells uncovered: %d, most by one move: %d, "
+                + "flood queue high-water mark: %d%nPlacement latency (ns): %s%nPlacement collisions: %d%n",
+            getGameCount(), getBoardFootprintBytes(), this.moveNanos, getRevealedCellCount(), getMaxRevealedCellsPerMove(),
+            getFloodQueueHighWaterMark(), this.placementNanos, getPlacementCollisionCount());
+    }
+}
@@ -0,0 +1,87 @@
+package metrics;
+
+/**
+ * The attributes of {@link GameMetrics} exposed through JMX, e.g. in JConsole or VisualVM under the "minesweeper" domain.<br>
+ * Latencies are in nanoseconds; percentiles are accurate to about 3%.
+ */
+public interface GameMetricsMBean {
+    /**
+     * @return The number of games instrumented.
+     */
+    long getGameCount();
+
+    /**
+     * @return The memory taken by the boards of every instrumented game, in bytes.
+     */
+    long getBoardFootprintBytes();
+
+    /**
+     * @return The memory taken by the largest board instrumented, in bytes.
+     */
+    long getMaxBoardFootprintBytes();
+
+    /**
+     * @return The number of moves played.
+     */
+    long getMoveCount();
+
+    /**
+     * @return The mean time taken by a move.
+     */
+    double getMoveLatencyMeanNanos();
+
+    /**
+     * @return The median time taken by a move.
+     */
+    long getMoveLatencyP50Nanos();
+
+    /**
+     * @return The 99th percentile of the time taken by a move.
+     */
+    long getMoveLatencyP99Nanos();
+
+    /**
+     * @return The 99.9th percentile of the time taken by a move.
+     */
+    long getMoveLatencyP999Nanos();
+
+    /**
+     * @return The longest time taken by a move.
+     */
+    long getMoveLatencyMaxNanos();
+
+    /**
+     * @return The number of cells uncovered by every move together.
+     */
+    long getRevealedCellCount();
+
+    /**
+     * @return The largest number of cells uncovered by a single move.
+     */
+    long getMaxRevealedCellsPerMove();
+
+    /**
+     * @return The largest number of cells waiting in a flood fill's queue at once.
+     */
+    long getFloodQueueHighWaterMark();
+
+    /**
+     * @return The number of mine placements.
+     */
+    long getPlacementCount();
+
+    /**
+     * @return The mean time taken to place the mines of a board.
+     */
+    double getPlacementMeanNanos();
+
+    /**
+     * @return The longest time taken to place the mines of a board.
+     */
+    long getPlacementMaxNanos();
+
+    /**
+     * @return The number of random draws which hit a cell already holding a mine, over every placement.
+     */
+    long getPlacementCollisionCount();
+}
@@ -0,0 +1,40 @@
+package metrics;
+
+/**
+ * Receives measurements from the hot paths of the game: moves, mine placements and board creation.<br><br>
+ *
+ * - Listeners are called on the thread doing the work, so they must be cheap and must not block.<br>
+ * - One listener may be shared by many games and placers running concurrently, so it must be thread-safe.<br>
+ * - Every method does nothing by default, so a listener only overrides the measurements it needs.<br><br>
+ *
+ * Games and placers without a listener skip the measurements entirely, see {@code Minesweeper#setMetricsListener}.
+ */
+public interface MetricsListener {
+    /**
+     * Called after every move of an instrumented game.
+     *
+     * @param nanos The time taken by the move, in nanoseconds.
+     * @param revealedCells The number of cells the move uncovered.
+     * @param queueHighWaterMark The largest number of cells waiting in the flood fill's queue during the move.
+     */
+    default void onMove(long nanos, long revealedCells, int queueHighWaterMark) {
+    }
+
+    /**
+     * Called after every placement of the mines of a board by an instrumented placer.
+     *
+     * @param nanos The time taken to place the mines, in nanoseconds.
+     * @param mineCount The number of mines placed.
+     * @param collisions The number of random draws which hit a cell already holding a mine.
+     */
+    default void onPlacement(long nanos, long mineCount, long collisions) {
+    }
+
+    /**
+     * Called once when a game starts being instrumented.
+     *
+     * @param boardFootprintBytes The memory taken by the state of the game's board, in bytes.
+     */
+    default void onGameStarted(long boardFootprintBytes) {
+    }
+}
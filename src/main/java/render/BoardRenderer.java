@@ -0,0 +1,231 @@
+package render;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renders a board as text, building each frame in a single reusable buffer which is written to the output in one call.<br><br>
+ *
+ * The frame format is the one shown to the player:<br>
+ * - A header line listing the column numbers (1, 2, 3, ...).<br>
+ * - One line per row, starting with the row label (A, B, ..., Z, AA, AB, ...) followed by the glyph of each cell.<br><br>
+ *
+ * Large boards can be rendered through a viewport, a window of rows and columns of the board.<br>
+ * In ANSI mode, only the first frame is written in full; later frames move the terminal cursor to each cell whose glyph
+ * changed since the previous frame and redraw only that cell.<br><br>
+ *
+ * A renderer keeps the state of the previous ANSI frame, so each board should have its own renderer.
+ * Renderers are not thread-safe.<br>
+ */
+public final class BoardRenderer {
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final byte ESCAPE = 0x1B;
+
+    private byte[] buffer = new byte[1024]; // Frame being built, reused between frames
+    private int length; // Number of bytes of the frame built so far
+
+    private char[] shownGlyphs; // Glyphs of the last ANSI frame, or null if no ANSI frame has been written
+    private int shownFirstRow; // Viewport of the last ANSI frame
+    private int shownFirstCol;
+    private int shownRows;
+    private int shownCols;
+
+    /**
+     * Renders the whole board.
+     *
+     * @param view The glyphs of the board.
+     * @param size The size of the board (size x size).
+     * @param out The stream to write the frame to.
+     */
+    public void render(BoardView view, int size, PrintStream out) {
+        render(view, size, 0, 0, size, size, out);
+    }
+
+    /**
+     * Renders a window of the board. The window is clipped to the edges of the board.
+     *
+     * @param view The glyphs of the board.
+     * @param size The size of the board (size x size).
+     * @param firstRow The row index of the first row of the window.
+     * @param firstCol The column index of the first column of the window.
+     * @param rows The number of rows in the window.
+     * @param cols The number of columns in the window.
+     * @param out The stream to write the frame to.
+     */
+    public void render(BoardView view, int size, int firstRow, int firstCol, int rows, int cols, PrintStream out) {
+        this.length = 0;
+        appendFrame(view, clip(firstRow, size), clip(firstCol, size), clipLength(firstRow, rows, size), clipLength(firstCol, cols, size));
+        flush(out);
+    }
+
+    /**
+     * Renders a window of the board for an ANSI terminal, redrawing only what changed since the previous ANSI frame.<br><br>
+     *
+     * - If no ANSI frame has been written yet, or the window has moved, the screen is cleared and the whole window is written.<br>
+     * - Otherwise, the cursor is moved to each cell whose glyph changed, and only that glyph is written.<br>
+     * - In both cases, the cursor is left on the line below the frame.<br>
+     *
+     * @param view The glyphs of the board.
+     * @param size The size of the board (size x size).
+     * @param firstRow The row index of the first row of the window.
+     * @param firstCol The column index of the first column of the window.
+     * @param rows The number of rows in the window.
+     * @param cols The number of columns in the window.
+     * @param out The stream to write the frame to.
+     */
+    public void renderChanges(BoardView view, int size, int firstRow, int firstCol, int rows, int cols, PrintStream out) {
+        firstRow = clip(firstRow, size);
+        firstCol = clip(firstCol, size);
+        rows = clipLength(firstRow, rows, size);
+        cols = clipLength(firstCol, cols, size);
+        this.length = 0;
+
+        if (this.shownGlyphs == null || firstRow != this.shownFirstRow || firstCol != this.shownFirstCol
+            || rows != this.shownRows || cols != this.shownCols) {
+            appendEscape('H');
+            appendEscape(2, 'J');
+            appendFrame(view, firstRow, firstCol, rows, cols);
+            this.shownGlyphs = new char[rows * cols];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    this.shownGlyphs[i * cols + j] = view.glyphAt(firstRow + i, firstCol + j);
+                }
+            }
+            this.shownFirstRow = firstRow;
+            this.shownFirstCol = firstCol;
+            this.shownRows = rows;
+            this.shownCols = cols;
+        } else {
+            int labelWidth = RowLabels.length(firstRow + rows - 1);
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    char glyph = view.glyphAt(firstRow + i, firstCol + j);
+                    if (glyph != this.shownGlyphs[i * cols + j]) {
+                        this.shownGlyphs[i * cols + j] = glyph;
+                        appendCursorPosition(i + 2, labelWidth + 2 + 2 * j);
+                        append((byte) glyph);
+                    }
+                }
+            }
+            appendCursorPosition(rows + 2, 1);
+        }
+        flush(out);
+    }
+
+    /**
+     * Appends a complete frame of the window to the buffer.
+     */
+    private void appendFrame(BoardView view, int firstRow, int firstCol, int rows, int cols) {
+        int labelWidth = rows == 0 ? 1 : RowLabels.length(firstRow + rows - 1);
+        for (int i = 0; i <= labelWidth; i++) {
+            append((byte) ' ');
+        }
+        for (int j = 0; j < cols; j++) {
+            appendNumber(firstCol + j + 1);
+            append((byte) ' ');
+        }
+        append(LINE_SEPARATOR);
+
+        for (int i = 0; i < rows; i++) {
+            int row = firstRow + i;
+            String label = RowLabels.label(row);
+            for (int k = 0; k < label.length(); k++) {
+                append((byte) label.charAt(k));
+            }
+            for (int k = label.length(); k <= labelWidth; k++) {
+                append((byte) ' ');
+            }
+            ensureCapacity(cols * 2);
+            for (int j = 0; j < cols; j++) {
+                this.buffer[this.length++] = (byte) view.glyphAt(row, firstCol + j);
+                this.buffer[this.length++] = ' ';
+            }
+            append(LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Appends an ANSI sequence moving the cursor to a 1-based line and column.
+     */
+    private void appendCursorPosition(int line, int column) {
+        append(ESCAPE);
+        append((byte) '[');
+        appendNumber(line);
+        append((byte) ';');
+        appendNumber(column);
+        append((byte) 'H');
+    }
+
+    /**
+     * Appends an ANSI sequence with no parameter.
+     */
+    private void appendEscape(char command) {
+        append(ESCAPE);
+        append((byte) '[');
+        append((byte) command);
+    }
+
+    /**
+     * Appends an ANSI sequence with one numeric parameter.
+     */
+    private void appendEscape(int parameter, char command) {
+        append(ESCAPE);
+        append((byte) '[');
+        appendNumber(parameter);
+        append((byte) command);
+    }
+
+    /**
+     * Appends the decimal digits of a non-negative number without allocating a string.
+     */
+    private void appendNumber(int number) {
+        int digits = 1;
+        for (int n = number; n >= 10; n /= 10) {
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = this.length + digits - 1; i >= this.length; i--) {
+            this.buffer[i] = (byte) ('0' + number % 10);
+            number /= 10;
+        }
+        this.length += digits;
+    }
+
+    private void append(byte value) {
+        ensureCapacity(1);
+        this.buffer[this.length++] = value;
+    }
+
+    private void append(byte[] values) {
+        ensureCapacity(values.length);
+        System.arraycopy(values, 0, this.buffer, this.length, values.length);
+        this.length += values.length;
+    }
+
+    /**
+     * Grows the buffer, if needed, so that the given number of bytes can be appended.
+     */
+    private void ensureCapacity(int extra) {
+        if (this.length + extra > this.buffer.length) {
+            byte[] grown = new byte[Math.max(this.buffer.length * 2, this.length + extra)];
+            System.arraycopy(this.buffer, 0, grown, 0, this.length);
+            this.buffer = grown;
+        }
+    }
+
+    /**
+     * Writes the frame to the output in a single call.
+     */
+    private void flush(PrintStream out) {
+        out.write(this.buffer, 0, this.length);
+        out.flush();
+    }
+
+    private static int clip(int first, int size) {
+        return Math.max(0, Math.min(first, size));
+    }
+
+    private static int clipLength(int first, int length, int size) {
+        return Math.max(0, Math.min(length, size - clip(first, size)));
+    }
+}
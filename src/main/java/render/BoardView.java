@@ -0,0 +1,14 @@
+package render;
+
+/**
+ * Read-only view of the glyph shown for each cell of a board, as consumed by {@link BoardRenderer}.
+ */
+@FunctionalInterface
+public interface BoardView {
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The single ASCII character displayed for the cell.
+     */
+    char glyphAt(int row, int col);
+}
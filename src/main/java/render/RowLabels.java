@@ -0,0 +1,65 @@
+package render;
+
+/**
+ * Converts between row indices and the alphabetical row labels shown on the board.<br><br>
+ *
+ * Rows are labelled like spreadsheet columns: A to Z, then AA to AZ, BA to BZ, ..., ZZ, then AAA, and so on.<br>
+ */
+public final class RowLabels {
+    private RowLabels() {
+    }
+
+    /**
+     * @param row The row index, starting from 0.
+     * @return The label of the row, e.g. "A" for row 0, "Z" for row 25 and "AA" for row 26.
+     */
+    public static String label(int row) {
+        char[] letters = new char[length(row)];
+        int remaining = row;
+        for (int i = letters.length - 1; i >= 0; i--) {
+            letters[i] = (char) ('A' + remaining % 26);
+            remaining = remaining / 26 - 1;
+        }
+        return new String(letters);
+    }
+
+    /**
+     * @param row The row index, starting from 0.
+     * @return The number of letters in the label of the row.
+     */
+    public static int length(int row) {
+        int length = 1;
+        long firstOfNextLength = 26; // Index of the first row whose label has one more letter
+        long rowsOfLength = 26;
+        while (row >= firstOfNextLength) {
+            rowsOfLength *= 26;
+            firstOfNextLength += rowsOfLength;
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Parses a row label.
+     *
+     * @param label The label, made only of upper case letters.
+     * @return The row index of the label, or -1 if it is not a valid label.
+     */
+    public static int parse(CharSequence label) {
+        if (label.length() == 0) {
+            return -1;
+        }
+        long row = -1;
+        for (int i = 0; i < label.length(); i++) {
+            char letter = label.charAt(i);
+            if (letter < 'A' || letter > 'Z') {
+                return -1;
+            }
+            row = (row + 1) * 26 + (letter - 'A');
+            if (row > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return (int) row;
+    }
+}
@@ -0,0 +1,288 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import game.GameState;
+import game.MoveResults;
+import services.RandomMinePlacer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts many concurrent Minesweeper games over HTTP, handling every request on its own virtual thread.<br><br>
+ *
+ * The server answers in JSON, except for the board which is sent as text in the format shown to the player:<br>
+ * - {@code POST /games?size=16&mines=40[&seed=1]} creates a game and returns its id.<br>
+ * - {@code POST /games/{id}/uncover?row=0&col=0} plays a move and returns its outcome and the cells it uncovered.<br>
+ * - {@code GET /games/{id}/delta?since=n} returns the cells uncovered since the n-th uncovered cell, and the position to
+ *   ask from next time.<br>
+ * - {@code GET /games/{id}/board} returns the board.<br>
+ * - {@code GET /games/{id}} returns the status of the game, and {@code DELETE /games/{id}} ends the session.<br><br>
+ *
+ * Errors are reported with status 400 for invalid parameters, 404 for unknown or evicted games, 405 for unsupported
+ * methods, 409 for a move on a game which is already won or lost, 503 when the memory budget of the session store is exhausted and 500 for any other failure. Their messages
+ * are escaped, so the body is valid JSON whatever the request path holds.<br>
+ */
+public final class GameServer implements Closeable {
+    private static final int MAX_SIZE = 1000; // Largest grid a client may create
+
+    private final HttpServer server;
+    private final SessionStore store;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor(); // Runs each request on its own virtual thread
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-evictor");
+        thread.setDaemon(true);
+        return thread;
+    }); // Periodically evicts idle sessions
+
+    /**
+     * Creates a server, which does not accept requests until it is started.
+     *
+     * @param address The address to listen on; port 0 picks a free port.
+     * @param store The store holding the sessions.
+     * @param evictionPeriodMillis How often idle sessions are evicted, in milliseconds.
+     * @throws IOException If the server cannot listen on the address.
+     */
+    public GameServer(InetSocketAddress address, SessionStore store, long evictionPeriodMillis) throws IOException {
+        this.store = store;
+        this.server = HttpServer.create(address, 1024);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/games", this::handle);
+        this.evictor.scheduleAtFixedRate(store::evictIdle, evictionPeriodMillis, evictionPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * @return The port the server listens on.
+     */
+    public int port() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests and stops the server's threads.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.evictor.shutdownNow();
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Routes a request to its operation, turning failures into error responses.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().substring(1).split("/");
+            String method = exchange.getRequestMethod();
+            Map<String, String> query = parseQuery(exchange.getRequestURI());
+            if (path.length == 1 && method.equals("POST")) {
+                createGame(exchange, query);
+                return;
+            }
+            if (path.length < 2 || path.length > 3) {
+                send(exchange, 404, "{\"error\":\"Not found.\"}");
+                return;
+            }
+            if (path.length == 2 && method.equals("DELETE")) {
+                send(exchange, this.store.remove(path[1]) ? 200 : 404, "{\"deleted\":" + quote(path[1]) + "}");
+                return;
+            }
+
+            Session session = this.store.get(path[1]);
+            if (session == null) {
+                sendError(exchange, 404, "No game " + path[1] + ".");
+                return;
+            }
+            String operation = path.length == 2 ? "status" : path[2];
+            String expectedMethod = operation.equals("uncover") ? "POST" : "GET";
+            if (!method.equals(expectedMethod)) {
+                send(exchange, 405, "{\"error\":\"Use " + expectedMethod + ".\"}");
+                return;
+            }
+
+            session.lock().lock();
+            try {
+                switch (operation) {
+                    case "status":
+                        send(exchange, 200, status(session));
+                        break;
+                    case "uncover":
+                        if (session.game().getState() != GameState.ONGOING) {
+                            send(exchange, 409, "{\"error\":\"Game is over.\",\"state\":\"" + session.game().getState() + "\"}");
+                        } else {
+                            send(exchange, 200, uncover(session, intParameter(query, "row"), intParameter(query, "col")));
+                        }
+                        break;
+                    case "delta":
+                        send(exchange, 200, delta(session, intParameter(query, "since")));
+                        break;
+                    case "board":
+                        ByteArrayOutputStream board = new ByteArrayOutputStream();
+                        session.game().displayBoard(new PrintStream(board, false, StandardCharsets.US_ASCII));
+                        sendBytes(exchange, 200, "text/plain; charset=us-ascii", board.toByteArray());
+                        break;
+                    default:
+                        sendError(exchange, 404, "Unknown operation " + operation + ".");
+                }
+            } finally {
+                session.lock().unlock();
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (SessionStore.BudgetExhaustedException e) {
+            sendError(exchange, 503, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "Internal error.");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void createGame(HttpExchange exchange, Map<String, String> query) throws IOException {
+        int size = intParameter(query, "size");
+        int mines = intParameter(query, "mines");
+        if (size < 1 || size > MAX_SIZE || mines < 0 || mines > size * size) {
+            throw new IllegalArgumentException("A game must be between 1x1 and " + MAX_SIZE + "x" + MAX_SIZE + " with at most one mine per cell.");
+        }
+        RandomMinePlacer minePlacer = query.containsKey("seed") ? new RandomMinePlacer(longParameter(query, "seed")) : new RandomMinePlacer();
+        minePlacer.setMetricsListener(this.store.metricsListener());
+        Session session = this.store.create(minePlacer, size, mines);
+        send(exchange, 201, "{\"id\":\"" + session.id() + "\",\"size\":" + size + ",\"mines\":" + mines + "}");
+    }
+
+    private static String status(Session session) {
+        return "{\"id\":\"" + session.id() + "\",\"size\":" + session.game().getSize() + ",\"mines\":" + session.mineCount()
+            + ",\"state\":\"" + session.game().getState() + "\",\"moves\":" + session.moves()
+            + ",\"revealed\":" + session.game().getRevealedCount() + ",\"hiddenSafe\":" + session.game().getHiddenSafeCount() + "}";
+    }
+
+    private static String uncover(Session session, int row, int col) {
+        int first = session.revealedCount();
+        MoveResults results = session.uncover(row, col);
+        StringBuilder json = new StringBuilder("{\"outcome\":\"").append(MoveResults.name(results.outcome(0)))
+            .append("\",\"state\":\"").append(session.game().getState()).append("\",");
+        appendCells(json, session, first);
+        return json.append('}').toString();
+    }
+
+    private static String delta(Session session, int since) {
+        if (since < 0 || since > session.revealedCount()) {
+            throw new IllegalArgumentException("since must be between 0 and " + session.revealedCount() + ".");
+        }
+        StringBuilder json = new StringBuilder("{\"state\":\"").append(session.game().getState()).append("\",");
+        appendCells(json, session, since);
+        return json.append('}').toString();
+    }
+
+    /**
+     * Appends the cells uncovered from a position of the session's history, as [row, col, adjacent mines] triples,
+     * followed by the position to ask from next time.
+     */
+    private static void appendCells(StringBuilder json, Session session, int first) {
+        json.append("\"cells\":[");
+        int end = session.revealedCount();
+        for (int i = first; i < end; i++) {
+            if (i > first) json.append(',');
+            json.append('[').append(session.revealedRow(i)).append(',').append(session.revealedCol(i))
+                .append(',').append(session.revealedAdjacentMines(i)).append(']');
+        }
+        json.append("],\"next\":").append(end);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "{\"error\":" + quote(String.valueOf(message)) + "}");
+    }
+
+    /**
+     * @return The text as a JSON string literal, with quotes, backslashes and control characters escaped.
+     */
+    private static String quote(String text) {
+        StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        sendBytes(exchange, status, "application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void sendBytes(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Parses a query string of the form "name=value&amp;name=value".
+     */
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                query.put(pair.substring(0, equals), pair.substring(equals + 1));
+            }
+        }
+        return query;
+    }
+
+    private static int intParameter(Map<String, String> query, String name) {
+        try {
+            return Integer.parseInt(parameter(query, name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a number.");
+        }
+    }
+
+    private static long longParameter(Map<String, String> query, String name) {
+        try {
+            return Long.parseLong(parameter(query, name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a number.");
+        }
+    }
+
+    private static String parameter(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter " + name + ".");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,133 @@
+package server;
+
+import game.Minesweeper;
+import game.MoveResults;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A game hosted by the server, with the history of uncovered cells its clients read deltas from.<br><br>
+ *
+ * A session is used by one request at a time: requests must hold {@link #lock()} while they read or play the game.
+ * The lock is a {@link ReentrantLock} rather than a monitor, so a virtual thread waiting for it does not pin its carrier thread.
+ */
+public final class Session {
+    private final String id; // Identifier given to the client
+    private final Minesweeper game; // Game being played
+    private final int mineCount; // Number of mines of the game
+    private final long footprintBytes; // Memory reserved for the session in the store
+    private final ReentrantLock lock = new ReentrantLock(); // Serializes the requests on this session
+    private volatile long lastAccess; // Time of the last request, from the store's clock
+    private long moves; // Number of moves played
+    private int[] revealed = new int[48]; // Uncovered cells in order, as (row, col, adjacent mines) triples
+    private int revealedLength; // Number of ints used in revealed
+
+    Session(String id, Minesweeper game, int mineCount, long footprintBytes, long now) {
+        this.id = id;
+        this.game = game;
+        this.mineCount = mineCount;
+        this.footprintBytes = footprintBytes;
+        this.lastAccess = now;
+    }
+
+    /**
+     * @return The lock to hold while using the session.
+     */
+    public ReentrantLock lock() {
+        return this.lock;
+    }
+
+    /**
+     * @return The identifier of the session.
+     */
+    public String id() {
+        return this.id;
+    }
+
+    /**
+     * @return The game of the session.
+     */
+    public Minesweeper game() {
+        return this.game;
+    }
+
+    /**
+     * @return The number of mines of the game.
+     */
+    public int mineCount() {
+        return this.mineCount;
+    }
+
+    /**
+     * @return The number of moves played in the session.
+     */
+    public long moves() {
+        return this.moves;
+    }
+
+    /**
+     * @return The number of cells uncovered so far, which is also the position of the next delta.
+     */
+    public int revealedCount() {
+        return this.revealedLength / 3;
+    }
+
+    /**
+     * Uncovers a cell, recording the cells it uncovered. Nothing is applied once the game is won or lost.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The outcome of the move and the cells it uncovered, or no move at all if the game was over.
+     */
+    public MoveResults uncover(int row, int col) {
+        MoveResults results = this.game.uncoverCellsUntilOver(new int[] {row}, new int[] {col}, 1);
+        this.moves += results.moveCount();
+        int count = results.revealedCount();
+        if (this.revealedLength + count * 3 > this.revealed.length) {
+            this.revealed = Arrays.copyOf(this.revealed, Math.max(this.revealed.length * 2, this.revealedLength + count * 3));
+        }
+        for (int i = 0; i < count; i++) {
+            this.revealed[this.revealedLength++] = results.revealedRow(i);
+            this.revealed[this.revealedLength++] = results.revealedCol(i);
+            this.revealed[this.revealedLength++] = results.adjacentMines(i);
+        }
+        return results;
+    }
+
+    /**
+     * @param index The position of an uncovered cell in the history, below {@link #revealedCount()}.
+     * @return The row index of the cell.
+     */
+    public int revealedRow(int index) {
+        return this.revealed[index * 3];
+    }
+
+    /**
+     * @param index The position of an uncovered cell in the history, below {@link #revealedCount()}.
+     * @return The column index of the cell.
+     */
+    public int revealedCol(int index) {
+        return this.revealed[index * 3 + 1];
+    }
+
+    /**
+     * @param index The position of an uncovered cell in the history, below {@link #revealedCount()}.
+     * @return The number of mines adjacent to the cell.
+     */
+    public int revealedAdjacentMines(int index) {
+        return this.revealed[index * 3 + 2];
+    }
+
+    long footprintBytes() {
+        return this.footprintBytes;
+    }
+
+    long lastAccess() {
+        return this.lastAccess;
+    }
+
+    void touch(long now) {
+        this.lastAccess = now;
+    }
+}
@@ -0,0 +1,174 @@
+package server;
+
+import game.Minesweeper;
+import metrics.MetricsListener;
+import services.MinePlacer;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds the sessions of a server in a concurrent map, bounding both how long they may stay idle and how much memory they use.<br><br>
+ *
+ * - Every session reserves an estimate of its memory when it is created: its board and the largest possible history of
+ *   uncovered cells. A game is refused once the reservations would exceed the budget, rather than evicting active games.<br>
+ * - Sessions which have not been used for longer than the idle timeout are removed by {@link #evictIdle()}, which the
+ *   server calls periodically, releasing their reservation.<br><br>
+ *
+ * Lookups and creations never lock the whole store, so requests on different sessions proceed in parallel.
+ */
+public final class SessionStore {
+    private static final long SESSION_OVERHEAD_BYTES = 1024; // Estimated size of a session's objects besides its arrays
+    private static final long BYTES_PER_CELL = 1 + 3 * Integer.BYTES; // Packed board byte plus a history triple per cell
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final long maxIdleNanos; // Idle time after which a session is evicted
+    private final long maxBytes; // Memory budget of all sessions together
+    private final LongSupplier clock; // Source of the current time, in nanoseconds
+    private final AtomicLong usedBytes = new AtomicLong(); // Memory reserved by the current sessions
+    private volatile MetricsListener metrics; // Instruments every new game, or null if games are not instrumented
+
+    /**
+     * Creates a store using the system clock.
+     *
+     * @param maxIdleNanos The idle time after which a session is evicted, in nanoseconds.
+     * @param maxBytes The memory budget of all sessions together, in bytes.
+     */
+    public SessionStore(long maxIdleNanos, long maxBytes) {
+        this(maxIdleNanos, maxBytes, System::nanoTime);
+    }
+
+    /**
+     * @param maxIdleNanos The idle time after which a session is evicted, in nanoseconds.
+     * @param maxBytes The memory budget of all sessions together, in bytes.
+     * @param clock The source of the current time, in nanoseconds.
+     */
+    public SessionStore(long maxIdleNanos, long maxBytes, LongSupplier clock) {
+        this.maxIdleNanos = maxIdleNanos;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a game and the session hosting it.
+     *
+     * @param minePlacer The strategy used to place the mines.
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to place.
+     * @return The new session.
+     * @throws BudgetExhaustedException If the memory budget does not allow another game of that size.
+     */
+    public Session create(MinePlacer minePlacer, int size, int mineCount) {
+        long footprint = SESSION_OVERHEAD_BYTES + (long) size * size * BYTES_PER_CELL;
+        long used;
+        do {
+            used = this.usedBytes.get();
+            if (used + footprint > this.maxBytes) {
+                throw new BudgetExhaustedException("The server has no room for another " + size + "x" + size + " game.");
+            }
+        } while (!this.usedBytes.compareAndSet(used, used + footprint));
+
+        try {
+            Minesweeper game = new Minesweeper(minePlacer, size, mineCount);
+            MetricsListener metrics = this.metrics;
+            if (metrics != null) {
+                game.setMetricsListener(metrics);
+            }
+            Session session = new Session(UUID.randomUUID().toString(), game, mineCount, footprint, this.clock.getAsLong());
+            this.sessions.put(session.id(), session);
+            return session;
+        } catch (RuntimeException | Error e) {
+            this.usedBytes.addAndGet(-footprint);
+            throw e;
+        }
+    }
+
+    /**
+     * Looks up a session, marking it as used.
+     *
+     * @param id The identifier of the session.
+     * @return The session, or null if there is no such session or it has been evicted.
+     */
+    public Session get(String id) {
+        Session session = this.sessions.get(id);
+        if (session != null) {
+            session.touch(this.clock.getAsLong());
+        }
+        return session;
+    }
+
+    /**
+     * Removes a session, releasing its memory.
+     *
+     * @param id The identifier of the session.
+     * @return True if the session existed.
+     */
+    public boolean remove(String id) {
+        Session session = this.sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        this.usedBytes.addAndGet(-session.footprintBytes());
+        return true;
+    }
+
+    /**
+     * Removes every session which has been idle for longer than the idle timeout.
+     *
+     * @return The number of sessions removed.
+     */
+    public int evictIdle() {
+        long now = this.clock.getAsLong();
+        int evicted = 0;
+        for (Session session : this.sessions.values()) {
+            if (now - session.lastAccess() > this.maxIdleNanos && this.sessions.remove(session.id(), session)) {
+                this.usedBytes.addAndGet(-session.footprintBytes());
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Instruments the games created from now on, see {@link Minesweeper#setMetricsListener(MetricsListener)}.
+     *
+     * @param listener The listener receiving the measurements of every new game, or null to stop instrumenting them.
+     */
+    public void setMetricsListener(MetricsListener listener) {
+        this.metrics = listener;
+    }
+
+    /**
+     * @return The listener instrumenting new games, or null if they are not instrumented.
+     */
+    public MetricsListener metricsListener() {
+        return this.metrics;
+    }
+
+    /**
+     * @return The number of sessions in the store.
+     */
+    public int size() {
+        return this.sessions.size();
+    }
+
+    /**
+     * @return The memory reserved by the current sessions, in bytes.
+     */
+    public long usedBytes() {
+        return this.usedBytes.get();
+    }
+
+    /**
+     * Thrown when a game is refused because the memory budget of the store is used up.
+     */
+    public static final class BudgetExhaustedException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        BudgetExhaustedException(String message) {
+            super(message);
+        }
+    }
+}
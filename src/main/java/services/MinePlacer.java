@@ -1,5 +1,42 @@
 package services;
 
+import board.BoardStorage;
+
 public interface MinePlacer {
     boolean[][] placeMines(int size, int mineCount);
+
+    /**
+     * Streams the cells of a new layout into a sink, one mine at a time.<br><br>
+     *
+     * By default, the layout produced by {@link #placeMines(int, int)} is scanned for mines.
+     * Implementations which can choose mine positions without building a {@code boolean[][]} should override this,
+     * so that boards larger than the heap, or sparse representations, can be populated.
+     *
+     * @param size The size of the board (size x size).
+     * @param mineCount The number of mines to place on the board.
+     * @param sink Receives each mine, packed as {@code ((long) row << 32) | col}.
+     */
+    default void placeMines(int size, int mineCount, MineSink sink) {
+        boolean[][] mines = placeMines(size, mineCount);
+        for (int row = 0; row < mines.length; row++) {
+            for (int col = 0; col < mines[row].length; col++) {
+                if (mines[row][col]) {
+                    sink.accept(((long) row << 32) | col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Places mines directly into a board's storage.<br><br>
+     *
+     * By default, the cells streamed by {@link #placeMines(int, int, MineSink)} are placed on the board one by one.
+     *
+     * @param size The size of the board (size x size).
+     * @param mineCount The number of mines to place on the board.
+     * @param board The empty board to place the mines on.
+     */
+    default void placeMines(int size, int mineCount, BoardStorage board) {
+        placeMines(size, mineCount, cell -> board.placeMine((int) (cell >>> 32), (int) cell));
+    }
 }
@@ -0,0 +1,15 @@
+package services;
+
+/**
+ * Receives the cells chosen for mines as they are placed, so that a layout can be streamed into any representation
+ * without first building a {@code boolean[][]} or a dense board.
+ */
+@FunctionalInterface
+public interface MineSink {
+    /**
+     * Receives one mine. Each cell is passed at most once per placement.
+     *
+     * @param cell The cell of the mine, packed as {@code ((long) row << 32) | col}.
+     */
+    void accept(long cell);
+}
@@ -0,0 +1,322 @@
+package services;
+
+import board.BoardStorage;
+import board.SparseBoard;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A mine placer which hands out boards generated ahead of time by background workers, so a game starts without
+ * waiting for its mines to be placed.<br><br>
+ *
+ * - Boards are pooled per board size and mine count, up to a fixed number per key. The first request for a key is
+ *   served synchronously and starts filling that key's pool; every board taken from a pool is replaced in the background.<br>
+ * - Pooled boards are complete {@link BoardStorage} instances, so {@link #takeBoard(int, int)} costs the same whatever
+ *   the size of the board. The {@link MinePlacer} methods copy a pooled layout into the caller's board or array instead.<br>
+ * - Every pooled board, and every board being generated, reserves its footprint against a memory budget. Workers wait
+ *   while the budget is used up and resume as boards are taken, so the pool never holds more than the budget.
+ *   Keys whose boards alone exceed the budget are never pooled.<br>
+ * - If a pool is empty when a board is requested, the board is generated synchronously rather than waiting.<br><br>
+ *
+ * Layouts are generated by the wrapped placer, which must allow concurrent calls, as {@link RandomMinePlacer} does.
+ * Workers are daemon threads stopped by {@link #close()}.
+ */
+public final class PooledMinePlacer implements MinePlacer, AutoCloseable {
+    private final MinePlacer source; // Places the mines of every generated board
+    private final int boardsPerKey; // Number of boards kept ready per size and mine count
+    private final long maxBytes; // Memory budget of the pooled boards and the boards being generated
+    private final ConcurrentHashMap<Long, Pool> pools = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Pool> refills = new LinkedBlockingQueue<>(); // One entry per board to generate
+    private final Thread[] workers; // Threads generating the boards queued in refills
+    private final ReentrantLock budgetLock = new ReentrantLock();
+    private final Condition budgetFreed = this.budgetLock.newCondition(); // Signalled whenever reserved bytes are released
+    private long reservedBytes; // Bytes of pooled boards and boards being generated, guarded by budgetLock
+    private final LongAdder hits = new LongAdder(); // Boards served from a pool
+    private final LongAdder misses = new LongAdder(); // Boards generated synchronously
+
+    /**
+     * Creates a pool and starts its workers.
+     *
+     * @param source The placer generating the mines of every board.
+     * @param boardsPerKey The number of boards kept ready per size and mine count.
+     * @param maxBytes The memory budget of all pooled boards together, in bytes.
+     * @param workerCount The number of background threads generating boards.
+     * @throws IllegalArgumentException If a count is not positive, or the budget is negative.
+     */
+    public PooledMinePlacer(MinePlacer source, int boardsPerKey, long maxBytes, int workerCount) {
+        if (boardsPerKey < 1 || workerCount < 1 || maxBytes < 0) {
+            throw new IllegalArgumentException("Invalid pool: " + boardsPerKey + " boards per key, " + maxBytes
+                + " bytes, " + workerCount + " workers.");
+        }
+        this.source = source;
+        this.boardsPerKey = boardsPerKey;
+        this.maxBytes = maxBytes;
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            this.workers[i] = new Thread(this::refillLoop, "mine-pool-" + i);
+            this.workers[i].setDaemon(true);
+            this.workers[i].start();
+        }
+    }
+
+    /**
+     * Returns a board with its mines placed and every cell hidden, ready for a new {@code Minesweeper}.<br>
+     * The board comes from the pool if one is ready, otherwise it is generated on the calling thread.
+     *
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to place.
+     * @return A board which belongs to the caller.
+     */
+    public BoardStorage takeBoard(int size, int mineCount) {
+        boolean[] created = new boolean[1];
+        Pool pool = this.pools.computeIfAbsent(key(size, mineCount), key -> {
+            created[0] = true;
+            return newPool(size, mineCount);
+        });
+        if (created[0]) {
+            this.misses.increment();
+            try {
+                return generate(size, mineCount);
+            } finally {
+                queueRefills(pool); // Only once the first board is generated, so it never races the workers
+            }
+        }
+        BoardStorage board = pool.poll();
+        if (board == null) {
+            this.misses.increment();
+            return generate(size, mineCount);
+        }
+        this.hits.increment();
+        release(pool.boardBytes);
+        this.refills.add(pool);
+        return board;
+    }
+
+    /**
+     * Starts filling the pool of a key before its first request, so that even the first board is served from the pool.
+     *
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines to place.
+     */
+    public void warmUp(int size, int mineCount) {
+        boolean[] created = new boolean[1];
+        Pool pool = this.pools.computeIfAbsent(key(size, mineCount), key -> {
+            created[0] = true;
+            return newPool(size, mineCount);
+        });
+        if (created[0]) {
+            queueRefills(pool);
+        }
+    }
+
+    @Override
+    public boolean[][] placeMines(int size, int mineCount) {
+        BoardStorage layout = takeBoard(size, mineCount);
+        boolean[][] mines = new boolean[size][size];
+        for (long word = 0; word < layout.wordCount(); word++) {
+            for (long bits = layout.mineWord(word); bits != 0; bits &= bits - 1) {
+                long index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                mines[(int) (index / size)][(int) (index % size)] = true;
+            }
+        }
+        return mines;
+    }
+
+    /**
+     * Streams the mines of a pooled board into a sink, straight from its mine set if the board is sparse.
+     *
+     * @param size The size of the board (size x size).
+     * @param mineCount The number of mines to place on the board.
+     * @param sink Receives each mine, packed as {@code ((long) row << 32) | col}.
+     */
+    @Override
+    public void placeMines(int size, int mineCount, MineSink sink) {
+        BoardStorage layout = takeBoard(size, mineCount);
+        if (layout instanceof SparseBoard) {
+            ((SparseBoard) layout).forEachMine(index -> sink.accept(((index / size) << 32) | (index % size)));
+            return;
+        }
+        for (long word = 0; word < layout.wordCount(); word++) {
+            for (long bits = layout.mineWord(word); bits != 0; bits &= bits - 1) {
+                long index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                sink.accept(((index / size) << 32) | (index % size));
+            }
+        }
+    }
+
+    /**
+     * Copies the mines of a pooled board into the given board, 64 cells at a time, or mine by mine if the pooled board is sparse.
+     *
+     * @param size The size of the board (size x size).
+     * @param mineCount The number of mines to place on the board.
+     * @param board The empty board to place the mines on.
+     */
+    @Override
+    public void placeMines(int size, int mineCount, BoardStorage board) {
+        BoardStorage layout = takeBoard(size, mineCount);
+        if (layout instanceof SparseBoard) {
+            ((SparseBoard) layout).forEachMine(index -> board.placeMine((int) (index / size), (int) (index % size)));
+            return;
+        }
+        for (long word = 0; word < layout.wordCount(); word++) {
+            long bits = layout.mineWord(word);
+            if (bits != 0) {
+                board.placeMineWord(word, bits);
+            }
+        }
+    }
+
+    /**
+     * @param size The size of the grid (size x size).
+     * @param mineCount The number of mines.
+     * @return The number of boards of that key ready to be taken.
+     */
+    public int pooledBoards(int size, int mineCount) {
+        Pool pool = this.pools.get(key(size, mineCount));
+        return pool == null ? 0 : pool.size();
+    }
+
+    /**
+     * @return The bytes reserved by pooled boards and boards being generated, never above the budget.
+     */
+    public long reservedBytes() {
+        this.budgetLock.lock();
+        try {
+            return this.reservedBytes;
+        } finally {
+            this.budgetLock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of boards served from a pool.
+     */
+    public long hitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return The number of boards generated on the calling thread because no pooled board was ready.
+     */
+    public long missCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Stops the workers. Boards are still served afterwards, but always generated synchronously once the pools run out.
+     */
+    @Override
+    public void close() {
+        for (Thread worker : this.workers) {
+            worker.interrupt();
+        }
+    }
+
+    private static long key(int size, int mineCount) {
+        return ((long) size << 32) | mineCount;
+    }
+
+    private static Pool newPool(int size, int mineCount) {
+        return new Pool(size, mineCount, BoardStorage.footprintForBoard(size, mineCount));
+    }
+
+    /**
+     * Queues the generation of the boards of a new pool, unless a single board exceeds the budget.
+     */
+    private void queueRefills(Pool pool) {
+        if (pool.boardBytes <= this.maxBytes) {
+            for (int i = 0; i < this.boardsPerKey; i++) {
+                this.refills.add(pool);
+            }
+        }
+    }
+
+    private BoardStorage generate(int size, int mineCount) {
+        BoardStorage board = BoardStorage.forBoard(size, mineCount);
+        this.source.placeMines(size, mineCount, board);
+        return board;
+    }
+
+    /**
+     * Generates the boards queued in refills, one at a time, waiting for room in the budget before each.
+     */
+    private void refillLoop() {
+        try {
+            while (true) {
+                Pool pool = this.refills.take();
+                reserve(pool.boardBytes);
+                BoardStorage board;
+                try {
+                    board = generate(pool.size, pool.mineCount);
+                } catch (RuntimeException e) {
+                    release(pool.boardBytes);
+                    continue;
+                }
+                pool.add(board);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reserves room for a board, waiting while the budget is used up.
+     *
+     * @param bytes The footprint of the board.
+     * @throws InterruptedException If the worker is stopped while waiting.
+     */
+    private void reserve(long bytes) throws InterruptedException {
+        this.budgetLock.lock();
+        try {
+            while (this.reservedBytes + bytes > this.maxBytes) {
+                this.budgetFreed.await();
+            }
+            this.reservedBytes += bytes;
+        } finally {
+            this.budgetLock.unlock();
+        }
+    }
+
+    private void release(long bytes) {
+        this.budgetLock.lock();
+        try {
+            this.reservedBytes -= bytes;
+            this.budgetFreed.signalAll();
+        } finally {
+            this.budgetLock.unlock();
+        }
+    }
+
+    /**
+     * The boards ready for one size and mine count.
+     */
+    private static final class Pool {
+        private final int size; // Size of the grid of every board
+        private final int mineCount; // Number of mines of every board
+        private final long boardBytes; // Footprint reserved by each board
+        private final ConcurrentLinkedQueue<BoardStorage> boards = new ConcurrentLinkedQueue<>(); // Boards ready to be taken
+
+        private Pool(int size, int mineCount, long boardBytes) {
+            this.size = size;
+            this.mineCount = mineCount;
+            this.boardBytes = boardBytes;
+        }
+
+        private void add(BoardStorage board) {
+            this.boards.add(board);
+        }
+
+        private BoardStorage poll() {
+            return this.boards.poll();
+        }
+
+        private int size() {
+            return this.boards.size();
+        }
+    }
+}
@@ -1,14 +1,72 @@
 package services;
 
-import java.util.Random;
+import board.BoardStorage;
+import board.CellIndexSet;
+import metrics.MetricsListener;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
 
 public class RandomMinePlacer implements MinePlacer {
+    private static final int STRIPES_PER_THREAD = 4; // Stripes created per available thread in parallel mode
+    private static final int SPARSE_SET_BITS = 256; // Bitset cells above which a hash set per mine is smaller, see sampleCells
+    private static final double NEGLIGIBLE_WEIGHT = 1e-20; // Probability relative to the mode below which a mine count is never drawn
+
+    private final SplittableRandom random; // Source of the seed of every placement
+    private final boolean parallel; // True if large boards are split into stripes placed concurrently
+    private volatile MetricsListener metrics; // Receives the cost of every placement, or null if the placer is not instrumented
+
+    /**
+     * Creates a mine placer with an unpredictable seed, placing mines sequentially.
+     */
+    public RandomMinePlacer() {
+        this(new SplittableRandom(), false);
+    }
+
+    /**
+     * Creates a mine placer whose layouts are fully determined by the seed.<br>
+     * Two placers created with the same seed produce the same sequence of layouts.
+     *
+     * @param seed The seed of the random number generator.
+     */
+    public RandomMinePlacer(long seed) {
+        this(new SplittableRandom(seed), false);
+    }
+
+    /**
+     * Creates a mine placer whose layouts are fully determined by the seed, optionally placing mines in parallel.
+     *
+     * @param seed The seed of the random number generator.
+     * @param parallel True to split the board into horizontal stripes whose mines are placed concurrently.
+     */
+    public RandomMinePlacer(long seed, boolean parallel) {
+        this(new SplittableRandom(seed), parallel);
+    }
+
+    private RandomMinePlacer(SplittableRandom random, boolean parallel) {
+        this.random = random;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Instruments the placer: from now on every placement is timed and reported to the listener, with the number of
+     * random draws which hit a cell already holding a mine. Uninstrumented placements only pay for a null check.
+     *
+     * @param listener The listener receiving the measurements, or null to stop measuring.
+     */
+    public void setMetricsListener(MetricsListener listener) {
+        this.metrics = listener;
+    }
+
     /**
      * Randomly places a specified number of mines on the board.<br><br>
      *
      * The method ensures that each mine is placed in a unique location, avoiding any duplicates.<br>
-     * It uses a random number generator to determine the row and column for each mine placement.<br>
-     * The process continues until the specified number of mines have been placed on the grid.<br><br>
+     * Cells are chosen with Floyd's sampling algorithm, which makes exactly one random draw per mine
+     * whatever the density of the board.<br>
+     * In parallel mode, the board is split into horizontal stripes which are filled concurrently, see {@link #placeStripes}.<br><br>
      *
      * @param size The size of the board (size x size).
      * @param mineCount The number of mines to place on the board.
@@ -16,17 +74,267 @@ public class RandomMinePlacer implements MinePlacer {
      */
     @Override
     public boolean[][] placeMines(int size, int mineCount) {
+        MetricsListener metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
         boolean[][] mines = new boolean[size][size];
-        Random random = new Random();
-        int placed = 0;
-        while (placed < mineCount) {
-            int row = random.nextInt(size);
-            int col = random.nextInt(size);
-            if (!mines[row][col]) {
-                mines[row][col] = true;
-                placed++;
-            }
+        long collisions;
+        if (this.parallel) {
+            collisions = placeStripes(size, mineCount, (row, col) -> mines[row][col] = true);
+        } else {
+            collisions = chooseCells((long) size * size, mineCount, nextRandom(), index -> {
+                boolean[] row = mines[(int) (index / size)];
+                int col = (int) (index % size);
+                if (row[col]) {
+                    return false;
+                }
+                row[col] = true;
+                return true;
+            });
+        }
+        if (metrics != null) {
+            metrics.onPlacement(System.nanoTime() - start, mineCount, collisions);
         }
         return mines;
     }
+
+    /**
+     * Randomly places a specified number of mines directly on a board, without building an intermediate array.<br><br>
+     *
+     * The same sampling as {@link #placeMines(int, int)} is used, checking the board itself for duplicates, so a seed
+     * gives the same layout as the array variant without allocating anything proportional to the board.
+     *
+     * @param size The size of the board (size x size).
+     * @param mineCount The number of mines to place on the board.
+     * @param board The empty board to place the mines on.
+     */
+    @Override
+    public void placeMines(int size, int mineCount, BoardStorage board) {
+        MetricsListener metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+        long collisions;
+        if (this.parallel) {
+            collisions = placeStripes(size, mineCount, board::placeMine);
+        } else {
+            collisions = chooseCells((long) size * size, mineCount, nextRandom(), index -> {
+                int row = (int) (index / size);
+                int col = (int) (index % size);
+                if (board.isMine(row, col)) {
+                    return false;
+                }
+                board.placeMine(row, col);
+                return true;
+            });
+        }
+        if (metrics != null) {
+            metrics.onPlacement(System.nanoTime() - start, mineCount, collisions);
+        }
+    }
+
+    /**
+     * Randomly places a specified number of mines, streaming each chosen cell into a sink as soon as it is drawn.<br><br>
+     *
+     * The same sampling as {@link #placeMines(int, int)} is used, so a seed gives the same layout whichever variant is called.
+     * Duplicates are detected with a structure chosen by density, see {@link #sampleCells}, so sparse layouts on huge grids
+     * never allocate anything proportional to the number of cells.
+     *
+     * @param size The size of the board (size x size).
+     * @param mineCount The number of mines to place on the board.
+     * @param sink Receives each mine, packed as {@code ((long) row << 32) | col}.
+     */
+    @Override
+    public void placeMines(int size, int mineCount, MineSink sink) {
+        MetricsListener metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+        long collisions;
+        if (this.parallel) {
+            collisions = placeStripes(size, mineCount, (row, col) -> sink.accept(((long) row << 32) | col));
+        } else {
+            collisions = sampleCells((long) size * size, mineCount, nextRandom(),
+                index -> sink.accept(((index / size) << 32) | (index % size)));
+        }
+        if (metrics != null) {
+            metrics.onPlacement(System.nanoTime() - start, mineCount, collisions);
+        }
+    }
+
+    /**
+     * Places mines by splitting the board into horizontal stripes of whole rows.<br><br>
+     *
+     * - The number of mines of each stripe is drawn first, sequentially from the placement's generator, from the
+     *   hypergeometric distribution of the mines left among the cells left, see {@link #hypergeometric}. The counts are
+     *   therefore those of a uniform layout of the whole board, and add up to exactly `mineCount`.<br>
+     * - Each stripe is filled with Floyd's sampling by its own generator, split from the placer's generator in stripe order,
+     *   so the layout only depends on the seed and not on how the stripes are scheduled.<br>
+     * - The cells of each stripe are sampled concurrently; the chosen cells are then written to the sink in stripe order.<br><br>
+     *
+     * Uniform counts per stripe and uniform cells within each stripe make the layout uniform across the whole board,
+     * although a seed gives a different layout than in sequential mode.
+     *
+     * @param size The size of the board (size x size).
+     * @param mineCount The number of mines to place on the board.
+     * @param sink Receives the row and column of each mine.
+     * @return The number of random draws which hit a cell already chosen.
+     */
+    private long placeStripes(int size, int mineCount, CellSink sink) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int stripeCount = Math.max(1, Math.min(size, threads * STRIPES_PER_THREAD));
+        long cells = (long) size * size;
+
+        int[] firstRows = new int[stripeCount + 1];
+        int[] quotas = new int[stripeCount];
+        SplittableRandom[] randoms = new SplittableRandom[stripeCount];
+        SplittableRandom random = nextRandom();
+        long cellsLeft = cells;
+        long minesLeft = mineCount;
+        for (int s = 0; s < stripeCount; s++) {
+            firstRows[s + 1] = (int) ((long) size * (s + 1) / stripeCount);
+            long stripeCells = (long) (firstRows[s + 1] - firstRows[s]) * size;
+            quotas[s] = (int) hypergeometric(cellsLeft, minesLeft, stripeCells, random);
+            cellsLeft -= stripeCells;
+            minesLeft -= quotas[s];
+            randoms[s] = random.split();
+        }
+
+        long[][] chosen = new long[stripeCount][];
+        long[] collisions = new long[stripeCount];
+        IntStream.range(0, stripeCount).parallel().forEach(s -> {
+            long[] stripe = new long[quotas[s]];
+            int[] n = new int[1];
+            collisions[s] = sampleCells((long) (firstRows[s + 1] - firstRows[s]) * size, quotas[s], randoms[s], index -> stripe[n[0]++] = index);
+            chosen[s] = stripe;
+        });
+
+        for (int s = 0; s < stripeCount; s++) {
+            long offset = (long) firstRows[s] * size;
+            for (long index : chosen[s]) {
+                long cell = offset + index;
+                sink.accept((int) (cell / size), (int) (cell % size));
+            }
+        }
+        long total = 0;
+        for (long stripeCollisions : collisions) {
+            total += stripeCollisions;
+        }
+        return total;
+    }
+
+    /**
+     * Draws the number of mines falling among some of the cells, when mines are spread uniformly over all of them.<br><br>
+     *
+     * The probabilities of the possible counts are computed relative to the most likely one, with the ratio of successive
+     * terms of the hypergeometric distribution, and the count is found by inversion. Only the counts whose probability is
+     * above {@value #NEGLIGIBLE_WEIGHT} times that of the mode are visited, so a draw costs a few dozen standard deviations
+     * of steps, with no factorials and no loss of precision on huge boards.
+     *
+     * @param cells The number of cells.
+     * @param mines The number of mines spread over the cells.
+     * @param drawn The number of cells whose mines are counted.
+     * @param random The random number generator.
+     * @return The number of mines among the drawn cells.
+     */
+    static long hypergeometric(long cells, long mines, long drawn, SplittableRandom random) {
+        long low = Math.max(0, drawn - (cells - mines));
+        long high = Math.min(drawn, mines);
+        long mode = Math.min(high, Math.max(low, (long) ((drawn + 1.0) * (mines + 1.0) / (cells + 2.0))));
+        double total = 1; // Sum of the weights visited, the mode weighing 1
+        long last = mode;
+        for (double weight = 1; last < high && weight > NEGLIGIBLE_WEIGHT; last++) {
+            weight *= nextRatio(cells, mines, drawn, last);
+            total += weight;
+        }
+        long first = mode;
+        double firstWeight = 1;
+        while (first > low && firstWeight > NEGLIGIBLE_WEIGHT) {
+            firstWeight /= nextRatio(cells, mines, drawn, first - 1);
+            total += firstWeight;
+            first--;
+        }
+        double target = random.nextDouble() * total;
+        long count = first;
+        double weight = firstWeight;
+        for (double sum = weight; sum <= target && count < last; sum += weight) {
+            weight *= nextRatio(cells, mines, drawn, count);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return The probability of count + 1 mines among the drawn cells, divided by that of count mines.
+     */
+    private static double nextRatio(long cells, long mines, long drawn, long count) {
+        return (double) (mines - count) * (drawn - count) / ((count + 1.0) * (cells - mines - drawn + count + 1.0));
+    }
+
+    /**
+     * Chooses distinct cells uniformly at random using Floyd's sampling algorithm.<br><br>
+     *
+     * This is the only sampling loop of the placer: every variant goes through it, and only differs in how the cells
+     * already chosen are remembered, so a seed gives the same layout whichever variant is called.
+     *
+     * @param cells The number of cells to choose from.
+     * @param count The number of cells to choose.
+     * @param random The random number generator.
+     * @param choose Marks a cell, between 0 and cells - 1, as chosen and returns true, or returns false if it was already chosen.
+     * @return The number of random draws which hit a cell already chosen.
+     */
+    private static long chooseCells(long cells, int count, SplittableRandom random, LongPredicate choose) {
+        long hits = 0;
+        for (long j = cells - count; j < cells; j++) {
+            if (!choose.test(random.nextLong(j + 1))) {
+                choose.test(j); // Never drawn before, as earlier draws were all below j
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Chooses distinct cells with {@link #chooseCells}, remembering the cells already chosen in whichever structure is smaller:<br>
+     * - A bitset over all the cells, for dense layouts.<br>
+     * - A {@link CellIndexSet} of the chosen indices, when there are fewer than one mine per {@value #SPARSE_SET_BITS} cells.<br>
+     * Both lead to the same choices, so the layout does not depend on the structure used.
+     *
+     * @param cells The number of cells to choose from.
+     * @param count The number of cells to choose.
+     * @param random The random number generator.
+     * @param sink Receives the index of each chosen cell, between 0 and cells - 1, as soon as it is chosen.
+     * @return The number of random draws which hit a cell already chosen.
+     */
+    private static long sampleCells(long cells, int count, SplittableRandom random, LongConsumer sink) {
+        if ((long) count * SPARSE_SET_BITS < cells) {
+            CellIndexSet chosen = new CellIndexSet(count);
+            return chooseCells(cells, count, random, index -> {
+                if (!chosen.add(index)) {
+                    return false;
+                }
+                sink.accept(index);
+                return true;
+            });
+        }
+        long[] chosen = new long[(int) ((cells + 63) >>> 6)];
+        return chooseCells(cells, count, random, index -> {
+            if ((chosen[(int) (index >>> 6)] & (1L << index)) != 0) {
+                return false;
+            }
+            chosen[(int) (index >>> 6)] |= 1L << index;
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    /**
+     * @return A generator for one placement, split from the placer's generator.
+     */
+    private synchronized SplittableRandom nextRandom() {
+        return this.random.split();
+    }
+
+    /**
+     * Receives the cells chosen for mines.
+     */
+    @FunctionalInterface
+    private interface CellSink {
+        void accept(int row, int col);
+    }
 }
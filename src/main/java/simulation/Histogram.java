@@ -0,0 +1,83 @@
+package simulation;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values with power-of-two buckets, which many threads can record into without locking.<br><br>
+ *
+ * - Bucket 0 counts zeros, and bucket b counts values from 2^(b-1) to 2^b - 1.<br>
+ * - Every bucket, as well as the count and sum, is a {@link LongAdder}, which stripes its updates across cells
+ *   so that concurrent recordings rarely contend.<br>
+ */
+public final class Histogram {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS]; // Number of values recorded in each bucket
+    private final LongAdder count = new LongAdder(); // Number of values recorded
+    private final LongAdder sum = new LongAdder(); // Sum of the values recorded
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0); // Largest value recorded
+
+    public Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value The value, which must not be negative.
+     */
+    public void record(long value) {
+        this.buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment();
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * @return The number of values recorded.
+     */
+    public long count() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return The mean of the values recorded, or 0 if none were recorded.
+     */
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) this.sum.sum() / n;
+    }
+
+    /**
+     * @return The largest value recorded.
+     */
+    public long max() {
+        return this.max.get();
+    }
+
+    /**
+     * Estimates a percentile from the buckets.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The upper bound of the bucket containing the percentile, capped at the largest value recorded.
+     */
+    public long percentile(double percentile) {
+        long target = (long) Math.ceil(count() * percentile / 100);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += this.buckets[b].sum();
+            if (seen >= target && seen > 0) {
+                return b == 0 ? 0 : Math.min(max(), (1L << b) - 1);
+            }
+        }
+        return max();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mean %.2f, p50 <= %d, p99 <= %d, max %d", mean(), percentile(50), percentile(99), max());
+    }
+}
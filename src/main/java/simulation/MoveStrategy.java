@@ -0,0 +1,24 @@
+package simulation;
+
+import game.Minesweeper;
+
+import java.util.SplittableRandom;
+
+/**
+ * Strategy choosing the moves of a simulated player.<br><br>
+ *
+ * A strategy may keep state about the game it is playing, so the simulator creates a new strategy for every game.
+ * It must only choose cells that are still hidden, and must only use the random number generator it is given,
+ * so that a game is reproducible from its seed.<br>
+ */
+@FunctionalInterface
+public interface MoveStrategy {
+    /**
+     * Chooses the next cell to uncover.
+     *
+     * @param game The game being played, which is still ongoing.
+     * @param random The random number generator of the game.
+     * @return The chosen cell, packed as {@code ((long) row << 32) | col}.
+     */
+    long nextMove(Minesweeper game, SplittableRandom random);
+}
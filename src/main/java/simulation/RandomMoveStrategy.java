@@ -0,0 +1,37 @@
+package simulation;
+
+import game.Minesweeper;
+
+import java.util.SplittableRandom;
+
+/**
+ * Uncovers a hidden cell chosen uniformly at random, the baseline that any smarter strategy should beat.
+ */
+public final class RandomMoveStrategy implements MoveStrategy {
+    private static final int MAX_DRAWS = 64; // Random draws before falling back to a scan for a hidden cell
+
+    @Override
+    public long nextMove(Minesweeper game, SplittableRandom random) {
+        int size = game.getSize();
+        for (int i = 0; i < MAX_DRAWS; i++) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            if (!game.isRevealed(row, col)) {
+                return ((long) row << 32) | col;
+            }
+        }
+
+        // Most cells are uncovered: scan for the first hidden cell from a random starting point
+        long cells = (long) size * size;
+        long start = random.nextLong(cells);
+        for (long i = 0; i < cells; i++) {
+            long index = (start + i) % cells;
+            int row = (int) (index / size);
+            int col = (int) (index % size);
+            if (!game.isRevealed(row, col)) {
+                return ((long) row << 32) | col;
+            }
+        }
+        throw new IllegalStateException("Every cell has been uncovered.");
+    }
+}
@@ -0,0 +1,88 @@
+package simulation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics aggregated over the games of a simulation. Every counter can be updated concurrently without locking.
+ */
+public final class SimulationStats {
+    private final LongAdder games = new LongAdder(); // Number of games played
+    private final LongAdder wins = new LongAdder(); // Number of games won
+    private final Histogram movesPerGame = new Histogram(); // Moves played in each game
+    private final Histogram revealedPerMove = new Histogram(); // Cells uncovered by each move
+    private final Histogram nanosPerGame = new Histogram(); // Time taken to set up and play each game
+
+    /**
+     * Records a finished game.
+     *
+     * @param won True if the game was won.
+     * @param moves The number of moves played.
+     * @param nanos The time taken to set up and play the game, in nanoseconds.
+     */
+    void recordGame(boolean won, long moves, long nanos) {
+        this.games.increment();
+        if (won) {
+            this.wins.increment();
+        }
+        this.movesPerGame.record(moves);
+        this.nanosPerGame.record(nanos);
+    }
+
+    /**
+     * Records a move.
+     *
+     * @param revealed The number of cells the move uncovered.
+     */
+    void recordMove(long revealed) {
+        this.revealedPerMove.record(revealed);
+    }
+
+    /**
+     * @return The number of games played.
+     */
+    public long games() {
+        return this.games.sum();
+    }
+
+    /**
+     * @return The number of games won.
+     */
+    public long wins() {
+        return this.wins.sum();
+    }
+
+    /**
+     * @return The fraction of games won, between 0 and 1.
+     */
+    public double winRate() {
+        long played = games();
+        return played == 0 ? 0 : (double) wins() / played;
+    }
+
+    /**
+     * @return The number of moves played in each game.
+     */
+    public Histogram movesPerGame() {
+        return this.movesPerGame;
+    }
+
+    /**
+     * @return The number of cells uncovered by each move.
+     */
+    public Histogram revealedPerMove() {
+        return this.revealedPerMove;
+    }
+
+    /**
+     * @return The time taken to set up and play each game, in nanoseconds.
+     */
+    public Histogram nanosPerGame() {
+        return this.nanosPerGame;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Games played: %d%nWin rate: %.4f%nMoves per game: %s%nCells uncovered per move: %s%nNanoseconds per game: %s%n",
+            games(), winRate(), this.movesPerGame, this.revealedPerMove, this.nanosPerGame);
+    }
+}
@@ -0,0 +1,136 @@
+package simulation;
+
+import game.GameState;
+import game.Minesweeper;
+import game.StartBoardFactory;
+import services.RandomMinePlacer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Plays many headless Minesweeper games across all cores and aggregates statistics about them.<br><br>
+ *
+ * - Games are spread over a work-stealing {@link ForkJoinPool} by recursively splitting the range of game numbers.<br>
+ * - Game n is fully determined by the simulation seed and n: its mines come from a {@link RandomMinePlacer} and its moves
+ *   from a generator, both seeded from them. A simulation is therefore reproducible whatever the number of threads.<br>
+ * - Results are recorded into {@link SimulationStats}, whose counters are updated without locking.<br>
+ */
+public final class Simulator {
+    private static final long GAMES_PER_TASK = 64; // Games below which a range is played by a single task
+
+    private final int size; // Size of the grid of every game
+    private final int mineCount; // Number of mines of every game
+    private final Supplier<MoveStrategy> strategies; // Creates the strategy of each game
+    private final long seed; // Seed of the whole simulation
+    private LongFunction<StartBoardFactory> startBoards; // Creates the start board factory of a game from its seed, or null to place mines before the first move
+
+    /**
+     * @param size The size of the grid of every game.
+     * @param mineCount The number of mines of every game.
+     * @param strategies Creates the strategy playing each game.
+     * @param seed The seed of the simulation.
+     */
+    public Simulator(int size, int mineCount, Supplier<MoveStrategy> strategies, long seed) {
+        this.size = size;
+        this.mineCount = mineCount;
+        this.strategies = strategies;
+        this.seed = seed;
+    }
+
+    /**
+     * Places the mines of every game around its first move, see {@link Minesweeper#withSafeStart}, instead of before it.
+     *
+     * @param startBoards Creates the factory of each game from the game's seed, e.g. {@code seed -> new BoardGenerator(seed, 100, 1000, 1)},
+     *                    or null to place the mines of every game before its first move.
+     */
+    public void setStartBoards(LongFunction<StartBoardFactory> startBoards) {
+        this.startBoards = startBoards;
+    }
+
+    /**
+     * Plays games and waits for all of them to finish.
+     *
+     * @param games The number of games to play.
+     * @param threads The number of threads playing games.
+     * @return The statistics of the games.
+     */
+    public SimulationStats run(long games, int threads) {
+        SimulationStats stats = new SimulationStats();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new PlayRange(0, games, stats));
+        } finally {
+            pool.shutdown();
+        }
+        return stats;
+    }
+
+    /**
+     * Plays a single game until it is won or lost.
+     *
+     * @param game The number of the game, from which its seed is derived.
+     * @param stats The statistics to record the game into.
+     */
+    void play(long game, SimulationStats stats) {
+        long start = System.nanoTime();
+        long gameSeed = mix(this.seed + game * 0x9E3779B97F4A7C15L);
+        Minesweeper minesweeper = this.startBoards == null
+            ? new Minesweeper(new RandomMinePlacer(gameSeed), this.size, this.mineCount)
+            : Minesweeper.withSafeStart(this.startBoards.apply(gameSeed), this.size, this.mineCount);
+        SplittableRandom random = new SplittableRandom(~gameSeed);
+        MoveStrategy strategy = this.strategies.get();
+
+        long maxMoves = (long) this.size * this.size; // A strategy choosing uncovered cells cannot loop forever
+        long moves = 0;
+        while (minesweeper.getState() == GameState.ONGOING && moves < maxMoves) {
+            long move = strategy.nextMove(minesweeper, random);
+            long revealedBefore = minesweeper.getRevealedCount();
+            minesweeper.applyMove((int) (move >>> 32), (int) move);
+            moves++;
+            stats.recordMove(minesweeper.getRevealedCount() - revealedBefore);
+        }
+        stats.recordGame(minesweeper.isGameWon(), moves, System.nanoTime() - start);
+    }
+
+    /**
+     * Scrambles the bits of a value, so that consecutive games get unrelated seeds.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays a range of games, splitting it in halves until it is small enough.
+     */
+    private final class PlayRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L; // Tasks are never serialized, declared for RecursiveAction
+
+        private final long first; // Number of the first game of the range
+        private final long end; // Number after the last game of the range
+        private final transient SimulationStats stats; // Statistics receiving the result of every game
+
+        PlayRange(long first, long end, SimulationStats stats) {
+            this.first = first;
+            this.end = end;
+            this.stats = stats;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.first <= GAMES_PER_TASK) {
+                for (long game = this.first; game < this.end; game++) {
+                    play(game, this.stats);
+                }
+                return;
+            }
+            long middle = (this.first + this.end) >>> 1;
+            invokeAll(new PlayRange(this.first, middle, this.stats), new PlayRange(middle, this.end, this.stats));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package simulation;
+
+import game.Minesweeper;
+import solver.MineProbabilities;
+import solver.ProbabilityEngine;
+import solver.Solver;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays every move the {@link Solver} can prove safe, and only guesses when stuck.<br>
+ * Without a probability engine, the guess is a random cell not known to hold a mine. With one, it is the cell least
+ * likely to hold a mine: the safest frontier cell, or a random unconstrained cell if those are safer.
+ */
+public final class SolverMoveStrategy implements MoveStrategy {
+    private static final int MAX_DRAWS = 64; // Random draws for a guess before falling back to the random strategy
+
+    private final RandomMoveStrategy fallback = new RandomMoveStrategy(); // Guesses once almost every cell is uncovered
+    private final ProbabilityEngine engine; // Computes mine probabilities for guesses, or null to guess at random
+    private Solver solver; // Solver of the game being played, created on the first move
+    private long[] safeCells = new long[0]; // Safe cells deduced by the last solver step
+    private int nextSafeCell; // Index of the next safe cell to play
+
+    /**
+     * Creates a strategy guessing at random when the solver is stuck.
+     */
+    public SolverMoveStrategy() {
+        this(null);
+    }
+
+    /**
+     * Creates a strategy guessing the cell least likely to hold a mine when the solver is stuck.
+     *
+     * @param engine The probability engine, which may be shared by the strategies of concurrent games to share its cache.
+     */
+    public SolverMoveStrategy(ProbabilityEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public long nextMove(Minesweeper game, SplittableRandom random) {
+        if (this.solver == null) {
+            this.solver = new Solver(game);
+        }
+        for (int attempt = 0; attempt < 2; attempt++) {
+            while (this.nextSafeCell < this.safeCells.length) {
+                long cell = this.safeCells[this.nextSafeCell++];
+                if (!game.isRevealed((int) (cell >>> 32), (int) cell)) {
+                    return cell;
+                }
+            }
+            this.safeCells = this.solver.findSafeCells();
+            this.nextSafeCell = 0;
+        }
+
+        // Nothing can be deduced: guess a hidden cell, avoiding the known mines
+        MineProbabilities probabilities = null;
+        if (this.engine != null) {
+            probabilities = this.engine.compute(game);
+            long safest = probabilities.safestFrontierCell();
+            if (safest >= 0 && (probabilities.unconstrainedCellCount() == 0
+                || probabilities.probability((int) (safest >>> 32), (int) safest) <= probabilities.unconstrainedProbability())) {
+                return safest;
+            }
+        }
+        int size = game.getSize();
+        for (int i = 0; i < MAX_DRAWS; i++) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            if (!game.isRevealed(row, col) && !this.solver.isKnownMine(row, col)
+                && (probabilities == null || probabilities.probability(row, col) == probabilities.unconstrainedProbability())) {
+                return ((long) row << 32) | col;
+            }
+        }
+        return this.fallback.nextMove(game, random);
+    }
+}
@@ -0,0 +1,242 @@
+package solver;
+
+import board.BoardStorage;
+import board.CopyOnWriteBoard;
+import game.GameState;
+import game.Minesweeper;
+import game.StartBoardFactory;
+import services.MinePlacer;
+import services.RandomMinePlacer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creates boards around the first move of a game, for {@link Minesweeper#withSafeStart(StartBoardFactory, int, int)}.<br><br>
+ *
+ * In both modes the first move's cell and its neighbours never hold a mine, so the first move always opens a safe area.
+ * On boards too crowded for that, only the first move's cell is kept free, and nothing when every cell holds a mine.<br>
+ * - A layout is drawn from a mine placer and streamed onto the board; the mines which fall in the start area are left
+ *   out, and each is placed again on a uniformly random free cell outside of it. This keeps the layout uniform among
+ *   all those with no mine in the start area, and costs a few draws more than a plain placement.<br>
+ * - In no-guess mode, each candidate board is also played from the first move by a {@link Solver} on a copy-on-write
+ *   view, and only kept if the solver wins without guessing. Candidates are generated and verified in parallel by
+ *   {@code threads} workers of the generator's own fork-join pool, or on the calling thread if there is only one,
+ *   taking attempt numbers in order, until one succeeds, {@code maxAttempts} have been made or
+ *   the time budget runs out. The board of the lowest successful attempt is kept, and attempt n is fully determined by
+ *   the generator's seed, so the result does not depend on the number of threads unless the budget runs out.<br>
+ * - When no attempt succeeds, the first candidate is returned anyway: it still has a safe start, but may need guesses.
+ *   Such fallbacks are counted by {@link #fallbackCount()}.<br><br>
+ *
+ * "Without guessing" is relative to the solver's single-cell and subset rules; a few boards a stronger solver could clear
+ * are therefore rejected. Generators are thread-safe.
+ */
+public final class BoardGenerator implements StartBoardFactory {
+    private static final long ATTEMPT_SEED_STEP = 0x9E3779B97F4A7C15L; // Spreads the seeds of successive attempts
+
+    private final MinePlacer source; // Placer of every layout in safe start mode, or null to place each attempt with its own seed
+    private final SplittableRandom random; // Source of the seed of every board
+    private final int maxAttempts; // Candidates tried per board in no-guess mode, 1 in safe start mode
+    private final long budgetNanos; // Time allowed to find a board which needs no guess
+    private final int threads; // Workers generating candidates concurrently
+    private final ForkJoinPool pool; // Runs the workers, or null if candidates are generated on the calling thread
+    private final LongAdder boards = new LongAdder(); // Boards created
+    private final LongAdder attempts = new LongAdder(); // Candidates generated
+    private final LongAdder fallbacks = new LongAdder(); // No-guess boards given up on
+
+    /**
+     * Creates a generator which only keeps the start area free of mines.
+     *
+     * @param source The placer whose layouts are used, such as a {@code RandomMinePlacer} or a {@code PooledMinePlacer}.
+     * @param seed The seed of the random choice of the cells of the mines moved out of the start area.
+     */
+    public BoardGenerator(MinePlacer source, long seed) {
+        this.source = source;
+        this.random = new SplittableRandom(seed);
+        this.maxAttempts = 1;
+        this.budgetNanos = Long.MAX_VALUE;
+        this.threads = 1;
+        this.pool = null;
+    }
+
+    /**
+     * Creates a generator of boards which can be won from the first move without guessing.
+     *
+     * @param seed The seed of every layout.
+     * @param maxAttempts The number of candidates tried per board before giving up.
+     * @param timeBudgetMillis The time allowed per board before giving up; candidates being verified are still finished.
+     * @param threads The number of candidates generated and verified concurrently. Above one, the generator keeps a
+     *                fork-join pool of that many daemon threads, which stop after a minute without work.
+     * @throws IllegalArgumentException If maxAttempts or threads is not positive.
+     */
+    public BoardGenerator(long seed, int maxAttempts, long timeBudgetMillis, int threads) {
+        if (maxAttempts < 1 || threads < 1) {
+            throw new IllegalArgumentException("Need at least one attempt and one thread, got " + maxAttempts + " and " + threads + ".");
+        }
+        this.source = null;
+        this.random = new SplittableRandom(seed);
+        this.maxAttempts = maxAttempts;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        this.threads = threads;
+        this.pool = threads > 1 ? new ForkJoinPool(threads) : null;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the start cell is outside the board, or there are more mines than cells.
+     */
+    @Override
+    public BoardStorage create(int size, int mineCount, int startRow, int startCol) {
+        if (startRow < 0 || startRow >= size || startCol < 0 || startCol >= size) {
+            throw new IllegalArgumentException("Cell (" + startRow + ", " + startCol + ") is outside the board.");
+        }
+        if (mineCount < 0 || mineCount > (long) size * size) {
+            throw new IllegalArgumentException(mineCount + " mines do not fit in a " + size + "x" + size + " grid.");
+        }
+        int radius = startRadius(size, mineCount, startRow, startCol);
+        long seed = nextSeed();
+        this.boards.increment();
+        if (this.source != null) {
+            this.attempts.increment();
+            return placeAround(this.source, size, mineCount, startRow, startCol, radius, new SplittableRandom(seed));
+        }
+        return findNoGuessBoard(size, mineCount, startRow, startCol, radius, seed);
+    }
+
+    /**
+     * Generates and verifies candidates on every worker, keeping the lowest attempt whose board the solver wins.
+     */
+    private BoardStorage findNoGuessBoard(int size, int mineCount, int startRow, int startCol, int radius, long seed) {
+        long deadline = System.nanoTime() + this.budgetNanos;
+        AtomicLong nextAttempt = new AtomicLong();
+        AtomicLong bestAttempt = new AtomicLong(Long.MAX_VALUE);
+        ConcurrentHashMap<Long, BoardStorage> candidates = new ConcurrentHashMap<>();
+        Runnable worker = () -> {
+            while (true) {
+                long attempt = nextAttempt.getAndIncrement();
+                if (attempt >= this.maxAttempts || attempt > bestAttempt.get()
+                    || (attempt > 0 && System.nanoTime() - deadline > 0)) {
+                    return;
+                }
+                this.attempts.increment();
+                SplittableRandom random = new SplittableRandom(seed + attempt * ATTEMPT_SEED_STEP);
+                BoardStorage board = placeAround(new RandomMinePlacer(random.nextLong()), size, mineCount, startRow, startCol, radius, random);
+                if (attempt == 0) {
+                    candidates.put(attempt, board); // Kept as the fallback
+                }
+                if (isSolvable(board, startRow, startCol)) {
+                    candidates.put(attempt, board);
+                    bestAttempt.accumulateAndGet(attempt, Math::min);
+                }
+            }
+        };
+        if (this.pool == null) {
+            worker.run();
+        } else {
+            ForkJoinTask<?>[] workers = new ForkJoinTask<?>[this.threads];
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = this.pool.submit(worker);
+            }
+            for (ForkJoinTask<?> task : workers) {
+                task.join();
+            }
+        }
+        long best = bestAttempt.get();
+        if (best == Long.MAX_VALUE) {
+            this.fallbacks.increment();
+            return candidates.get(0L);
+        }
+        return candidates.get(best);
+    }
+
+    /**
+     * Places a layout of the source on a new board, moving the mines of the start area to random free cells outside it.
+     */
+    private static BoardStorage placeAround(MinePlacer source, int size, int mineCount, int startRow, int startCol, int radius,
+                                            SplittableRandom random) {
+        BoardStorage board = BoardStorage.forBoard(size, mineCount);
+        int[] displaced = new int[1];
+        source.placeMines(size, mineCount, cell -> {
+            int row = (int) (cell >>> 32);
+            int col = (int) cell;
+            if (isInStartArea(row, col, startRow, startCol, radius)) {
+                displaced[0]++;
+            } else {
+                board.placeMine(row, col);
+            }
+        });
+        while (displaced[0] > 0) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            if (!isInStartArea(row, col, startRow, startCol, radius) && !board.isMine(row, col)) {
+                board.placeMine(row, col);
+                displaced[0]--;
+            }
+        }
+        return board;
+    }
+
+    /**
+     * @return True if the solver wins the board from the first move, leaving the board itself untouched.
+     */
+    private static boolean isSolvable(BoardStorage board, int startRow, int startCol) {
+        Minesweeper game = new Minesweeper(new CopyOnWriteBoard(board));
+        game.applyMove(startRow, startCol);
+        new Solver(game).solve();
+        return game.getState() == GameState.WON;
+    }
+
+    private static boolean isInStartArea(int row, int col, int startRow, int startCol, int radius) {
+        return Math.abs(row - startRow) <= radius && Math.abs(col - startCol) <= radius;
+    }
+
+    /**
+     * @return The distance from the first move within which no mine is placed: 1 to keep its neighbours free too, 0 when
+     *         the mines only fit on some of them, and -1 when every cell holds a mine.
+     */
+    private static int startRadius(int size, int mineCount, int startRow, int startCol) {
+        long cells = (long) size * size;
+        if (mineCount <= cells - startAreaCells(size, startRow, startCol)) {
+            return 1;
+        }
+        return mineCount < cells ? 0 : -1;
+    }
+
+    private static int startAreaCells(int size, int startRow, int startCol) {
+        int rows = Math.min(startRow + 1, size - 1) - Math.max(startRow - 1, 0) + 1;
+        int cols = Math.min(startCol + 1, size - 1) - Math.max(startCol - 1, 0) + 1;
+        return rows * cols;
+    }
+
+    /**
+     * @return The number of boards created.
+     */
+    public long boardCount() {
+        return this.boards.sum();
+    }
+
+    /**
+     * @return The number of candidate boards generated, at least one per board created.
+     */
+    public long attemptCount() {
+        return this.attempts.sum();
+    }
+
+    /**
+     * @return The number of no-guess boards given up on after every attempt failed or the time budget ran out.
+     */
+    public long fallbackCount() {
+        return this.fallbacks.sum();
+    }
+
+    /**
+     * @return The seed of one board, split from the generator's seed.
+     */
+    private synchronized long nextSeed() {
+        return this.random.nextLong();
+    }
+}
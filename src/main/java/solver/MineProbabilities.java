@@ -0,0 +1,79 @@
+package solver;
+
+import game.Minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * The probability that each hidden cell of a game holds a mine, as computed by {@link ProbabilityEngine}.<br><br>
+ *
+ * - Frontier cells, the hidden neighbours of uncovered numbers, each have their own probability.<br>
+ * - Every other hidden cell is unconstrained and shares the same probability.<br>
+ * - Uncovered cells never hold a mine.<br><br>
+ *
+ * The probabilities describe the game at the time they were computed, and are stale once another move is played.
+ */
+public final class MineProbabilities {
+    private final Minesweeper game; // Game the probabilities were computed for
+    private final long[] cells; // Packed frontier cells, sorted
+    private final double[] probabilities; // Probability of each frontier cell
+    private final long unconstrainedCells; // Number of hidden cells outside the frontier
+    private final double unconstrainedProbability; // Probability of every hidden cell outside the frontier
+
+    MineProbabilities(Minesweeper game, long[] cells, double[] probabilities, long unconstrainedCells, double unconstrainedProbability) {
+        this.game = game;
+        this.cells = cells;
+        this.probabilities = probabilities;
+        this.unconstrainedCells = unconstrainedCells;
+        this.unconstrainedProbability = unconstrainedProbability;
+    }
+
+    /**
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The probability that the cell holds a mine, 0 if it has been uncovered.
+     */
+    public double probability(int row, int col) {
+        int i = Arrays.binarySearch(this.cells, ((long) row << 32) | col);
+        if (i >= 0) {
+            return this.probabilities[i];
+        }
+        return this.game.isRevealed(row, col) ? 0 : this.unconstrainedProbability;
+    }
+
+    /**
+     * @return The probability that a hidden cell outside the frontier holds a mine, 0 if there is no such cell.
+     */
+    public double unconstrainedProbability() {
+        return this.unconstrainedProbability;
+    }
+
+    /**
+     * @return The number of hidden cells outside the frontier, which share the unconstrained probability.
+     */
+    public long unconstrainedCellCount() {
+        return this.unconstrainedCells;
+    }
+
+    /**
+     * @return The number of frontier cells with a probability of their own.
+     */
+    public int frontierCellCount() {
+        return this.cells.length;
+    }
+
+    /**
+     * @return The frontier cell least likely to hold a mine, packed as {@code ((long) row << 32) | col}, or -1 if there is none.
+     */
+    public long safestFrontierCell() {
+        long safest = -1;
+        double lowest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < this.cells.length; i++) {
+            if (this.probabilities[i] < lowest) {
+                lowest = this.probabilities[i];
+                safest = this.cells[i];
+            }
+        }
+        return safest;
+    }
+}
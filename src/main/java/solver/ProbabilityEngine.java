@@ -0,0 +1,499 @@
+package solver;
+
+import game.Minesweeper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the probability that each hidden cell holds a mine, from the uncovered numbers and the total number of mines.<br><br>
+ *
+ * - The hidden neighbours of the frontier are split into independent components: two cells are in the same component
+ *   if some uncovered number sees both of them. Each component's constraints can be solved on their own.<br>
+ * - The mine layouts of each component are enumerated exactly, by backtracking, counting the layouts with each number of
+ *   mines. Components are enumerated in parallel.<br>
+ * - The components are then combined with the hidden cells outside the frontier: a total of t mines in the components
+ *   leaves C(o, M - t) ways to place the other mines among the o unconstrained cells. The weights are combined in log
+ *   space, so the huge binomial coefficients of large boards never overflow.<br><br>
+ *
+ * Enumeration results only depend on the structure of a component's constraints, so they are cached in a bounded
+ * least-recently-used cache keyed by a canonical encoding of that structure. A component a move did not change is
+ * found in the cache, as is any component with the same structure elsewhere on the board.<br>
+ * Components of more than {@value #MAX_COMPONENT_CELLS} cells are too large to enumerate; their cells are treated as
+ * unconstrained, which makes their probabilities an approximation.<br>
+ */
+public final class ProbabilityEngine {
+    public static final int MAX_COMPONENT_CELLS = 32; // Largest component enumerated exactly, one bit per cell in a mask
+    private static final int NEED_BITS = 8; // Bits holding a constraint's number of mines in its encoding
+
+    private final Map<ComponentKey, ComponentCounts> cache; // Enumeration results by component structure, in access order
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * Creates an engine caching the results of up to 4096 components.
+     */
+    public ProbabilityEngine() {
+        this(4096);
+    }
+
+    /**
+     * @param maxCachedComponents The maximum number of component results kept in the cache.
+     */
+    public ProbabilityEngine(int maxCachedComponents) {
+        if (maxCachedComponents < 1) {
+            throw new IllegalArgumentException("At least one component must be cached.");
+        }
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ComponentKey, ComponentCounts> eldest) {
+                return size() > maxCachedComponents;
+            }
+        };
+    }
+
+    /**
+     * Computes the mine probabilities of every hidden cell of a game, starting to track the game's frontier if needed.
+     *
+     * @param game The game, which must still be ongoing.
+     * @return The probabilities, valid until the next move.
+     */
+    public MineProbabilities compute(Minesweeper game) {
+        game.trackFrontier();
+        Components components = findComponents(game);
+        int count = components.cells.length;
+
+        ComponentCounts[] counts = new ComponentCounts[count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            if (components.cells[i].length <= MAX_COMPONENT_CELLS) {
+                counts[i] = lookUp(components.cells[i].length, components.constraints[i]);
+            }
+        });
+
+        int size = game.getSize();
+        long hidden = (long) size * size - game.getRevealedCount();
+        int frontierCells = 0;
+        for (int i = 0; i < count; i++) {
+            if (counts[i] != null) {
+                frontierCells += components.cells[i].length;
+            }
+        }
+        return combine(game, components, counts, frontierCells, hidden - frontierCells, game.getMineCount());
+    }
+
+    /**
+     * @return The number of component results currently cached.
+     */
+    public int cachedComponentCount() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+
+    /**
+     * @return The number of components whose result was found in the cache.
+     */
+    public long cacheHits() {
+        return this.cacheHits.sum();
+    }
+
+    /**
+     * @return The number of components which had to be enumerated.
+     */
+    public long cacheMisses() {
+        return this.cacheMisses.sum();
+    }
+
+    /**
+     * Finds the hidden neighbours of every frontier cell and joins them into components with a union-find.
+     *
+     * @param game The game, whose frontier is tracked.
+     * @return The cells of each component, sorted, and the encoded constraints of each component.
+     */
+    private static Components findComponents(Minesweeper game) {
+        int size = game.getSize();
+        long[] frontier = game.getFrontier();
+        Map<Long, Integer> ids = new HashMap<>();
+        long[] hiddenCells = new long[frontier.length * 8];
+        int[] parent = new int[frontier.length * 8];
+        int[][] constraintCells = new int[frontier.length][];
+        int[] needs = new int[frontier.length];
+
+        int[] neighbours = new int[8];
+        for (int i = 0; i < frontier.length; i++) {
+            int row = (int) (frontier[i] >>> 32);
+            int col = (int) frontier[i];
+            int n = 0;
+            for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, size - 1); r++) {
+                for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, size - 1); c++) {
+                    if (game.isRevealed(r, c)) continue;
+                    long cell = ((long) r << 32) | c;
+                    Integer id = ids.get(cell);
+                    if (id == null) {
+                        id = ids.size();
+                        ids.put(cell, id);
+                        hiddenCells[id] = cell;
+                        parent[id] = id;
+                    }
+                    neighbours[n++] = id;
+                }
+            }
+            constraintCells[i] = Arrays.copyOf(neighbours, n);
+            needs[i] = game.getAdjacentMines(row, col);
+            for (int k = 1; k < n; k++) {
+                union(parent, neighbours[0], neighbours[k]);
+            }
+        }
+
+        // Number the components and sort the cells of each, so that equal structures get equal encodings
+        int hiddenCount = ids.size();
+        int[] componentOfRoot = new int[hiddenCount];
+        Arrays.fill(componentOfRoot, -1);
+        int[] componentSizes = new int[hiddenCount];
+        int componentCount = 0;
+        for (int id = 0; id < hiddenCount; id++) {
+            int root = find(parent, id);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = componentCount++;
+            }
+            componentSizes[componentOfRoot[root]]++;
+        }
+        long[][] cells = new long[componentCount][];
+        for (int k = 0; k < componentCount; k++) {
+            cells[k] = new long[componentSizes[k]];
+        }
+        int[] filled = new int[componentCount];
+        for (int id = 0; id < hiddenCount; id++) {
+            int k = componentOfRoot[find(parent, id)];
+            cells[k][filled[k]++] = hiddenCells[id];
+        }
+        for (long[] componentCells : cells) {
+            Arrays.sort(componentCells);
+        }
+
+        // Encode each constraint as the mask of its cells within the component and its number of mines
+        int[] constraintCounts = new int[componentCount];
+        int[] constraintComponent = new int[frontier.length];
+        for (int i = 0; i < frontier.length; i++) {
+            constraintComponent[i] = constraintCells[i].length == 0 ? -1 : componentOfRoot[find(parent, constraintCells[i][0])];
+            if (constraintComponent[i] >= 0) {
+                constraintCounts[constraintComponent[i]]++;
+            }
+        }
+        long[][] constraints = new long[componentCount][];
+        for (int k = 0; k < componentCount; k++) {
+            constraints[k] = new long[constraintCounts[k]];
+        }
+        Arrays.fill(filled, 0);
+        for (int i = 0; i < frontier.length; i++) {
+            int k = constraintComponent[i];
+            if (k < 0 || cells[k].length > MAX_COMPONENT_CELLS) continue;
+            long mask = 0;
+            for (int id : constraintCells[i]) {
+                mask |= 1L << Arrays.binarySearch(cells[k], hiddenCells[id]);
+            }
+            constraints[k][filled[k]++] = mask << NEED_BITS | needs[i];
+        }
+        return new Components(cells, constraints);
+    }
+
+    /**
+     * Finds the result of a component in the cache, enumerating and caching it if needed.
+     *
+     * @param cellCount The number of cells of the component.
+     * @param constraints The encoded constraints of the component.
+     * @return The layout counts of the component.
+     */
+    private ComponentCounts lookUp(int cellCount, long[] constraints) {
+        long[] encoding = new long[constraints.length + 1];
+        encoding[0] = cellCount;
+        System.arraycopy(constraints, 0, encoding, 1, constraints.length);
+        Arrays.sort(encoding, 1, encoding.length);
+        ComponentKey key = new ComponentKey(encoding);
+
+        ComponentCounts counts;
+        synchronized (this.cache) {
+            counts = this.cache.get(key);
+        }
+        if (counts != null) {
+            this.cacheHits.increment();
+            return counts;
+        }
+        this.cacheMisses.increment();
+        counts = new Enumeration(cellCount, constraints).run();
+        synchronized (this.cache) {
+            this.cache.put(key, counts);
+        }
+        return counts;
+    }
+
+    /**
+     * Combines the layout counts of the components with the unconstrained cells, in log space.<br><br>
+     *
+     * With W_i the layout counts of component i and g(t) = C(o, M - t) the ways to place the remaining mines elsewhere:<br>
+     * - B_i(s) is the weight of the components from i onwards given s mines in the components before i, computed backwards
+     *   from B_c(s) = g(s).<br>
+     * - P_i(j) is the number of layouts of the components before i with j mines, computed forwards.<br>
+     * - The probability of a cell of component i is the sum over k of its mine layouts with k mines, times the sum over j of
+     *   P_i(j) B_(i+1)(j + k), divided by the total weight B_0(0).<br>
+     */
+    private static MineProbabilities combine(Minesweeper game, Components components, ComponentCounts[] counts,
+                                             int frontierCells, long unconstrainedCells, long mines) {
+        int[] enumerated = IntStream.range(0, counts.length).filter(i -> counts[i] != null).toArray();
+        int count = enumerated.length;
+        int[] minesBefore = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            minesBefore[i + 1] = minesBefore[i] + components.cells[enumerated[i]].length;
+        }
+        int maxMines = minesBefore[count];
+
+        // log g(t), relative to the first feasible t: C(o, M - t - 1) / C(o, M - t) = (M - t) / (o - M + t + 1)
+        double[] logG = new double[maxMines + 1];
+        Arrays.fill(logG, Double.NEGATIVE_INFINITY);
+        long first = Math.max(0, mines - unconstrainedCells);
+        double log = 0;
+        for (long t = first; t <= Math.min(mines, maxMines); t++) {
+            logG[(int) t] = log;
+            log += Math.log((double) (mines - t) / (unconstrainedCells - mines + t + 1));
+        }
+
+        double[][] logCounts = new double[count][];
+        for (int i = 0; i < count; i++) {
+            long[] solutions = counts[enumerated[i]].solutions;
+            logCounts[i] = new double[solutions.length];
+            for (int k = 0; k < solutions.length; k++) {
+                logCounts[i][k] = Math.log(solutions[k]);
+            }
+        }
+
+        double[][] after = new double[count + 1][];
+        after[count] = logG;
+        for (int i = count - 1; i >= 0; i--) {
+            after[i] = new double[minesBefore[i] + 1];
+            for (int s = 0; s <= minesBefore[i]; s++) {
+                double sum = Double.NEGATIVE_INFINITY;
+                for (int k = 0; k < logCounts[i].length; k++) {
+                    sum = logAdd(sum, logCounts[i][k] + after[i + 1][s + k]);
+                }
+                after[i][s] = sum;
+            }
+        }
+        double logTotal = after[0][0];
+        if (logTotal == Double.NEGATIVE_INFINITY) {
+            throw new IllegalStateException("No mine layout matches the uncovered numbers.");
+        }
+
+        long[] cells = new long[frontierCells];
+        double[] probabilities = new double[frontierCells];
+        int n = 0;
+        double[] before = {0};
+        for (int i = 0; i < count; i++) {
+            long[] componentCells = components.cells[enumerated[i]];
+            long[][] cellMines = counts[enumerated[i]].cellMines;
+            double[] logWeights = new double[logCounts[i].length];
+            for (int k = 0; k < logWeights.length; k++) {
+                double sum = Double.NEGATIVE_INFINITY;
+                for (int j = 0; j < before.length; j++) {
+                    sum = logAdd(sum, before[j] + after[i + 1][j + k]);
+                }
+                logWeights[k] = sum;
+            }
+            for (int c = 0; c < componentCells.length; c++) {
+                double sum = Double.NEGATIVE_INFINITY;
+                for (int k = 0; k < logWeights.length; k++) {
+                    sum = logAdd(sum, Math.log(cellMines[c][k]) + logWeights[k]);
+                }
+                cells[n] = componentCells[c];
+                probabilities[n++] = Math.exp(sum - logTotal);
+            }
+            before = convolve(before, logCounts[i]);
+        }
+
+        double unconstrained = 0;
+        if (unconstrainedCells > 0) {
+            double sum = Double.NEGATIVE_INFINITY;
+            for (int t = 0; t < before.length && t < mines; t++) {
+                sum = logAdd(sum, before[t] + logG[t] + Math.log((double) (mines - t) / unconstrainedCells));
+            }
+            unconstrained = Math.exp(sum - logTotal);
+        }
+
+        // Sort the frontier cells so that probabilities can be looked up by binary search
+        Integer[] order = new Integer[frontierCells];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Long.compare(cells[a], cells[b]));
+        long[] sortedCells = new long[frontierCells];
+        double[] sortedProbabilities = new double[frontierCells];
+        for (int i = 0; i < frontierCells; i++) {
+            sortedCells[i] = cells[order[i]];
+            sortedProbabilities[i] = probabilities[order[i]];
+        }
+        return new MineProbabilities(game, sortedCells, sortedProbabilities, unconstrainedCells, unconstrained);
+    }
+
+    /**
+     * @return The log of the convolution of two sequences given by their logs.
+     */
+    private static double[] convolve(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        Arrays.fill(result, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] = logAdd(result[i + j], a[i] + b[j]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return log(exp(a) + exp(b)), computed without overflow.
+     */
+    private static double logAdd(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) return b;
+        if (b == Double.NEGATIVE_INFINITY) return a;
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    private static int find(int[] parent, int id) {
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[rootB] = rootA;
+        }
+    }
+
+    /**
+     * The cells and encoded constraints of each component of the frontier.
+     */
+    private static final class Components {
+        final long[][] cells; // Packed cells of each component, sorted
+        final long[][] constraints; // Constraints of each component, as the mask of their cells shifted left of their mines
+
+        Components(long[][] cells, long[][] constraints) {
+            this.cells = cells;
+            this.constraints = constraints;
+        }
+    }
+
+    /**
+     * The canonical encoding of a component's structure: its number of cells followed by its sorted constraints.
+     */
+    private static final class ComponentKey {
+        private final long[] encoding;
+        private final int hash;
+
+        ComponentKey(long[] encoding) {
+            this.encoding = encoding;
+            this.hash = Arrays.hashCode(encoding);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ComponentKey && Arrays.equals(this.encoding, ((ComponentKey) other).encoding);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * The mine layouts of a component, counted by number of mines.
+     */
+    private static final class ComponentCounts {
+        final long[] solutions; // Number of layouts with k mines
+        final long[][] cellMines; // Number of layouts with k mines in which cell c holds a mine, by [c][k]
+
+        ComponentCounts(long[] solutions, long[][] cellMines) {
+            this.solutions = solutions;
+            this.cellMines = cellMines;
+        }
+    }
+
+    /**
+     * Enumerates the mine layouts of a component by backtracking over its cells, pruning as soon as a constraint can no
+     * longer be satisfied.
+     */
+    private static final class Enumeration {
+        private final int cellCount;
+        private final int[] needs; // Mines required by each constraint
+        private final int[][] cellConstraints; // Constraints seeing each cell
+        private final int[] placed; // Mines placed so far in each constraint
+        private final int[] open; // Cells of each constraint not assigned yet
+        private final long[] solutions;
+        private final long[][] cellMines;
+
+        Enumeration(int cellCount, long[] constraints) {
+            this.cellCount = cellCount;
+            this.needs = new int[constraints.length];
+            this.placed = new int[constraints.length];
+            this.open = new int[constraints.length];
+            int[] seen = new int[cellCount];
+            for (int i = 0; i < constraints.length; i++) {
+                long mask = constraints[i] >>> NEED_BITS;
+                this.needs[i] = (int) (constraints[i] & ((1 << NEED_BITS) - 1));
+                this.open[i] = Long.bitCount(mask);
+                for (long bits = mask; bits != 0; bits &= bits - 1) {
+                    seen[Long.numberOfTrailingZeros(bits)]++;
+                }
+            }
+            this.cellConstraints = new int[cellCount][];
+            for (int c = 0; c < cellCount; c++) {
+                this.cellConstraints[c] = new int[seen[c]];
+                seen[c] = 0;
+            }
+            for (int i = 0; i < constraints.length; i++) {
+                for (long bits = constraints[i] >>> NEED_BITS; bits != 0; bits &= bits - 1) {
+                    int c = Long.numberOfTrailingZeros(bits);
+                    this.cellConstraints[c][seen[c]++] = i;
+                }
+            }
+            this.solutions = new long[cellCount + 1];
+            this.cellMines = new long[cellCount][cellCount + 1];
+        }
+
+        ComponentCounts run() {
+            search(0, 0, 0);
+            return new ComponentCounts(this.solutions, this.cellMines);
+        }
+
+        private void search(int cell, int mines, long layout) {
+            if (cell == this.cellCount) {
+                this.solutions[mines]++;
+                for (long bits = layout; bits != 0; bits &= bits - 1) {
+                    this.cellMines[Long.numberOfTrailingZeros(bits)][mines]++;
+                }
+                return;
+            }
+            for (int mine = 0; mine <= 1; mine++) {
+                boolean feasible = true;
+                for (int i : this.cellConstraints[cell]) {
+                    this.open[i]--;
+                    this.placed[i] += mine;
+                    feasible &= this.placed[i] <= this.needs[i] && this.placed[i] + this.open[i] >= this.needs[i];
+                }
+                if (feasible) {
+                    search(cell + 1, mines + mine, layout | ((long) mine << cell));
+                }
+                for (int i : this.cellConstraints[cell]) {
+                    this.open[i]++;
+                    this.placed[i] -= mine;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package solver;
+
+import board.CellIndexSet;
+import game.GameState;
+import game.Minesweeper;
+import game.MoveResults;
+
+import java.util.Arrays;
+
+/**
+ * Plays the moves of a Minesweeper game that are certain to be safe, using only what the player can see.<br><br>
+ *
+ * Each uncovered number is a constraint: its hidden neighbours hold exactly that many mines. The solver applies:<br>
+ * - The single-cell rules: if a number's known mines already account for it, its other hidden neighbours are safe;
+ *   if it has exactly as many hidden neighbours as missing mines, they are all mines.<br>
+ * - The subset rule: if the unknown neighbours of one number are a subset of those of another number, the cells only the
+ *   second number sees hold the difference of their missing mines, which may again make them all safe or all mines.<br><br>
+ *
+ * The solver relies on the frontier tracked by the game ({@link Minesweeper#trackFrontier()}). It only re-examines the
+ * cells uncovered since its last step and the numbers around them, plus the numbers around any cell it deduced, so the
+ * cost of a step is proportional to what changed rather than to the size of the board.<br>
+ * A solver never uncovers a mine: when no safe cell can be deduced, it stops and leaves the guess to the caller.
+ * Solvers are not thread-safe.<br>
+ */
+public final class Solver {
+    private final Minesweeper game; // Game being solved
+    private final int size; // Size of the grid of the game
+    private final CellIndexSet knownMines = new CellIndexSet(); // Hidden cells deduced to hold a mine
+    private final CellIndexSet knownSafe = new CellIndexSet(); // Hidden cells deduced to be safe, not uncovered yet
+    private final CellIndexSet queued = new CellIndexSet(); // Numbered cells waiting in the work list
+    private long[] work = new long[64]; // Work list of numbered cells whose constraint must be examined, used as a stack
+    private int workSize;
+    private long[] safeCells = new long[64]; // Safe cells deduced by the current step
+    private int safeCount;
+
+    // Scratch space holding the unknown neighbours of two constraints, reused by every examination
+    private final long[] unknown = new long[8];
+    private final long[] otherUnknown = new long[8];
+    private final long[] difference = new long[8];
+
+    /**
+     * Creates a solver for a game, starting to track the game's frontier if it was not tracked yet.
+     *
+     * @param game The game to solve.
+     */
+    public Solver(Minesweeper game) {
+        this.game = game;
+        this.size = game.getSize();
+        game.trackFrontier();
+        for (long cell : game.getFrontier()) {
+            push(cell);
+        }
+    }
+
+    /**
+     * Deduces the hidden cells which are certainly safe given the cells uncovered so far, without uncovering them.<br>
+     * Each safe cell is returned only once, by the first call able to deduce it.
+     *
+     * @return The newly deduced safe cells, packed as {@code ((long) row << 32) | col}, possibly none.
+     */
+    public long[] findSafeCells() {
+        for (long cell : this.game.drainFrontierChanges()) {
+            this.knownSafe.remove(cell);
+            pushNumberedAround(cell, true);
+        }
+        while (this.workSize > 0) {
+            long cell = this.work[--this.workSize];
+            this.queued.remove(cell);
+            examine(cell);
+        }
+        long[] found = Arrays.copyOf(this.safeCells, this.safeCount);
+        this.safeCount = 0;
+        return found;
+    }
+
+    /**
+     * Uncovers every cell {@link #findSafeCells()} can deduce.
+     *
+     * @return The number of cells uncovered by a move of their own; cells uncovered by another move's flood fill are not counted.
+     */
+    public int step() {
+        int moves = 0;
+        for (long cell : findSafeCells()) {
+            if (this.game.getState() != GameState.ONGOING) break;
+            if (this.game.applyMove((int) (cell >>> 32), (int) cell) == MoveResults.REVEALED) {
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Plays safe moves until the game is won or no further cell can be deduced.
+     *
+     * @return The number of moves played.
+     */
+    public long solve() {
+        long moves = 0;
+        while (this.game.getState() == GameState.ONGOING) {
+            int stepMoves = step();
+            if (stepMoves == 0) break;
+            moves += stepMoves;
+        }
+        return moves;
+    }
+
+    /**
+     * @param row The row index of a cell.
+     * @param col The column index of a cell.
+     * @return True if the cell is hidden and has been deduced to hold a mine.
+     */
+    public boolean isKnownMine(int row, int col) {
+        return this.knownMines.contains(pack(row, col));
+    }
+
+    /**
+     * @return The number of hidden cells deduced to hold a mine.
+     */
+    public int getKnownMineCount() {
+        return this.knownMines.size();
+    }
+
+    /**
+     * Applies the single-cell rules to a numbered cell, then the subset rule with every frontier cell close enough to share
+     * one of its unknown neighbours.
+     *
+     * @param cell The packed numbered cell.
+     */
+    private void examine(long cell) {
+        int row = (int) (cell >>> 32);
+        int col = (int) cell;
+        if (!this.game.isFrontier(row, col)) {
+            return;
+        }
+        int unknownCount = collectUnknown(row, col, this.unknown);
+        if (unknownCount == 0) {
+            return;
+        }
+        int missing = missingMines(row, col);
+        if (missing == 0) {
+            markAll(this.unknown, unknownCount, false);
+            return;
+        }
+        if (missing == unknownCount) {
+            markAll(this.unknown, unknownCount, true);
+            return;
+        }
+
+        for (int r = Math.max(row - 2, 0); r <= Math.min(row + 2, this.size - 1); r++) {
+            for (int c = Math.max(col - 2, 0); c <= Math.min(col + 2, this.size - 1); c++) {
+                if ((r == row && c == col) || !this.game.isFrontier(r, c)) continue;
+                int otherCount = collectUnknown(r, c, this.otherUnknown);
+                if (otherCount == 0) continue;
+                int otherMissing = missingMines(r, c);
+                if (otherCount > unknownCount && isSubset(this.unknown, unknownCount, this.otherUnknown, otherCount)) {
+                    reduce(this.otherUnknown, otherCount, this.unknown, unknownCount, otherMissing - missing);
+                } else if (unknownCount > otherCount && isSubset(this.otherUnknown, otherCount, this.unknown, unknownCount)) {
+                    reduce(this.unknown, unknownCount, this.otherUnknown, otherCount, missing - otherMissing);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the subset rule to the cells seen by a larger constraint but not by a smaller one inside it.
+     *
+     * @param larger The unknown cells of the larger constraint.
+     * @param largerCount The number of unknown cells of the larger constraint.
+     * @param smaller The unknown cells of the smaller constraint, all of which are also in the larger one.
+     * @param smallerCount The number of unknown cells of the smaller constraint.
+     * @param mines The number of mines among the cells only the larger constraint sees.
+     */
+    private void reduce(long[] larger, int largerCount, long[] smaller, int smallerCount, int mines) {
+        int count = 0;
+        for (int i = 0; i < largerCount; i++) {
+            if (!contains(smaller, smallerCount, larger[i])) {
+                this.difference[count++] = larger[i];
+            }
+        }
+        if (mines == 0) {
+            markAll(this.difference, count, false);
+        } else if (mines == count) {
+            markAll(this.difference, count, true);
+        }
+    }
+
+    /**
+     * Records cells as known mines or known safe cells, queuing the numbers around each newly deduced cell.
+     */
+    private void markAll(long[] cells, int count, boolean mines) {
+        for (int i = 0; i < count; i++) {
+            long cell = cells[i];
+            if (mines ? this.knownMines.add(cell) : this.knownSafe.add(cell)) {
+                if (!mines) {
+                    addSafeCell(cell);
+                }
+                pushNumberedAround(cell, false);
+            }
+        }
+    }
+
+    /**
+     * Collects the hidden neighbours of a cell that have not been deduced yet.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param cells Receives the packed unknown neighbours, at most 8.
+     * @return The number of unknown neighbours.
+     */
+    private int collectUnknown(int row, int col, long[] cells) {
+        int count = 0;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, this.size - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, this.size - 1); c++) {
+                if ((r == row && c == col) || this.game.isRevealed(r, c)) continue;
+                long cell = pack(r, c);
+                if (!this.knownMines.contains(cell) && !this.knownSafe.contains(cell)) {
+                    cells[count++] = cell;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The number shown on an uncovered cell minus the known mines around it.
+     */
+    private int missingMines(int row, int col) {
+        int missing = this.game.getAdjacentMines(row, col);
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, this.size - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, this.size - 1); c++) {
+                if ((r != row || c != col) && this.knownMines.contains(pack(r, c))) {
+                    missing--;
+                }
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Queues the uncovered numbered cells around a cell, and optionally the cell itself, for examination.
+     */
+    private void pushNumberedAround(long cell, boolean includeCell) {
+        int row = (int) (cell >>> 32);
+        int col = (int) cell;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, this.size - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, this.size - 1); c++) {
+                if ((r != row || c != col || includeCell) && this.game.getAdjacentMines(r, c) > 0) {
+                    push(pack(r, c));
+                }
+            }
+        }
+    }
+
+    private void push(long cell) {
+        if (!this.queued.add(cell)) {
+            return;
+        }
+        if (this.workSize == this.work.length) {
+            this.work = Arrays.copyOf(this.work, this.work.length * 2);
+        }
+        this.work[this.workSize++] = cell;
+    }
+
+    private void addSafeCell(long cell) {
+        if (this.safeCount == this.safeCells.length) {
+            this.safeCells = Arrays.copyOf(this.safeCells, this.safeCells.length * 2);
+        }
+        this.safeCells[this.safeCount++] = cell;
+    }
+
+    private static boolean isSubset(long[] subset, int subsetCount, long[] set, int setCount) {
+        for (int i = 0; i < subsetCount; i++) {
+            if (!contains(set, setCount, subset[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(long[] cells, int count, long cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long pack(int row, int col) {
+        return ((long) row << 32) | col;
+    }
+}
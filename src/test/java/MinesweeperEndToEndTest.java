@@ -1,13 +1,26 @@
+import game.Minesweeper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import services.MinePlacer;
 import services.PredeterminedMinePlacer;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class MinesweeperEndToEndTest {
     private Minesweeper game;
 
+    @TempDir
+    Path tempDir;
+
     @BeforeEach
     public void setUp() {
         // Arrange: Create a Minesweeper game with a predetermined mine placement
@@ -46,4 +59,53 @@ public class MinesweeperEndToEndTest {
         game.displayBoard();
         assertTrue(game.isGameWon(), "The game should be won after uncovering all safe cells");
     }
+
+    @Test
+    public void testRunner_whenMineCountIsNegative_shouldPromptAgain() throws IOException {
+        // Arrange: A 3x3 grid, a negative mine count, then no mines, one move and exit
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream console = System.out;
+        InputStream keyboard = System.in;
+
+        // Act
+        System.setOut(new PrintStream(out, true));
+        System.setIn(new ByteArrayInputStream("3\n-1\n0\nB2\nexit\n".getBytes()));
+        try {
+            Runner.main(new String[0]);
+        } finally {
+            System.setOut(console);
+            System.setIn(keyboard);
+        }
+
+        // Assert: The negative count is refused, and the game with no mines is played and won
+        String output = out.toString();
+        assertTrue(output.contains("Please enter a non-negative integer."), output);
+        assertTrue(output.contains("Congratulations"), "The game without mines should be won:\n" + output);
+    }
+
+    @Test
+    public void testRunner_whenScriptIsGiven_shouldPrintDeltasAndSummary() throws IOException {
+        // Arrange: A script with a multi-letter row label, a comment and a cell outside the board
+        Path script = this.tempDir.resolve("moves.txt");
+        Files.writeString(script, "AB12 # row 28\nA1,AB12\nZZ1\n");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream console = System.out;
+
+        // Act: Play it on a 30x30 board without mines
+        System.setOut(new PrintStream(out, true));
+        try {
+            Runner.main(new String[] {"--size=30", "--mines=0", "--script=" + script, "--output=deltas"});
+        } finally {
+            System.setOut(console);
+        }
+
+        // Assert: The first move uncovers the whole board and wins, and the moves after it are neither applied nor counted
+        String output = out.toString();
+        assertTrue(output.contains("AB12 REVEALED AB12=0"), "The first move should list the cells it uncovered:\n" + output);
+        assertTrue(output.contains("Game WON, the rest of the script is ignored"), output);
+        assertFalse(output.contains("A1 ALREADY_REVEALED"), "No move should be applied once the game is won:\n" + output);
+        assertTrue(output.contains("Applied 1 moves"), output);
+        assertTrue(output.contains("Outcomes: REVEALED=1\n") || output.contains("Outcomes: REVEALED=1\r\n"), output);
+        assertTrue(output.contains("State: WON, 0 safe cells left hidden."), output);
+    }
 }
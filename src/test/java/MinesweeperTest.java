@@ -1,10 +1,14 @@
+import game.GameState;
+import game.Minesweeper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import services.MinePlacer;
 import services.PredeterminedMinePlacer;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -68,6 +72,51 @@ public class MinesweeperTest {
         assertTrue(game.isGameWon(), "The game should be won when all non-mine cells are uncovered.");
     }
 
+    @Test
+    public void testGetState_whenMineIsUncovered_shouldReturnLost() {
+        // Act: Uncover a safe cell, then a mine
+        game.uncoverCell(0, 1); // A2
+        assertEquals(GameState.ONGOING, game.getState(), "The game should be ongoing after a safe move.");
+        game.uncoverCell(0, 2); // A3
+
+        assertEquals(GameState.LOST, game.getState(), "The game should be lost after hitting a mine.");
+    }
+
+    @Test
+    public void testIsGameWon_whenCheckedAfterEveryMoveOnLargeBoard_shouldFinishQuickly() {
+        // Arrange: Mines on every cell with an even row and column, so every safe cell has an adjacent mine
+        int size = 4000;
+        MinePlacer minePlacer = (gridSize, mineCount) -> {
+            boolean[][] mines = new boolean[gridSize][gridSize];
+            for (int i = 0; i < gridSize; i += 2) {
+                for (int j = 0; j < gridSize; j += 2) {
+                    mines[i][j] = true;
+                }
+            }
+            return mines;
+        };
+        Minesweeper largeGame = new Minesweeper(minePlacer, size, size * size / 4);
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        try {
+            // Act: Uncover every safe cell one at a time, checking for a win after each move
+            boolean won = assertTimeout(Duration.ofSeconds(30), () -> {
+                for (int i = 0; i < size; i++) {
+                    for (int j = (i % 2 == 0) ? 1 : 0; j < size; j += (i % 2 == 0) ? 2 : 1) {
+                        assertFalse(largeGame.isGameWon(), "The game should not be won before the last safe cell.");
+                        largeGame.uncoverCell(i, j);
+                    }
+                }
+                return largeGame.isGameWon();
+            });
+
+            assertTrue(won, "The game should be won when all non-mine cells are uncovered.");
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
     @Test
     public void testDisplayBoard_whenGameStarts_shouldShowInitialState() {
         try {
@@ -0,0 +1,142 @@
+package board;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testAdjacentMines_whenSameMinesArePlaced_shouldMatchAcrossBackends() throws IOException {
+        // Arrange: Place the same random mines on every backend
+        int size = 37;
+        Random random = new Random(7);
+        PackedBoard packed = new PackedBoard(size);
+        BitSetBoard bitSet = new BitSetBoard(size);
+        try (MappedBoard mapped = MappedBoard.create(this.tempDir.resolve("board.bin"), size)) {
+            for (int i = 0; i < 300; i++) {
+                int row = random.nextInt(size);
+                int col = random.nextInt(size);
+                packed.placeMine(row, col);
+                bitSet.placeMine(row, col);
+                mapped.placeMine(row, col);
+            }
+
+            // Assert: Every backend reports the same mines and adjacent mine counts
+            assertEquals(packed.mineCount(), bitSet.mineCount(), "Duplicate mines should only be counted once.");
+            assertEquals(packed.mineCount(), mapped.mineCount(), "Duplicate mines should only be counted once.");
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    assertEquals(packed.isMine(row, col), bitSet.isMine(row, col), "Mine at (" + row + ", " + col + ")");
+                    assertEquals(packed.isMine(row, col), mapped.isMine(row, col), "Mine at (" + row + ", " + col + ")");
+                    assertEquals(packed.adjacentMines(row, col), bitSet.adjacentMines(row, col), "Count at (" + row + ", " + col + ")");
+                    assertEquals(packed.adjacentMines(row, col), mapped.adjacentMines(row, col), "Count at (" + row + ", " + col + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOpen_whenBoardFileIsReopened_shouldRestoreMinesAndUncoveredCells() throws IOException {
+        // Arrange: Write a board with one mine and two uncovered cells
+        Path file = this.tempDir.resolve("saved.bin");
+        try (MappedBoard board = MappedBoard.create(file, 10)) {
+            board.placeMine(3, 4);
+            board.setRevealed(0, 0);
+            board.setRevealed(9, 9);
+            board.setRevealed(9, 9);
+        }
+
+        // Act: Reopen the file
+        try (MappedBoard board = MappedBoard.open(file)) {
+            // Assert: The state is exactly as it was written
+            assertEquals(10, board.size(), "The grid size should be restored.");
+            assertEquals(1, board.mineCount(), "The mine count should be restored.");
+            assertEquals(2, board.revealedCount(), "The uncovered cell count should be restored.");
+            assertTrue(board.isMine(3, 4), "The mine should be restored.");
+            assertTrue(board.isRevealed(9, 9), "Uncovered cells should be restored.");
+            assertFalse(board.isRevealed(5, 5), "Hidden cells should remain hidden.");
+        }
+    }
+
+    @Test
+    public void testPlaceMineWord_whenWordsAreCopied_shouldMatchAcrossBackends() throws IOException {
+        // Arrange: A packed board with random mines and uncovered cells, on a grid whose last word is partial
+        int size = 37;
+        Random random = new Random(11);
+        PackedBoard packed = new PackedBoard(size);
+        for (int i = 0; i < 400; i++) {
+            packed.placeMine(random.nextInt(size), random.nextInt(size));
+            packed.setRevealed(random.nextInt(size), random.nextInt(size));
+        }
+        BitSetBoard bitSet = new BitSetBoard(size);
+        try (MappedBoard mapped = MappedBoard.create(this.tempDir.resolve("words.bin"), size)) {
+            // Act: Copy the words of the packed board, with every padding bit set, to the bitset boards
+            long words = packed.wordCount();
+            long padding = -1L << ((long) size * size % 64);
+            for (long word = 0; word < words; word++) {
+                long extra = word == words - 1 ? padding : 0;
+                bitSet.placeMineWord(word, packed.mineWord(word) | extra);
+                bitSet.setRevealedWord(word, packed.revealedWord(word) | extra);
+                mapped.placeMineWord(word, packed.mineWord(word) | extra);
+                mapped.setRevealedWord(word, packed.revealedWord(word) | extra);
+            }
+
+            // Assert: The copies hold the same cells and counts, ignoring the padding bits
+            assertEquals(packed.mineCount(), bitSet.mineCount(), "Only cells of the board should be counted.");
+            assertEquals(packed.revealedCount(), mapped.revealedCount(), "Only cells of the board should be counted.");
+            for (long word = 0; word < words; word++) {
+                assertEquals(packed.mineWord(word), bitSet.mineWord(word), "Mine word " + word);
+                assertEquals(packed.revealedWord(word), mapped.revealedWord(word), "Uncovered word " + word);
+            }
+            assertEquals(packed.adjacentMines(20, 20), mapped.adjacentMines(20, 20), "Counts follow the copied mines.");
+        }
+    }
+
+    @Test
+    public void testForBoard_whenDensityIsLow_shouldUseSparseBoardMatchingDenseOne() {
+        // Arrange: One mine per thousand cells, and the same mines on a dense board
+        int size = 300;
+        BoardStorage board = BoardStorage.forBoard(size, 90);
+        BitSetBoard dense = new BitSetBoard(size);
+        Random random = new Random(21);
+        while (board.mineCount() < 90) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            board.placeMine(row, col);
+            dense.placeMine(row, col);
+        }
+
+        // Act: Uncover a few cells, the last one twice
+        for (int col = 0; col < size; col += 50) {
+            board.setRevealed(size - 1, col);
+            dense.setRevealed(size - 1, col);
+        }
+        board.setRevealed(size - 1, 0);
+
+        // Assert: The sparse board is chosen, is much smaller, and holds the same cells and counts
+        assertTrue(board instanceof SparseBoard, "A low density should pick a sparse board.");
+        assertTrue(BoardStorage.forBoard(size, size * size / 5) instanceof PackedBoard, "A high density should pick a dense board.");
+        assertTrue(board.footprintBytes() * 4 < BoardStorage.footprintForSize(size), "Footprint was " + board.footprintBytes());
+        assertEquals(dense.revealedCount(), board.revealedCount(), "Uncovering a cell twice should count it once.");
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                assertEquals(dense.isMine(row, col), board.isMine(row, col), "Mine at (" + row + ", " + col + ")");
+                assertEquals(dense.isRevealed(row, col), board.isRevealed(row, col), "Uncovered at (" + row + ", " + col + ")");
+                assertEquals(dense.adjacentMines(row, col), board.adjacentMines(row, col), "Count at (" + row + ", " + col + ")");
+            }
+        }
+        for (long word = 0; word < dense.wordCount(); word++) {
+            assertEquals(dense.mineWord(word), board.mineWord(word), "Mine word " + word);
+            assertEquals(dense.revealedWord(word), board.revealedWord(word), "Uncovered word " + word);
+        }
+    }
+}
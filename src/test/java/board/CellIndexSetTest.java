@@ -0,0 +1,54 @@
+package board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CellIndexSetTest {
+
+    @Test
+    public void testAddAndRemove_whenMixedRandomly_shouldMatchHashSet() {
+        // Arrange: A set of indices drawn from a small range, so that adds and removes often collide
+        Random random = new Random(3);
+        CellIndexSet set = new CellIndexSet();
+        Set<Long> expected = new HashSet<>();
+
+        // Act: Apply many random adds and removes to both sets
+        for (int i = 0; i < 200_000; i++) {
+            long index = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(index), set.remove(index), "Removing " + index + " should report the same result.");
+            } else {
+                assertEquals(expected.add(index), set.add(index), "Adding " + index + " should report the same result.");
+            }
+        }
+
+        // Assert: Both sets hold exactly the same indices
+        assertEquals(expected.size(), set.size(), "Both sets should have the same size.");
+        for (long index = 0; index < 5000; index++) {
+            assertEquals(expected.contains(index), set.contains(index), "Index " + index + " should match.");
+        }
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), values, "Both sets should list the same indices.");
+    }
+
+    @Test
+    public void testClear_whenSetHasIndices_shouldEmptyIt() {
+        CellIndexSet set = new CellIndexSet(4);
+        for (long index = 0; index < 100; index++) {
+            set.add(index << 32 | index);
+        }
+
+        set.clear();
+
+        assertEquals(0, set.size(), "The set should be empty.");
+        assertFalse(set.contains(5L << 32 | 5), "A cleared index should not be found.");
+        assertTrue(set.add(5L << 32 | 5), "A cleared index can be added again.");
+    }
+}
@@ -0,0 +1,56 @@
+package board;
+
+import org.junit.jupiter.api.Test;
+import services.RandomMinePlacer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedBoardTest {
+    private static final int MIDDLE = 1 << 30; // A cell far away from the edges of the board
+
+    @Test
+    public void testIsMine_whenBoardsShareSeed_shouldHaveSameMines() {
+        // Arrange: Two endless boards with the same seed, one with a much smaller cache
+        ChunkedBoard first = new ChunkedBoard(42, 400, 1024, RandomMinePlacer::new);
+        ChunkedBoard second = new ChunkedBoard(42, 400, 2, RandomMinePlacer::new);
+
+        // Act & Assert: Every cell of a 300x300 area matches, even though the second board evicts chunks
+        for (int row = MIDDLE; row < MIDDLE + 300; row++) {
+            for (int col = MIDDLE; col < MIDDLE + 300; col++) {
+                assertEquals(first.isMine(row, col), second.isMine(row, col), "Cell (" + row + ", " + col + ")");
+            }
+        }
+        assertTrue(second.cachedChunkCount() <= 2, "The cache should never hold more chunks than its limit.");
+    }
+
+    @Test
+    public void testIsMine_whenChunkIsGenerated_shouldHoldExactlyMinesPerChunk() {
+        ChunkedBoard board = new ChunkedBoard(7, 300, 16, RandomMinePlacer::new);
+
+        // Act: Count the mines of one chunk
+        int mines = 0;
+        for (int row = MIDDLE; row < MIDDLE + ChunkedBoard.CHUNK_SIZE; row++) {
+            for (int col = MIDDLE; col < MIDDLE + ChunkedBoard.CHUNK_SIZE; col++) {
+                if (board.isMine(row, col)) mines++;
+            }
+        }
+
+        assertEquals(300, mines, "Each chunk should hold exactly the requested number of mines.");
+    }
+
+    @Test
+    public void testIsRevealed_whenMineChunkIsEvicted_shouldKeepUncoveredCells() {
+        // Arrange: A board caching a single chunk of mines
+        ChunkedBoard board = new ChunkedBoard(3, 100, 1, RandomMinePlacer::new);
+        board.setRevealed(MIDDLE, MIDDLE);
+        board.isMine(MIDDLE, MIDDLE);
+
+        // Act: Touch a distant chunk, evicting the first chunk's mines
+        board.isMine(0, 0);
+
+        assertEquals(1, board.cachedChunkCount(), "Only one chunk of mines should be cached.");
+        assertTrue(board.isRevealed(MIDDLE, MIDDLE), "Uncovered cells should survive eviction of the chunk's mines.");
+        assertFalse(board.isRevealed(MIDDLE, MIDDLE + 1), "Other cells should remain hidden.");
+        assertEquals(1, board.revealedChunkCount(), "Only the chunk with an uncovered cell should keep a bitset.");
+    }
+}
@@ -0,0 +1,151 @@
+package game;
+
+import board.BitSetBoard;
+import board.MappedBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import services.RandomMinePlacer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRead_whenGameWasSaved_shouldRestoreEveryCell() throws IOException {
+        Random random = new Random(15);
+        for (int size : new int[] {1, 7, 10, 64, 100, 257}) {
+            // Arrange: A random game with a few moves played
+            Minesweeper game = new Minesweeper(new RandomMinePlacer(size), size, size * size / 8);
+            for (int move = 0; move < 5 && game.getState() == GameState.ONGOING; move++) {
+                game.applyMove(random.nextInt(size), random.nextInt(size));
+            }
+            Path file = this.tempDir.resolve("game" + size + ".snap");
+
+            // Act: Save and restore the game
+            GameSnapshot.write(game, file);
+            Minesweeper restored = GameSnapshot.read(file);
+
+            // Assert: Every cell, the counters and the state are restored
+            assertSameGame(game, restored, "Size " + size);
+        }
+    }
+
+    @Test
+    public void testRead_whenGameWasLost_shouldRestoreLostState() throws IOException {
+        // Arrange: A game whose only mine has been uncovered
+        Minesweeper game = new Minesweeper(new RandomMinePlacer(3), 5, 1);
+        int mine = findMine(game);
+        game.applyMove(mine / 5, mine % 5);
+        Path file = this.tempDir.resolve("lost.snap");
+
+        // Act: Save and restore the game
+        GameSnapshot.write(game, file);
+        Minesweeper restored = GameSnapshot.read(file);
+
+        // Assert: The game is still lost, although no safe cell has been uncovered
+        assertEquals(GameState.LOST, restored.getState(), "A lost game should stay lost.");
+        assertEquals(0, restored.getRevealedCount(), "Uncovering a mine does not reveal it.");
+    }
+
+    @Test
+    public void testWrite_whenLargeAreasAreEmptyOrUncovered_shouldCompressThem() throws IOException {
+        // Arrange: A 2000x2000 board with one mine, almost entirely uncovered by one move
+        BitSetBoard board = new BitSetBoard(2000);
+        board.placeMine(1999, 1999);
+        Minesweeper game = new Minesweeper(board);
+        game.applyMove(0, 0);
+        Path file = this.tempDir.resolve("open.snap");
+
+        // Act: Save and restore the game
+        GameSnapshot.write(game, file);
+        Minesweeper restored = GameSnapshot.read(file);
+
+        // Assert: The file is a tiny fraction of the 1 MB of bitsets, and the game is won
+        assertTrue(Files.size(file) < 200, "Runs of empty and full words should cost a few bytes, got " + Files.size(file));
+        assertEquals(GameState.WON, restored.getState(), "Every safe cell was uncovered.");
+        assertSameGame(game, restored, "Open board");
+    }
+
+    @Test
+    public void testRead_whenRestoredOnMappedBoard_shouldKeepStateInFile() throws IOException {
+        // Arrange: Save a game
+        Minesweeper game = new Minesweeper(new RandomMinePlacer(4), 40, 200);
+        game.applyMove(20, 20);
+        Path file = this.tempDir.resolve("mapped.snap");
+        GameSnapshot.write(game, file);
+
+        // Act: Restore it on a memory-mapped board
+        try (MappedBoard board = MappedBoard.create(this.tempDir.resolve("board.bin"), 40)) {
+            Minesweeper restored = GameSnapshot.read(file, board);
+
+            // Assert: The mapped board holds the saved game
+            assertSameGame(game, restored, "Mapped board");
+            assertEquals(game.getMineCount(), board.mineCount(), "The mines should be written to the mapped board.");
+        }
+    }
+
+    @Test
+    public void testWrite_whenTargetCannotBeReplaced_shouldRemoveTemporaryFile() throws IOException {
+        // Arrange: A target which is a directory holding a file, so the finished snapshot cannot be moved over it
+        Minesweeper game = new Minesweeper(new RandomMinePlacer(15), 30, 100);
+        game.applyMove(15, 15);
+        Path file = Files.createDirectory(this.tempDir.resolve("taken.snap"));
+        Files.createFile(file.resolve("inside"));
+
+        // Act: Try to save the game
+        assertThrows(IOException.class, () -> GameSnapshot.write(game, file), "A non-empty directory cannot be replaced.");
+
+        // Assert: Neither the temporary file nor any change to the target is left behind
+        assertFalse(Files.exists(this.tempDir.resolve("taken.snap.tmp")), "The temporary file should be deleted.");
+        assertTrue(Files.exists(file.resolve("inside")), "The target should be left as it was.");
+    }
+
+    @Test
+    public void testRead_whenFileIsDamaged_shouldThrowIOException() throws IOException {
+        // Arrange: A valid snapshot, a copy cut short and a file which is not a snapshot
+        Minesweeper game = new Minesweeper(new RandomMinePlacer(5), 30, 100);
+        game.applyMove(15, 15);
+        Path file = this.tempDir.resolve("valid.snap");
+        GameSnapshot.write(game, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = Files.write(this.tempDir.resolve("truncated.snap"), Arrays.copyOf(bytes, bytes.length - 3));
+        Path other = Files.write(this.tempDir.resolve("other.snap"), "not a snapshot, just some text".getBytes());
+
+        // Act & Assert: Neither can be restored
+        assertThrows(IOException.class, () -> GameSnapshot.read(truncated), "A truncated snapshot should be rejected.");
+        assertThrows(IOException.class, () -> GameSnapshot.read(other), "A file of another format should be rejected.");
+    }
+
+    private static int findMine(Minesweeper game) {
+        for (int index = 0; index < game.getSize() * game.getSize(); index++) {
+            if (game.getBoard().isMine(index / game.getSize(), index % game.getSize())) {
+                return index;
+            }
+        }
+        throw new AssertionError("The board has no mine.");
+    }
+
+    private static void assertSameGame(Minesweeper expected, Minesweeper actual, String message) {
+        int size = expected.getSize();
+        assertEquals(size, actual.getSize(), message + ": size");
+        assertEquals(expected.getState(), actual.getState(), message + ": state");
+        assertEquals(expected.getMineCount(), actual.getMineCount(), message + ": mine count");
+        assertEquals(expected.getRevealedCount(), actual.getRevealedCount(), message + ": uncovered count");
+        assertEquals(expected.getHiddenSafeCount(), actual.getHiddenSafeCount(), message + ": hidden safe count");
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                assertEquals(expected.getBoard().isMine(row, col), actual.getBoard().isMine(row, col), message + ": mine at (" + row + ", " + col + ")");
+                assertEquals(expected.getCell(row, col), actual.getCell(row, col), message + ": cell (" + row + ", " + col + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.PredeterminedMinePlacer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinesweeperBatchTest {
+
+    private Minesweeper game;
+
+    @BeforeEach
+    public void setUp() {
+        // Arrange: Create a Minesweeper game with a predetermined mine placement
+        game = new Minesweeper(new PredeterminedMinePlacer(), 5, 3); // Mine locations: A3, D2, E5
+    }
+
+    @Test
+    public void testUncoverCells_whenBatchIsApplied_shouldReportOutcomeAndUncoveredCellsOfEachMove() {
+        // Act: A2 (numbered), A2 again, outside the board, then A3 (mine)
+        MoveResults results = game.uncoverCells(new int[] {0, 0, 7, 0}, new int[] {1, 1, 0, 2});
+
+        assertEquals(4, results.moveCount());
+        assertEquals(MoveResults.REVEALED, results.outcome(0), "A safe cell should be uncovered.");
+        assertEquals(MoveResults.ALREADY_REVEALED, results.outcome(1), "An uncovered cell should be reported as such.");
+        assertEquals(MoveResults.INVALID, results.outcome(2), "A cell outside the board should be rejected.");
+        assertEquals(MoveResults.MINE, results.outcome(3), "A mine should be reported.");
+        assertEquals(GameState.LOST, game.getState(), "Uncovering a mine should lose the game.");
+
+        assertEquals(1, results.revealedCount(), "Only A2 should have been uncovered.");
+        assertEquals(0, results.firstRevealed(0));
+        assertEquals(1, results.firstRevealed(1));
+        assertEquals(1, results.firstRevealed(4));
+        assertEquals(0, results.revealedRow(0));
+        assertEquals(1, results.revealedCol(0));
+        assertEquals(1, results.adjacentMines(0), "A2 has one adjacent mine.");
+    }
+
+    @Test
+    public void testUncoverCellsUntilOver_whenMoveLosesTheGame_shouldNotApplyTheMovesAfterIt() {
+        // Act: The first three moves of A2, A3 (mine), B1 and C3, then another batch on the lost game
+        MoveResults results = game.uncoverCellsUntilOver(new int[] {0, 0, 1, 2}, new int[] {1, 2, 0, 2}, 3);
+        MoveResults afterLoss = game.uncoverCellsUntilOver(new int[] {2}, new int[] {2}, 1);
+
+        // Assert: The batch stops at the mine, and B1 stays hidden
+        assertEquals(2, results.moveCount(), "No move should be applied after the mine.");
+        assertEquals(MoveResults.MINE, results.outcome(1), "The mine should be the last move applied.");
+        assertEquals(1, results.firstRevealed(2), "Only A2 should have been uncovered.");
+        assertFalse(game.isRevealed(1, 0), "B1 comes after the mine and should stay hidden.");
+        assertEquals(0, afterLoss.moveCount(), "No move should be applied to a lost game.");
+    }
+
+    @Test
+    public void testUncoverCells_whenZeroRegionIsUncovered_shouldListEveryCellOfTheRegionWithoutConsoleOutput() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outputStream));
+        MoveResults results;
+        try {
+            // Act: Uncover C5, whose region spreads over the right side of the board, packed as a long
+            results = game.uncoverCells(new long[] {(2L << 32) | 4});
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertEquals("", outputStream.toString(), "Batches should not write to the console.");
+        assertEquals(MoveResults.REVEALED, results.outcome(0));
+        assertEquals(results.revealedCount(), results.firstRevealed(1), "Every uncovered cell belongs to the only move.");
+        for (int i = 0; i < results.revealedCount(); i++) {
+            int row = results.revealedRow(i);
+            int col = results.revealedCol(i);
+            assertEquals(game.getCell(row, col), (char) ('0' + results.adjacentMines(i)), "Cell (" + row + ", " + col + ")");
+        }
+        assertTrue(results.revealedCount() > 1, "A cell with no adjacent mines should uncover its neighbours.");
+    }
+}
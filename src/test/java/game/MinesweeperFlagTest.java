@@ -0,0 +1,116 @@
+package game;
+
+import board.PackedBoard;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinesweeperFlagTest {
+
+    @Test
+    public void testGetFlaggedNeighbours_whenCellsAreFlaggedAndUnflagged_shouldMatchRescan() {
+        // Arrange: A board without mines, so that every cell can be flagged
+        Random random = new Random(19);
+        int size = 13;
+        Minesweeper game = new Minesweeper(new PackedBoard(size));
+        boolean[][] flagged = new boolean[size][size];
+
+        for (int step = 0; step < 2000; step++) {
+            // Act: Flag or unflag a random cell
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            boolean changed = flagged[row][col] ? game.unflag(row, col) : game.flag(row, col);
+            flagged[row][col] = !flagged[row][col];
+
+            // Assert: The maintained counts match a count of the flags around every cell
+            assertTrue(changed, "Step " + step + " should change the flag.");
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    assertEquals(countFlaggedNeighbours(flagged, r, c), game.getFlaggedNeighbours(r, c),
+                        "Step " + step + ", cell (" + r + ", " + c + ")");
+                }
+            }
+        }
+        assertFalse(game.unflag(-1, 0), "Cells outside the board are never flagged.");
+    }
+
+    @Test
+    public void testChord_whenFlagsMatchNumber_shouldUncoverOtherNeighbours() {
+        // Arrange: A mine at (0, 1) and one at (4, 4); (1, 1) shows 1
+        PackedBoard board = new PackedBoard(5);
+        board.placeMine(0, 1);
+        board.placeMine(4, 4);
+        Minesweeper game = new Minesweeper(board);
+        game.applyMove(1, 1);
+
+        // Act: Chord before and after flagging the mine
+        byte unsatisfied = game.chord(1, 1);
+        game.flag(0, 1);
+        byte chorded = game.chord(1, 1);
+
+        // Assert: The chord only applies once the flag matches the number, and expands like a move
+        assertEquals(MoveResults.UNSATISFIED, unsatisfied, "No neighbour is flagged yet.");
+        assertEquals(MoveResults.REVEALED, chorded, "The flag matches the number.");
+        assertFalse(game.isRevealed(0, 1), "The flagged mine stays hidden.");
+        assertTrue(game.isRevealed(2, 2), "An unflagged neighbour is uncovered.");
+        assertTrue(game.isRevealed(3, 0), "A neighbour with no adjacent mines expands the safe area.");
+        assertEquals(GameState.WON, game.getState(), "The chord uncovered every safe cell.");
+        assertEquals(MoveResults.UNSATISFIED, game.chord(4, 4), "A hidden cell cannot be chorded.");
+        assertEquals(MoveResults.INVALID, game.chord(5, 0), "A cell outside the board cannot be chorded.");
+    }
+
+    @Test
+    public void testChord_whenFlagIsWrong_shouldUncoverMineAndLose() {
+        // Arrange: A mine at (0, 0), with the wrong neighbour of (1, 1) flagged
+        PackedBoard board = new PackedBoard(4);
+        board.placeMine(0, 0);
+        Minesweeper game = new Minesweeper(board);
+        game.applyMove(1, 1);
+        game.flag(0, 2);
+
+        // Act: Chord the number
+        byte outcome = game.chord(1, 1);
+
+        // Assert: The mine is uncovered and the game lost
+        assertEquals(MoveResults.MINE, outcome, "The unflagged mine should be uncovered.");
+        assertEquals(GameState.LOST, game.getState(), "Uncovering a mine loses the game.");
+    }
+
+    @Test
+    public void testApplyMove_whenCellsAreFlagged_shouldNeverUncoverThem() {
+        // Arrange: An empty 3x3 board with its middle row flagged
+        Minesweeper game = new Minesweeper(new PackedBoard(3));
+        for (int col = 0; col < 3; col++) {
+            game.flag(1, col);
+        }
+
+        // Act: Play a flagged cell, then flood the top row
+        byte flaggedMove = game.applyMove(1, 1);
+        game.applyMove(0, 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        game.displayBoard(new PrintStream(out, true));
+
+        // Assert: The flood fill stops at the flags, which are displayed as 'F'
+        assertEquals(MoveResults.FLAGGED, flaggedMove, "A flagged cell cannot be uncovered.");
+        assertFalse(game.isRevealed(2, 0), "The flood fill should not cross the flags.");
+        assertEquals(3, game.getFlagCount(), "Three cells are flagged.");
+        assertTrue(out.toString().contains("B F F F"), "Flagged cells should be displayed as 'F':\n" + out);
+        assertFalse(game.flag(0, 0), "An uncovered cell cannot be flagged.");
+    }
+
+    private static int countFlaggedNeighbours(boolean[][] flagged, int row, int col) {
+        int count = 0;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, flagged.length - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, flagged.length - 1); c++) {
+                if ((r != row || c != col) && flagged[r][c]) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,132 @@
+package game;
+
+import board.BitSetBoard;
+import org.junit.jupiter.api.Test;
+import services.RandomMinePlacer;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinesweeperForkTest {
+    private static final int SIZE = 40;
+    private static final int MINES = 200;
+
+    @Test
+    public void testFork_whenGamesPlayDifferentMoves_shouldNotSeeEachOthersMoves() {
+        // Arrange: A game with a few moves played, forked twice
+        Random random = new Random(17);
+        int[] opening = randomMoves(random, 5);
+        Minesweeper parent = newGame(opening);
+        Minesweeper first = parent.fork();
+        Minesweeper second = parent.fork();
+
+        // Act: Play different moves on each game
+        int[] parentMoves = randomMoves(random, 30);
+        int[] firstMoves = randomMoves(random, 30);
+        int[] secondMoves = randomMoves(random, 30);
+        play(parent, parentMoves);
+        play(first, firstMoves);
+        play(second, secondMoves);
+
+        // Assert: Each game matches a fresh game which played only its own moves
+        assertSameGame(newGame(opening, parentMoves), parent, "parent");
+        assertSameGame(newGame(opening, firstMoves), first, "first fork");
+        assertSameGame(newGame(opening, secondMoves), second, "second fork");
+    }
+
+    @Test
+    public void testFork_whenForkIsForked_shouldKeepEveryGenerationIndependent() {
+        // Arrange: A chain of forks, each playing moves after being forked
+        Random random = new Random(18);
+        int[] opening = randomMoves(random, 3);
+        Minesweeper parent = newGame(opening);
+        Minesweeper child = parent.fork();
+        int[] childMoves = randomMoves(random, 20);
+        play(child, childMoves);
+        Minesweeper grandchild = child.fork();
+
+        // Act: Play more moves on the grandchild only
+        int[] grandchildMoves = randomMoves(random, 20);
+        play(grandchild, grandchildMoves);
+
+        // Assert: The grandchild has both sets of moves, its ancestors are untouched
+        assertSameGame(newGame(opening), parent, "parent");
+        assertSameGame(newGame(opening, childMoves), child, "child");
+        assertSameGame(newGame(opening, childMoves, grandchildMoves), grandchild, "grandchild");
+    }
+
+    @Test
+    public void testFork_whenForkUncoversOneCell_shouldOnlyCopyOneTile() {
+        // Arrange: A 2000x2000 board with a single mine, so uncovering its neighbour uncovers nothing else
+        BitSetBoard board = new BitSetBoard(2000);
+        board.placeMine(1000, 1001);
+        Minesweeper parent = new Minesweeper(board);
+        Minesweeper fork = parent.fork();
+
+        // Act: Uncover a single cell on the fork
+        fork.applyMove(1000, 1000);
+
+        // Assert: The fork paid for one tile and the three branches above it, and nothing was copied for the parent
+        assertEquals(64 + 3 * 128, fork.getBoard().footprintBytes(), "Only the path to the changed tile should be copied.");
+        assertEquals(0, parent.getBoard().footprintBytes(), "The parent has not changed since the fork.");
+        assertEquals(1, fork.getBoard().revealedCount(), "The fork uncovered one cell.");
+        assertFalse(parent.isRevealed(1000, 1000), "The parent should not see the fork's move.");
+    }
+
+    @Test
+    public void testFork_whenForkUncoversMine_shouldOnlyLoseTheFork() {
+        // Arrange: A game with its frontier tracked and one cell uncovered next to the only mine
+        BitSetBoard board = new BitSetBoard(10);
+        board.placeMine(5, 5);
+        Minesweeper parent = new Minesweeper(board);
+        parent.trackFrontier();
+        parent.applyMove(5, 4);
+        Minesweeper fork = parent.fork();
+
+        // Act: Uncover the mine on the fork, then fork the lost game
+        byte outcome = fork.applyMove(5, 5);
+        Minesweeper lostFork = fork.fork();
+
+        // Assert: Only the fork and its own fork are lost, and the frontier was copied with its pending changes
+        assertEquals(MoveResults.MINE, outcome, "The fork should uncover the mine.");
+        assertEquals(GameState.LOST, fork.getState(), "The fork is lost.");
+        assertEquals(GameState.LOST, lostFork.getState(), "A fork of a lost game is lost.");
+        assertEquals(GameState.ONGOING, parent.getState(), "The parent is still being played.");
+        assertFalse(parent.isRevealed(5, 5), "The parent should not see the mine.");
+        assertTrue(fork.isFrontier(5, 4), "The fork should inherit the frontier.");
+        assertEquals(1, fork.drainFrontierChanges().length, "The fork should inherit the pending frontier changes.");
+        assertEquals(1, parent.drainFrontierChanges().length, "The parent keeps its own pending changes.");
+    }
+
+    private static int[] randomMoves(Random random, int count) {
+        int[] moves = new int[count];
+        for (int i = 0; i < count; i++) {
+            moves[i] = random.nextInt(SIZE * SIZE);
+        }
+        return moves;
+    }
+
+    private static Minesweeper newGame(int[]... moves) {
+        Minesweeper game = new Minesweeper(new RandomMinePlacer(42), new BitSetBoard(SIZE), MINES);
+        for (int[] batch : moves) {
+            play(game, batch);
+        }
+        return game;
+    }
+
+    private static void play(Minesweeper game, int[] moves) {
+        for (int move : moves) {
+            game.applyMove(move / SIZE, move % SIZE);
+        }
+    }
+
+    private static void assertSameGame(Minesweeper expected, Minesweeper actual, String name) {
+        assertEquals(expected.getState(), actual.getState(), "The state of the " + name + " should match.");
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                assertEquals(expected.isRevealed(row, col), actual.isRevealed(row, col), name + " at (" + row + ", " + col + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+import services.MinePlacer;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinesweeperFrontierTest {
+
+    @Test
+    public void testTrackFrontier_whenRandomMovesArePlayed_shouldMatchFullScan() {
+        Random random = new Random(8);
+        for (int trial = 0; trial < 100; trial++) {
+            // Arrange: A random board whose frontier is tracked from the start
+            int size = 2 + random.nextInt(20);
+            boolean[][] mines = new boolean[size][size];
+            for (boolean[] row : mines) {
+                for (int col = 0; col < size; col++) {
+                    row[col] = random.nextDouble() < 0.15;
+                }
+            }
+            Minesweeper game = new Minesweeper(fixedMinePlacer(mines), size, 0);
+            game.trackFrontier();
+
+            for (int move = 0; move < 10; move++) {
+                // Act: Uncover a random safe cell
+                int row = random.nextInt(size);
+                int col = random.nextInt(size);
+                if (mines[row][col]) continue;
+                game.applyMove(row, col);
+
+                // Assert: The incremental frontier is the one found by scanning the whole board
+                assertArrayEquals(scanFrontier(game), sorted(game.getFrontier()), "Trial " + trial + ", move " + move);
+            }
+        }
+    }
+
+    @Test
+    public void testDrainFrontierChanges_whenCellsAreUncovered_shouldReturnEachOnce() {
+        // Arrange: A board with a single mine in the corner
+        boolean[][] mines = new boolean[4][4];
+        mines[3][3] = true;
+        Minesweeper game = new Minesweeper(fixedMinePlacer(mines), 4, 1);
+        game.trackFrontier();
+
+        // Act: Uncover the opposite corner, which uncovers every safe cell
+        game.applyMove(0, 0);
+        long[] changes = game.drainFrontierChanges();
+
+        // Assert: The 15 safe cells are reported once, and the frontier holds the three cells around the mine
+        assertEquals(15, changes.length, "Every uncovered cell should be reported.");
+        assertEquals(0, game.drainFrontierChanges().length, "Changes should only be reported once.");
+        assertEquals(3, game.getFrontierSize(), "The cells around the mine border a hidden cell.");
+        assertTrue(game.isFrontier(2, 2), "The cell diagonal to the mine is in the frontier.");
+        assertFalse(game.isFrontier(0, 0), "A cell with no adjacent mines is never in the frontier.");
+    }
+
+    @Test
+    public void testTrackFrontier_whenCellsWereAlreadyUncovered_shouldBuildFrontierFromBoard() {
+        boolean[][] mines = new boolean[5][5];
+        mines[4][4] = true;
+        mines[0][4] = true;
+        Minesweeper game = new Minesweeper(fixedMinePlacer(mines), 5, 2);
+        game.applyMove(0, 0);
+
+        game.trackFrontier();
+
+        assertArrayEquals(scanFrontier(game), sorted(game.getFrontier()), "The initial frontier should match a full scan.");
+        assertEquals(game.getFrontierSize(), game.drainFrontierChanges().length, "Every initial frontier cell should be reported as a change.");
+    }
+
+    @Test
+    public void testIsFrontier_whenFrontierIsNotTracked_shouldThrow() {
+        Minesweeper game = new Minesweeper(fixedMinePlacer(new boolean[3][3]), 3, 0);
+
+        assertThrows(IllegalStateException.class, () -> game.isFrontier(0, 0), "The frontier must be tracked first.");
+    }
+
+    private static long[] scanFrontier(Minesweeper game) {
+        int size = game.getSize();
+        return IntStream.range(0, size * size)
+            .filter(index -> {
+                int row = index / size;
+                int col = index % size;
+                if (game.getAdjacentMines(row, col) <= 0) return false;
+                for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, size - 1); r++) {
+                    for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, size - 1); c++) {
+                        if (!game.isRevealed(r, c)) return true;
+                    }
+                }
+                return false;
+            })
+            .mapToLong(index -> ((long) (index / size) << 32) | (index % size))
+            .sorted()
+            .toArray();
+    }
+
+    private static long[] sorted(long[] cells) {
+        Arrays.sort(cells);
+        return cells;
+    }
+
+    private static MinePlacer fixedMinePlacer(boolean[][] mines) {
+        return (size, mineCount) -> mines;
+    }
+}
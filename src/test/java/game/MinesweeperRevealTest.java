@@ -0,0 +1,254 @@
+package game;
+
+import board.BitSetBoard;
+import board.BoardStorage;
+import board.ChunkedBoard;
+import board.PackedBoard;
+import board.SparseBoard;
+import org.junit.jupiter.api.Test;
+import services.MinePlacer;
+import services.RandomMinePlacer;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinesweeperRevealTest {
+
+    @Test
+    public void testUncoverCell_whenRandomBoardsArePlayed_shouldMatchRecursiveReveal() {
+        Random random = new Random(42);
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int trial = 0; trial < 200; trial++) {
+                // Arrange: Create a small board with a random density of mines
+                int size = 1 + random.nextInt(12);
+                boolean[][] mines = randomMines(random, size, random.nextDouble() * 0.35);
+                Minesweeper game = new Minesweeper(fixedMinePlacer(mines), size, 0);
+                char[][] expected = hiddenBoard(size);
+
+                // Act: Uncover random safe cells in the game and in the recursive reference
+                for (int move = 0; move < 5; move++) {
+                    int row = random.nextInt(size);
+                    int col = random.nextInt(size);
+                    if (mines[row][col]) continue;
+                    game.uncoverCell(row, col);
+                    recursiveReveal(mines, expected, row, col);
+
+                    // Assert: Both boards show exactly the same cells
+                    assertBoardEquals(expected, game, "Trial " + trial + ", move " + move);
+                }
+            }
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    public void testUncoverCell_whenSafeAreaIsVeryLarge_shouldRevealItWithoutOverflowingTheStack() {
+        // Arrange: Create a 5000x5000 board with a single mine in the bottom right corner
+        int size = 5000;
+        boolean[][] mines = new boolean[size][size];
+        mines[size - 1][size - 1] = true;
+        Minesweeper game = new Minesweeper(fixedMinePlacer(mines), size, 1);
+
+        // Act: Uncover the top left cell, which has no adjacent mines
+        boolean result = game.uncoverCell(0, 0);
+
+        // Assert: Every safe cell has been revealed by the single move
+        assertTrue(result, "The cell should be uncovered successfully.");
+        assertEquals('1', game.getCell(size - 2, size - 2), "Cells next to the mine should show '1'.");
+        assertEquals('_', game.getCell(size - 1, size - 1), "The mine should remain hidden.");
+        assertTrue(game.isGameWon(), "The game should be won after the whole safe area is revealed.");
+    }
+
+    @Test
+    public void testUncoverCell_whenPlayedOnDifferentBackends_shouldRevealTheSameCells() {
+        Random random = new Random(11);
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int trial = 0; trial < 50; trial++) {
+                // Arrange: Create the same game on a packed board and on a bitset board
+                int size = 1 + random.nextInt(20);
+                boolean[][] mines = randomMines(random, size, random.nextDouble() * 0.2);
+                BoardStorage packed = new PackedBoard(size);
+                BoardStorage bitSet = new BitSetBoard(size);
+                Minesweeper packedGame = new Minesweeper(fixedMinePlacer(mines), packed, 0);
+                Minesweeper bitSetGame = new Minesweeper(fixedMinePlacer(mines), bitSet, 0);
+
+                // Act: Uncover the same random cells in both games
+                for (int move = 0; move < 5; move++) {
+                    int row = random.nextInt(size);
+                    int col = random.nextInt(size);
+                    assertEquals(packedGame.uncoverCell(row, col), bitSetGame.uncoverCell(row, col), "Trial " + trial);
+                }
+
+                // Assert: Both games show the same cells and state
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < size; j++) {
+                        assertEquals(packedGame.getCell(i, j), bitSetGame.getCell(i, j), "Trial " + trial + ": cell (" + i + ", " + j + ")");
+                    }
+                }
+                assertEquals(packedGame.getState(), bitSetGame.getState(), "Trial " + trial);
+            }
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    public void testUncoverCell_whenBoardIsEndless_shouldOnlyGenerateChunksNearTheRevealedArea() {
+        // Arrange: An endless board with roughly 20% mines, too dense for a zero region to spread far
+        ChunkedBoard board = new ChunkedBoard(5, 800, 64, RandomMinePlacer::new);
+        Minesweeper game = new Minesweeper(board);
+        int middle = 1 << 30;
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        try {
+            // Act: Uncover safe cells in the middle of the board
+            int moves = 0;
+            for (int col = middle; moves < 20; col++) {
+                if (!board.isMine(middle, col)) {
+                    assertTrue(game.uncoverCell(middle, col), "Safe cells should be uncovered successfully.");
+                    moves++;
+                }
+            }
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        // Assert: Only the explored neighbourhood holds any state
+        assertEquals(GameState.ONGOING, game.getState(), "An endless game should still be ongoing.");
+        assertTrue(board.revealedCount() >= 20, "The uncovered cells should be recorded.");
+        assertTrue(board.revealedChunkCount() < 64, "Only chunks near the uncovered area should hold uncovered cells.");
+        assertTrue(board.cachedChunkCount() <= 64, "The cache should never hold more chunks than its limit.");
+    }
+
+    @Test
+    public void testUncoverCells_whenParallelRevealIsEnabled_shouldUncoverExactlyTheSequentialCells() {
+        Random random = new Random(23);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int trial = 0; trial < 30; trial++) {
+                // Arrange: The same sparse board in a sequential game and in a parallel game with a tiny threshold
+                int size = 50 + random.nextInt(250);
+                boolean[][] mines = randomMines(random, size, random.nextDouble() * 0.1);
+                BoardStorage parallelBoard = trial % 3 == 0 ? new PackedBoard(size) : trial % 3 == 1 ? new BitSetBoard(size) : new SparseBoard(size);
+                Minesweeper sequentialGame = new Minesweeper(fixedMinePlacer(mines), size, 0);
+                Minesweeper parallelGame = new Minesweeper(fixedMinePlacer(mines), parallelBoard, 0);
+                parallelGame.setParallelReveal(pool, 1 + random.nextInt(100));
+                assertTrue(parallelBoard.supportsConcurrentReveal(), "Trial " + trial + ": every board should support parallel reveals.");
+
+                // Act: Uncover the same cells in both games
+                int[] rows = new int[10];
+                int[] cols = new int[10];
+                for (int move = 0; move < rows.length; move++) {
+                    rows[move] = random.nextInt(size);
+                    cols[move] = random.nextInt(size);
+                }
+                MoveResults sequentialResults = sequentialGame.uncoverCells(rows, cols);
+                MoveResults parallelResults = parallelGame.uncoverCells(rows, cols);
+
+                // Assert: Both games uncovered the same cells and reached the same state
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < size; j++) {
+                        assertEquals(sequentialGame.getCell(i, j), parallelGame.getCell(i, j), "Trial " + trial + ": cell (" + i + ", " + j + ")");
+                    }
+                }
+                assertEquals(sequentialResults.revealedCount(), parallelResults.revealedCount(), "Trial " + trial);
+                for (int move = 0; move <= rows.length; move++) {
+                    assertEquals(sequentialResults.firstRevealed(move), parallelResults.firstRevealed(move), "Trial " + trial + ", move " + move);
+                }
+                assertEquals(sequentialGame.getState(), parallelGame.getState(), "Trial " + trial);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testUncoverCell_whenParallelRevealCoversWholeBoard_shouldWinTheGame() {
+        // Arrange: A 2000x2000 board with a single mine, revealed in parallel
+        int size = 2000;
+        PackedBoard board = new PackedBoard(size);
+        board.placeMine(size - 1, size - 1);
+        Minesweeper game = new Minesweeper(board);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        game.setParallelReveal(pool, 1000);
+
+        // Act
+        MoveResults results = game.uncoverCells(new int[] {0}, new int[] {0});
+        pool.shutdown();
+
+        assertEquals((long) size * size - 1, board.revealedCount(), "Every safe cell should be uncovered exactly once.");
+        assertEquals(size * size - 1, results.revealedCount(), "Every uncovered cell should be recorded exactly once.");
+        assertTrue(game.isGameWon(), "The game should be won after the whole safe area is revealed.");
+    }
+
+    private static MinePlacer fixedMinePlacer(boolean[][] mines) {
+        return (size, mineCount) -> mines;
+    }
+
+    private static boolean[][] randomMines(Random random, int size, double density) {
+        boolean[][] mines = new boolean[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                mines[i][j] = random.nextDouble() < density;
+            }
+        }
+        return mines;
+    }
+
+    private static char[][] hiddenBoard(int size) {
+        char[][] board = new char[size][size];
+        for (char[] row : board) {
+            Arrays.fill(row, '_');
+        }
+        return board;
+    }
+
+    /**
+     * Reference implementation of the original recursive reveal.
+     */
+    private static void recursiveReveal(boolean[][] mines, char[][] board, int row, int col) {
+        int size = mines.length;
+        if (row < 0 || row >= size || col < 0 || col >= size || board[row][col] != '_') {
+            return;
+        }
+        int adjacentMines = 0;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                int newRow = row + dr;
+                int newCol = col + dc;
+                if (newRow >= 0 && newRow < size && newCol >= 0 && newCol < size && mines[newRow][newCol]) {
+                    adjacentMines++;
+                }
+            }
+        }
+        board[row][col] = (char) ('0' + adjacentMines);
+        if (adjacentMines == 0) {
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    if (dr != 0 || dc != 0) {
+                        recursiveReveal(mines, board, row + dr, col + dc);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertBoardEquals(char[][] expected, Minesweeper game, String message) {
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected.length; j++) {
+                assertEquals(expected[i][j], game.getCell(i, j), message + ": cell (" + i + ", " + j + ")");
+            }
+        }
+    }
+}
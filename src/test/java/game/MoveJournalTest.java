@@ -0,0 +1,88 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import services.RandomMinePlacer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testReplay_whenMovesWereRecorded_shouldRebuildTheSameGame() throws IOException {
+        // Arrange: Record random moves of a seeded game, across a reopening of the journal
+        Path file = this.tempDir.resolve("game.journal");
+        Minesweeper game = new Minesweeper(new RandomMinePlacer(42), 30, 90);
+        Random random = new Random(1);
+        try (MoveJournal journal = MoveJournal.create(file, 30, 90, 42)) {
+            playRandomMoves(game, journal, random, 10);
+        }
+        try (MoveJournal journal = MoveJournal.open(file)) {
+            assertEquals(10, journal.moveCount(), "The recorded moves should be counted on reopening.");
+            playRandomMoves(game, journal, random, 10);
+        }
+
+        // Act: Replay the journal
+        Minesweeper replayed = MoveJournal.replay(file);
+
+        // Assert: The replayed game is the recorded one
+        assertEquals(game.getState(), replayed.getState(), "The state should match.");
+        assertEquals(game.getRevealedCount(), replayed.getRevealedCount(), "The uncovered cell count should match.");
+        for (int row = 0; row < 30; row++) {
+            for (int col = 0; col < 30; col++) {
+                assertEquals(game.getCell(row, col), replayed.getCell(row, col), "Cell (" + row + ", " + col + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testReplay_whenLastRecordIsCutShort_shouldIgnoreIt() throws IOException {
+        // Arrange: A journal with one move, followed by half of another record as left by a crash
+        Path file = this.tempDir.resolve("torn.journal");
+        try (MoveJournal journal = MoveJournal.create(file, 10, 10, 7)) {
+            journal.append(5, 5);
+        }
+        Files.write(file, ByteBuffer.allocate(4).putInt(3).array(), StandardOpenOption.APPEND);
+        Minesweeper expected = new Minesweeper(new RandomMinePlacer(7), 10, 10);
+        expected.applyMove(5, 5);
+
+        // Act: Replay the journal, then reopen it and record another move
+        Minesweeper replayed = MoveJournal.replay(file);
+        try (MoveJournal journal = MoveJournal.open(file)) {
+            journal.append(0, 0);
+        }
+
+        // Assert: Only the complete move is replayed, and the torn record is overwritten
+        assertEquals(expected.getRevealedCount(), replayed.getRevealedCount(), "The torn record should be ignored.");
+        assertEquals(32 + 2 * 8, Files.size(file), "The new move should replace the torn record.");
+    }
+
+    @Test
+    public void testOpen_whenFileIsNotAJournal_shouldThrowIOException() throws IOException {
+        // Arrange: A file of another format
+        Path file = Files.write(this.tempDir.resolve("other.journal"), "not a journal".getBytes());
+
+        // Act & Assert: The file is rejected
+        assertThrows(IOException.class, () -> MoveJournal.open(file), "A file of another format should be rejected.");
+        assertThrows(IOException.class, () -> MoveJournal.replay(file), "A file of another format should be rejected.");
+    }
+
+    private static void playRandomMoves(Minesweeper game, MoveJournal journal, Random random, int moves) throws IOException {
+        for (int i = 0; i < moves; i++) {
+            int row = random.nextInt(game.getSize());
+            int col = random.nextInt(game.getSize());
+            journal.append(row, col);
+            game.applyMove(row, col);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+import render.RowLabels;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveReaderTest {
+
+    @Test
+    public void testRead_whenLabelsSpanBufferRefills_shouldReturnEveryMoveInOrder() throws IOException {
+        // Arrange: Labels with up to three letters, separated in every supported way, read through a tiny buffer
+        Random random = new Random(22);
+        String[] separators = {" ", "\n", "\r\n", ",", "\t", " # comment A1\n"};
+        int moves = 5000;
+        int[] expectedRows = new int[moves];
+        int[] expectedCols = new int[moves];
+        StringBuilder script = new StringBuilder("# header\n");
+        for (int i = 0; i < moves; i++) {
+            expectedRows[i] = random.nextInt(20000);
+            expectedCols[i] = random.nextInt(20000);
+            script.append(RowLabels.label(expectedRows[i])).append(expectedCols[i] + 1)
+                .append(separators[random.nextInt(separators.length)]);
+        }
+        MoveReader reader = new MoveReader(new ByteArrayInputStream(script.toString().getBytes(StandardCharsets.US_ASCII)), 7);
+
+        // Act: Read the moves in batches that do not divide the move count
+        int[] rows = new int[300];
+        int[] cols = new int[300];
+        int read = 0;
+        for (int count = reader.read(rows, cols); count > 0; count = reader.read(rows, cols)) {
+            for (int i = 0; i < count; i++, read++) {
+                // Assert: Each move matches its label
+                assertEquals(expectedRows[read], rows[i], "Row of move " + read);
+                assertEquals(expectedCols[read], cols[i], "Column of move " + read);
+            }
+        }
+        assertEquals(moves, read, "Every move should be read.");
+        assertEquals(-1, reader.read(rows, cols), "The end of the script should be reported again.");
+    }
+
+    @Test
+    public void testRead_whenTextIsNotALabel_shouldThrowWithLine() throws IOException {
+        // Arrange: A valid move, a move outside the board, then a malformed one on the third line
+        MoveReader reader = new MoveReader(new ByteArrayInputStream("A1\nZZZZZZZZ99999999999\n1A\n".getBytes(StandardCharsets.US_ASCII)));
+        int[] rows = new int[1];
+        int[] cols = new int[1];
+
+        // Act & Assert: Labels outside any board are still returned, so the game can report them
+        assertEquals(1, reader.read(rows, cols), "A1 should be read.");
+        assertEquals(1, reader.read(rows, cols), "A label outside the board should be read.");
+        assertEquals(Integer.MAX_VALUE, rows[0], "A row too large for an int should saturate.");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> reader.read(rows, cols), "1A is not a label.");
+        assertTrue(e.getMessage().contains("line 3"), "The message should give the line: " + e.getMessage());
+    }
+
+    @Test
+    public void testParseCell_whenLabelHasSeveralLetters_shouldCheckBounds() {
+        // Act & Assert
+        assertEquals((26L << 32) | 2, MoveReader.parseCell("AA3", 30), "AA is the 27th row.");
+        assertEquals((29L << 32) | 29, MoveReader.parseCell("AD30", 30), "AD30 is the last cell of a 30x30 board.");
+        assertEquals(-1, MoveReader.parseCell("AE1", 30), "AE is the 31st row.");
+        assertEquals(-1, MoveReader.parseCell("A31", 30), "Column 31 is outside the board.");
+        assertEquals(-1, MoveReader.parseCell("A0", 30), "Columns start from 1.");
+        assertEquals(-1, MoveReader.parseCell("a1", 30), "Row labels are upper case.");
+        assertEquals(-1, MoveReader.parseCell("A1x", 30), "Trailing characters are not allowed.");
+        assertEquals(-1, MoveReader.parseCell("12", 30), "A row label is required.");
+    }
+}
@@ -0,0 +1,125 @@
+package game;
+
+import board.BitSetBoard;
+import board.CopyOnWriteBoard;
+import board.PackedBoard;
+import org.junit.jupiter.api.Test;
+import services.RandomMinePlacer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedMinesweeperTest {
+    private static final int THREADS = 8;
+
+    @Test
+    public void testUncover_whenThreadsPlayOverlappingMoves_shouldUncoverEachCellOnce() throws InterruptedException {
+        Random random = new Random(20);
+        for (int trial = 0; trial < 30; trial++) {
+            // Arrange: A sparse board, so that flood fills are large and overlap, and a set of safe moves
+            int size = 60;
+            BitSetBoard board = new BitSetBoard(size);
+            new RandomMinePlacer(trial).placeMines(size, 250, board);
+            SharedMinesweeper shared = new SharedMinesweeper(board);
+            Minesweeper sequential = new Minesweeper(new RandomMinePlacer(trial), new BitSetBoard(size), 250);
+            List<Long> moves = new ArrayList<>();
+            while (moves.size() < 100) {
+                int row = random.nextInt(size);
+                int col = random.nextInt(size);
+                if (!board.isMine(row, col)) {
+                    moves.add(((long) row << 32) | col);
+                    sequential.applyMove(row, col);
+                }
+            }
+
+            // Act: Every thread plays every move, each in its own order, starting together
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> players = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                List<Long> order = new ArrayList<>(moves);
+                Collections.shuffle(order, new Random(trial * THREADS + t));
+                Thread player = new Thread(() -> {
+                    awaitQuietly(start);
+                    for (long move : order) {
+                        shared.uncover((int) (move >>> 32), (int) move);
+                    }
+                });
+                player.start();
+                players.add(player);
+            }
+            start.countDown();
+            for (Thread player : players) {
+                player.join();
+            }
+
+            // Assert: The shared game uncovered the same cells as one player alone, and counted each of them once
+            long uncovered = 0;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    assertEquals(sequential.isRevealed(row, col), shared.isRevealed(row, col), "Trial " + trial + " at (" + row + ", " + col + ")");
+                    uncovered += shared.isRevealed(row, col) ? 1 : 0;
+                }
+            }
+            assertEquals(uncovered, board.revealedCount(), "Trial " + trial + ": every cell should be counted once.");
+            assertEquals(sequential.getHiddenSafeCount(), shared.getHiddenSafeCount(), "Trial " + trial);
+            assertEquals(sequential.getState(), shared.getState(), "Trial " + trial);
+        }
+    }
+
+    @Test
+    public void testUncover_whenLastSafeCellAndMineRace_shouldEndGameOnce() throws InterruptedException {
+        for (int trial = 0; trial < 200; trial++) {
+            // Arrange: A 2x2 board with a mine in one corner and one of its three safe cells left
+            PackedBoard board = new PackedBoard(2);
+            board.placeMine(0, 0);
+            board.setRevealed(0, 1);
+            board.setRevealed(1, 0);
+            SharedMinesweeper shared = new SharedMinesweeper(board);
+            CountDownLatch start = new CountDownLatch(1);
+            byte[] outcomes = new byte[2];
+
+            // Act: Uncover the last safe cell and the mine at the same time
+            Thread winner = new Thread(() -> {
+                awaitQuietly(start);
+                outcomes[0] = shared.uncover(1, 1);
+            });
+            Thread loser = new Thread(() -> {
+                awaitQuietly(start);
+                outcomes[1] = shared.uncover(0, 0);
+            });
+            winner.start();
+            loser.start();
+            start.countDown();
+            winner.join();
+            loser.join();
+
+            // Assert: Both moves were applied, and the game ended exactly once, in whichever state came first
+            assertEquals(MoveResults.REVEALED, outcomes[0], "The safe cell should be uncovered.");
+            assertEquals(MoveResults.MINE, outcomes[1], "The mine should be uncovered.");
+            assertEquals(0, shared.getHiddenSafeCount(), "Every safe cell is uncovered.");
+            assertNotEquals(GameState.ONGOING, shared.getState(), "Trial " + trial + ": the game should be over.");
+        }
+    }
+
+    @Test
+    public void testConstructor_whenBoardCannotBeClaimedConcurrently_shouldThrow() {
+        // Arrange: A copy-on-write board, which only supports sequential reveals
+        CopyOnWriteBoard board = new CopyOnWriteBoard(new PackedBoard(3));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new SharedMinesweeper(board), "Cells must be claimable concurrently.");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
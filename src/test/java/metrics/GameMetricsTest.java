@@ -0,0 +1,125 @@
+package metrics;
+
+import board.PackedBoard;
+import game.Minesweeper;
+import org.junit.jupiter.api.Test;
+import services.RandomMinePlacer;
+import solver.BoardGenerator;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameMetricsTest {
+
+    @Test
+    public void testPercentile_whenValuesSpanManyMagnitudes_shouldBeWithinThreePercent() {
+        // Arrange: Record log-uniform values from 1 to 10^10
+        Random random = new Random(16);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.pow(10, random.nextDouble() * 10);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+            // Act: Estimate the percentile
+            long estimate = histogram.percentile(percentile);
+
+            // Assert: The estimate is the exact percentile, or above it by at most one bucket width
+            long exact = values[(int) Math.ceil(values.length * percentile / 100) - 1];
+            assertTrue(estimate >= exact && estimate <= exact + exact / 32, "p" + percentile + ": " + estimate + " for " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.max(), "The largest value should be exact.");
+        assertEquals(values.length, histogram.count(), "Every value should be counted.");
+    }
+
+    @Test
+    public void testOnMove_whenGameIsInstrumented_shouldReportEveryMove() {
+        // Arrange: An instrumented game with a single mine in the bottom right corner
+        GameMetrics metrics = new GameMetrics();
+        PackedBoard board = new PackedBoard(50);
+        board.placeMine(49, 49);
+        Minesweeper game = new Minesweeper(board);
+        game.setMetricsListener(metrics);
+
+        // Act: Uncover the opposite corner, which uncovers every safe cell, then play the same cell again
+        game.applyMove(0, 0);
+        game.applyMove(0, 0);
+
+        // Assert: Both moves, the uncovered cells, the flood fill's queue and the board are reported
+        assertEquals(1, metrics.getGameCount(), "The game should be reported once.");
+        assertEquals(2500, metrics.getBoardFootprintBytes(), "A packed board takes a byte per cell.");
+        assertEquals(2, metrics.getMoveCount(), "Every move should be timed.");
+        assertEquals(2499, metrics.getRevealedCellCount(), "Every safe cell was uncovered by the first move.");
+        assertEquals(2499, metrics.getMaxRevealedCellsPerMove(), "Every safe cell was uncovered by the first move.");
+        assertTrue(metrics.getFloodQueueHighWaterMark() >= 49, "The queue holds at least a diagonal of the board at once.");
+        assertTrue(metrics.getMoveLatencyMaxNanos() > 0, "The flood fill takes some time.");
+    }
+
+    @Test
+    public void testOnGameStarted_whenGameHasSafeStart_shouldReportTheBoardOfTheFirstMove() {
+        // Arrange: An instrumented game whose mines are only placed on the first move
+        GameMetrics metrics = new GameMetrics();
+        Minesweeper game = Minesweeper.withSafeStart(new BoardGenerator(new RandomMinePlacer(16), 16), 50, 100);
+        game.setMetricsListener(metrics);
+        assertEquals(0, metrics.getGameCount(), "The board does not exist before the first move.");
+
+        // Act: Play the first move
+        game.applyMove(25, 25);
+
+        // Assert: The board built around the first move is reported once
+        assertEquals(1, metrics.getGameCount(), "The game should be reported once.");
+        assertEquals(2500, metrics.getBoardFootprintBytes(), "A packed board takes a byte per cell.");
+        assertEquals(2500, metrics.getMaxBoardFootprintBytes(), "A packed board takes a byte per cell.");
+    }
+
+    @Test
+    public void testOnPlacement_whenPlacerIsInstrumented_shouldReportEveryPlacement() {
+        // Arrange: An instrumented placer filling most of a board, so draws often hit a mine
+        GameMetrics metrics = new GameMetrics();
+        RandomMinePlacer placer = new RandomMinePlacer(16);
+        placer.setMetricsListener(metrics);
+
+        // Act: Place mines twice, then once more after removing the listener
+        new Minesweeper(placer, 20, 300);
+        placer.placeMines(20, 300);
+        placer.setMetricsListener(null);
+        placer.placeMines(20, 300);
+
+        // Assert: Only the instrumented placements are reported
+        assertEquals(2, metrics.getPlacementCount(), "Every instrumented placement should be timed.");
+        assertTrue(metrics.getPlacementCollisionCount() > 0, "Filling 75% of the cells should hit existing mines.");
+        assertEquals(0, metrics.getMoveCount(), "No move was played.");
+    }
+
+    @Test
+    public void testRegister_whenRegistered_shouldExposeAttributesOverJmx() throws JMException {
+        // Arrange: Register metrics which have recorded one move
+        GameMetrics metrics = new GameMetrics();
+        Minesweeper game = new Minesweeper(new RandomMinePlacer(1), 10, 10);
+        game.setMetricsListener(metrics);
+        game.applyMove(5, 5);
+        ObjectName name = metrics.register("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            // Act: Read the attributes through the MBean server
+            Object moves = server.getAttribute(name, "MoveCount");
+            Object footprint = server.getAttribute(name, "BoardFootprintBytes");
+
+            // Assert: The attributes are those of the metrics
+            assertEquals(1L, moves, "The move count should be exposed.");
+            assertEquals(100L, footprint, "The board footprint should be exposed.");
+            assertThrows(JMException.class, () -> metrics.register("test"), "A name can only be registered once.");
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
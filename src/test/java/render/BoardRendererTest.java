@@ -0,0 +1,77 @@
+package render;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardRendererTest {
+    private static final String ESC = "\u001B";
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    public void testRender_whenBoardIsSmall_shouldMatchConsoleFormat() {
+        // Arrange: A 3x3 board with a single uncovered cell
+        char[][] glyphs = {{'_', '1', '_'}, {'_', '_', '_'}, {'0', '_', '_'}};
+
+        // Act
+        String output = render(new BoardRenderer(), (row, col) -> glyphs[row][col], 3, 0, 0, 3, 3);
+
+        assertEquals("  1 2 3 " + NL + "A _ 1 _ " + NL + "B _ _ _ " + NL + "C 0 _ _ " + NL, output,
+            "The frame should list column numbers, then one labelled line per row.");
+    }
+
+    @Test
+    public void testRender_whenViewportIsGiven_shouldOnlyShowWindowWithMultiLetterLabels() {
+        // Act: Render rows 25 to 27 and columns 9 to 10 of a 30x30 board
+        String output = render(new BoardRenderer(), (row, col) -> '_', 30, 25, 9, 3, 2);
+
+        assertEquals("   10 11 " + NL + "Z  _ _ " + NL + "AA _ _ " + NL + "AB _ _ " + NL, output,
+            "Rows past 'Z' should be labelled 'AA', 'AB', ... and labels padded to the same width.");
+    }
+
+    @Test
+    public void testRenderChanges_whenCellChanges_shouldOnlyRedrawThatCell() {
+        // Arrange: Draw the first ANSI frame of a 2x2 board
+        char[][] glyphs = {{'_', '_'}, {'_', '_'}};
+        BoardRenderer renderer = new BoardRenderer();
+        String first = renderChanges(renderer, (row, col) -> glyphs[row][col], 2);
+
+        // Act: Change one cell and draw again
+        glyphs[1][0] = '3';
+        String second = renderChanges(renderer, (row, col) -> glyphs[row][col], 2);
+
+        assertEquals(ESC + "[H" + ESC + "[2J" + "  1 2 " + NL + "A _ _ " + NL + "B _ _ " + NL, first,
+            "The first frame should clear the screen and draw the whole board.");
+        assertEquals(ESC + "[3;3H3" + ESC + "[4;1H", second,
+            "Later frames should only move to the changed cell, redraw it, and move below the board.");
+    }
+
+    @Test
+    public void testLabel_whenConvertedBackAndForth_shouldRoundTrip() {
+        assertEquals("A", RowLabels.label(0));
+        assertEquals("Z", RowLabels.label(25));
+        assertEquals("AA", RowLabels.label(26));
+        assertEquals("ZZ", RowLabels.label(701));
+        assertEquals("AAA", RowLabels.label(702));
+        for (int row = 0; row < 20_000; row += 7) {
+            assertEquals(row, RowLabels.parse(RowLabels.label(row)), "Row " + row + " should round trip.");
+        }
+        assertEquals(-1, RowLabels.parse("A1"), "Labels can only contain upper case letters.");
+    }
+
+    private static String render(BoardRenderer renderer, BoardView view, int size, int firstRow, int firstCol, int rows, int cols) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        renderer.render(view, size, firstRow, firstCol, rows, cols, new PrintStream(outputStream));
+        return outputStream.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static String renderChanges(BoardRenderer renderer, BoardView view, int size) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        renderer.renderChanges(view, size, 0, 0, size, size, new PrintStream(outputStream));
+        return outputStream.toString(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,187 @@
+package server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+    private GameServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        this.server = new GameServer(new InetSocketAddress("localhost", 0), new SessionStore(TimeUnit.MINUTES.toNanos(5), 64 << 20), 60_000);
+        this.server.start();
+        this.client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.close();
+    }
+
+    @Test
+    public void testUncover_whenGameIsCreated_shouldReturnUncoveredCellsAndDeltas() throws Exception {
+        // Arrange: Create a game without mines
+        HttpResponse<String> created = request("POST", "/games?size=5&mines=0&seed=1");
+        String id = field(created.body(), "id");
+
+        // Act: Uncover a corner, then ask for everything uncovered so far
+        HttpResponse<String> move = request("POST", "/games/" + id + "/uncover?row=0&col=0");
+        HttpResponse<String> delta = request("GET", "/games/" + id + "/delta?since=20");
+        HttpResponse<String> status = request("GET", "/games/" + id);
+        HttpResponse<String> board = request("GET", "/games/" + id + "/board");
+
+        // Assert: The move uncovers the whole board and wins the game
+        assertEquals(201, created.statusCode(), "Creating a game should succeed.");
+        assertEquals(200, move.statusCode(), "The move should succeed.");
+        assertTrue(move.body().startsWith("{\"outcome\":\"REVEALED\",\"state\":\"WON\""), move.body());
+        assertTrue(move.body().endsWith("\"next\":25}"), "All 25 cells should be uncovered: " + move.body());
+        assertEquals("{\"state\":\"WON\",\"cells\":[[4,0,0],[4,1,0],[4,2,0],[4,3,0],[4,4,0]],\"next\":25}", delta.body(),
+            "The delta should list the last five uncovered cells.");
+        assertTrue(status.body().contains("\"moves\":1,\"revealed\":25,\"hiddenSafe\":0"), status.body());
+        assertTrue(board.body().contains("A 0 0 0 0 0 "), "The board should be shown as text: " + board.body());
+    }
+
+    @Test
+    public void testHandle_whenRequestsAreInvalid_shouldReturnErrorStatus() throws Exception {
+        String id = field(request("POST", "/games?size=5&mines=3").body(), "id");
+
+        assertEquals(400, request("POST", "/games?size=5").statusCode(), "The mine count is missing.");
+        assertEquals(400, request("POST", "/games?size=5000&mines=1").statusCode(), "The board is too large.");
+        assertEquals(404, request("GET", "/games/unknown").statusCode(), "There is no such game.");
+        assertEquals(405, request("GET", "/games/" + id + "/uncover?row=0&col=0").statusCode(), "Moves must be posted.");
+        assertEquals(400, request("GET", "/games/" + id + "/delta?since=99").statusCode(), "Nothing has been uncovered yet.");
+        assertEquals(200, request("DELETE", "/games/" + id).statusCode(), "The game should be deleted.");
+        assertEquals(404, request("GET", "/games/" + id).statusCode(), "A deleted game is gone.");
+    }
+
+    @Test
+    public void testHandle_whenPathHoldsQuotesOrBudgetIsExhausted_shouldSendValidJsonErrors() throws Exception {
+        // Arrange: A server with room for a single 10x10 game
+        GameServer small = new GameServer(new InetSocketAddress("localhost", 0), new SessionStore(TimeUnit.MINUTES.toNanos(5), 3000), 60_000);
+        small.start();
+        try {
+            URI base = URI.create("http://localhost:" + small.port());
+
+            // Act: Ask for a game whose id holds a quote and a backslash, then create games until the budget runs out
+            HttpResponse<String> unknown = request("GET", "/games/%22x%5C");
+            HttpResponse<String> first = this.client.send(HttpRequest.newBuilder(base.resolve("/games?size=10&mines=1"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> refused = this.client.send(HttpRequest.newBuilder(base.resolve("/games?size=10&mines=1"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+
+            // Assert: The id is escaped, and only the exhausted budget is reported as 503
+            assertEquals(404, unknown.statusCode(), "There is no such game.");
+            assertEquals("{\"error\":\"No game \\\"x\\\\.\"}", unknown.body(), "The quote and backslash should be escaped.");
+            assertEquals(201, first.statusCode(), "The first game fits in the budget.");
+            assertEquals(503, refused.statusCode(), "The second game should be refused: " + refused.body());
+        } finally {
+            small.close();
+        }
+    }
+
+    @Test
+    public void testUncover_whenGameIsLost_shouldRefuseFurtherMoves() throws Exception {
+        // Arrange: A 3x3 game whose only safe cell is A1 for this seed, lost on A2
+        String id = field(request("POST", "/games?size=3&mines=8&seed=1").body(), "id");
+        HttpResponse<String> loss = request("POST", "/games/" + id + "/uncover?row=0&col=1");
+
+        // Act: Keep playing on the lost game
+        HttpResponse<String> after = request("POST", "/games/" + id + "/uncover?row=2&col=2");
+        HttpResponse<String> status = request("GET", "/games/" + id);
+
+        // Assert: The move is refused and nothing more is uncovered
+        assertTrue(loss.body().startsWith("{\"outcome\":\"MINE\",\"state\":\"LOST\""), loss.body());
+        assertEquals(409, after.statusCode(), "A move on a lost game should be refused.");
+        assertEquals("{\"error\":\"Game is over.\",\"state\":\"LOST\"}", after.body());
+        assertTrue(status.body().contains("\"moves\":1,\"revealed\":0"), "Only the losing move should count: " + status.body());
+    }
+
+    @Test
+    public void testUncover_whenManySessionsPlayConcurrently_shouldKeepEachGameConsistent() throws Exception {
+        // Arrange: Games with the same seed, so that every game has the same layout
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add(field(request("POST", "/games?size=9&mines=10&seed=4").body(), "id"));
+        }
+
+        // Act: Play the same moves in every game at once, each from its own virtual thread
+        List<Future<String>> statuses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String id : ids) {
+                statuses.add(executor.submit(() -> {
+                    for (int cell = 0; cell < 81; cell += 7) {
+                        request("POST", "/games/" + id + "/uncover?row=" + cell / 9 + "&col=" + cell % 9);
+                    }
+                    String status = request("GET", "/games/" + id).body();
+                    return status.substring(status.indexOf("\"state\""));
+                }));
+            }
+        }
+
+        // Assert: Every game ended in exactly the same state
+        String expected = statuses.get(0).get();
+        for (Future<String> status : statuses) {
+            assertEquals(expected, status.get(), "Identical games should end identically.");
+        }
+    }
+
+    @Test
+    public void testCreate_whenMemoryBudgetIsExhausted_shouldRefuseNewGames() {
+        SessionStore store = new SessionStore(1, 3000, () -> 0);
+
+        store.create((size, mineCount) -> new boolean[10][10], 10, 0);
+
+        assertThrows(SessionStore.BudgetExhaustedException.class, () -> store.create((size, mineCount) -> new boolean[10][10], 10, 0),
+            "A second game would exceed the budget.");
+        assertEquals(1, store.size(), "The refused game should not be stored.");
+    }
+
+    @Test
+    public void testEvictIdle_whenSessionsAreIdle_shouldRemoveOnlyThoseAndReleaseMemory() {
+        // Arrange: Two sessions on a manual clock, one of which is used again later
+        long[] now = {0};
+        SessionStore store = new SessionStore(100, 1 << 20, () -> now[0]);
+        Session idle = store.create((size, mineCount) -> new boolean[4][4], 4, 0);
+        Session active = store.create((size, mineCount) -> new boolean[4][4], 4, 0);
+        now[0] = 80;
+        store.get(active.id());
+
+        // Act: Evict once the first session has been idle for longer than the timeout
+        now[0] = 150;
+        int evicted = store.evictIdle();
+
+        // Assert: Only the idle session is gone
+        assertEquals(1, evicted, "One session was idle for too long.");
+        assertNull(store.get(idle.id()), "The idle session should be evicted.");
+        assertNotNull(store.get(active.id()), "The recently used session should remain.");
+        assertTrue(store.usedBytes() < 2 * active.footprintBytes(), "The evicted session's memory should be released.");
+    }
+
+    private HttpResponse<String> request(String method, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.server.port() + path))
+            .method(method, HttpRequest.BodyPublishers.noBody())
+            .build();
+        return this.client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String field(String json, String name) {
+        int start = json.indexOf("\"" + name + "\":\"") + name.length() + 4;
+        return json.substring(start, json.indexOf('"', start));
+    }
+}
@@ -0,0 +1,102 @@
+package services;
+
+import board.BitSetBoard;
+import board.BoardStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledMinePlacerTest {
+    private static final long BOARD_BYTES = 100 * 100; // Footprint of a pooled 100x100 packed board
+
+    @Test
+    public void testTakeBoard_whenKeyIsNew_shouldGenerateSynchronouslyThenServeFromPool() throws InterruptedException {
+        try (PooledMinePlacer placer = new PooledMinePlacer(new RandomMinePlacer(1), 2, 1 << 20, 1)) {
+            // Act: Take a board of a key never seen, then another once the pool has filled
+            BoardStorage first = placer.takeBoard(100, 1000);
+            awaitCondition(() -> placer.pooledBoards(100, 1000) == 2, "The pool of the key should fill up.");
+            BoardStorage second = placer.takeBoard(100, 1000);
+
+            // Assert: The first board was generated on the spot, the second came from the pool and is being replaced
+            assertEquals(1, placer.missCount(), "The first board of a key cannot be pooled yet.");
+            assertEquals(1, placer.hitCount(), "The second board should come from the pool.");
+            assertEquals(1000, first.mineCount(), "Every board should hold the requested mines.");
+            assertEquals(1000, second.mineCount(), "Every board should hold the requested mines.");
+            assertEquals(0, second.revealedCount(), "Pooled boards should be untouched.");
+            awaitCondition(() -> placer.pooledBoards(100, 1000) == 2, "The board taken should be replaced.");
+        }
+    }
+
+    @Test
+    public void testWarmUp_whenBudgetIsSmall_shouldStopGeneratingAtBudget() throws InterruptedException {
+        try (PooledMinePlacer placer = new PooledMinePlacer(new RandomMinePlacer(2), 5, 3 * BOARD_BYTES, 2)) {
+            // Arrange: Two keys which would need ten boards together, but the budget only holds three
+            placer.warmUp(100, 1000);
+            placer.warmUp(100, 2000);
+            awaitCondition(() -> placer.pooledBoards(100, 1000) + placer.pooledBoards(100, 2000) == 3, "The budget should fill up.");
+
+            // Act: Take a board, which frees room for one more
+            BoardStorage board = placer.takeBoard(100, placer.pooledBoards(100, 1000) > 0 ? 1000 : 2000);
+            awaitCondition(() -> placer.pooledBoards(100, 1000) + placer.pooledBoards(100, 2000) == 3, "The freed room should be refilled.");
+            Thread.sleep(100);
+
+            // Assert: The pool is back at its budget and never went over it
+            assertEquals(3 * BOARD_BYTES, placer.reservedBytes(), "Exactly the budget should be reserved.");
+            assertEquals(3, placer.pooledBoards(100, 1000) + placer.pooledBoards(100, 2000), "No board should be generated past the budget.");
+            assertEquals(1, placer.hitCount(), "The board taken should come from the pool.");
+            assertTrue(board.mineCount() == 1000 || board.mineCount() == 2000, "The board should hold the requested mines.");
+        }
+    }
+
+    @Test
+    public void testTakeBoard_whenBoardExceedsBudget_shouldAlwaysGenerateSynchronously() throws InterruptedException {
+        try (PooledMinePlacer placer = new PooledMinePlacer(new RandomMinePlacer(3), 2, BOARD_BYTES - 1, 1)) {
+            // Act: Take two boards of a key too large for the budget
+            placer.takeBoard(100, 1000);
+            Thread.sleep(100);
+            placer.takeBoard(100, 1000);
+
+            // Assert: Neither was pooled, and nothing was reserved
+            assertEquals(2, placer.missCount(), "Boards larger than the budget should never be pooled.");
+            assertEquals(0, placer.pooledBoards(100, 1000), "Boards larger than the budget should never be pooled.");
+            assertEquals(0, placer.reservedBytes(), "Nothing should be reserved.");
+        }
+    }
+
+    @Test
+    public void testPlaceMines_whenServedFromPool_shouldCopyEveryMine() throws InterruptedException {
+        try (PooledMinePlacer placer = new PooledMinePlacer(new RandomMinePlacer(4), 2, 1 << 20, 1)) {
+            // Arrange: A warm pool
+            placer.warmUp(100, 1500);
+            awaitCondition(() -> placer.pooledBoards(100, 1500) == 2, "The pool of the key should fill up.");
+
+            // Act: Place mines into an array and into a bitset board through the MinePlacer interface
+            boolean[][] mines = placer.placeMines(100, 1500);
+            BitSetBoard board = new BitSetBoard(100);
+            placer.placeMines(100, 1500, board);
+
+            // Assert: Both layouts came from the pool and hold every mine
+            int count = 0;
+            for (boolean[] row : mines) {
+                for (boolean mine : row) {
+                    count += mine ? 1 : 0;
+                }
+            }
+            assertEquals(1500, count, "The array should hold every mine.");
+            assertEquals(1500, board.mineCount(), "The board should hold every mine.");
+            assertEquals(2, placer.hitCount(), "Both layouts should come from the pool.");
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail(message);
+            }
+            Thread.sleep(5);
+        }
+    }
+}
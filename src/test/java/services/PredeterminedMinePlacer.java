@@ -32,4 +32,18 @@ public class PredeterminedMinePlacer implements MinePlacer {
             {false, false, false, false, true}
         };
     }
+
+    /**
+     * Streams the predetermined mines of {@link #placeMines(int, int)} in row-major order, without building the array.
+     *
+     * @param size The size of the board (size x size). Ignored, the layout is always 5x5.
+     * @param mineCount The number of mines to be placed on the board. Ignored, the layout always holds 3 mines.
+     * @param sink Receives each mine, packed as {@code ((long) row << 32) | col}.
+     */
+    @Override
+    public void placeMines(int size, int mineCount, MineSink sink) {
+        sink.accept(2);
+        sink.accept((3L << 32) | 1);
+        sink.accept((4L << 32) | 4);
+    }
 }
@@ -0,0 +1,190 @@
+package services;
+
+import board.PackedBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomMinePlacerTest {
+
+    @Test
+    public void testPlaceMines_whenDensityIsAtMaximum_shouldPlaceExactlyMineCount() {
+        // Act: Place mines at the 35% limit and on a completely full board
+        boolean[][] maxDensity = new RandomMinePlacer(1).placeMines(100, 3500);
+        boolean[][] full = new RandomMinePlacer(2).placeMines(10, 100);
+
+        assertEquals(3500, countMines(maxDensity), "Exactly the requested number of mines should be placed.");
+        assertEquals(100, countMines(full), "Every cell should contain a mine.");
+    }
+
+    @Test
+    public void testPlaceMines_whenSameSeedIsUsed_shouldProduceSameLayouts() {
+        // Arrange: Two placers with the same seed
+        RandomMinePlacer first = new RandomMinePlacer(1234);
+        RandomMinePlacer second = new RandomMinePlacer(1234);
+
+        // Act & Assert: Successive layouts match one another, and differ from the previous layout
+        boolean[][] previous = null;
+        for (int i = 0; i < 3; i++) {
+            boolean[][] layout = first.placeMines(20, 80);
+            assertArrayEquals(layout, second.placeMines(20, 80), "Layout " + i + " should be reproducible.");
+            assertFalse(previous != null && Arrays.deepEquals(previous, layout), "Successive layouts should differ.");
+            previous = layout;
+        }
+        assertFalse(Arrays.deepEquals(new RandomMinePlacer(1).placeMines(20, 80),
+            new RandomMinePlacer(2).placeMines(20, 80)), "Different seeds should produce different layouts.");
+    }
+
+    @Test
+    public void testPlaceMines_whenPlacedOnBoard_shouldMatchArrayLayoutForSameSeed() {
+        // Act: Place mines with the same seed as an array and directly on a board
+        boolean[][] mines = new RandomMinePlacer(99).placeMines(30, 200);
+        PackedBoard board = new PackedBoard(30);
+        new RandomMinePlacer(99).placeMines(30, 200, board);
+
+        for (int row = 0; row < 30; row++) {
+            for (int col = 0; col < 30; col++) {
+                assertEquals(mines[row][col], board.isMine(row, col), "Cell (" + row + ", " + col + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testPlaceMines_whenParallel_shouldBeReproducibleAndPlaceExactlyMineCount() {
+        // Act: Place mines in parallel mode twice with the same seed
+        boolean[][] first = new RandomMinePlacer(7, true).placeMines(301, 31_000);
+        boolean[][] second = new RandomMinePlacer(7, true).placeMines(301, 31_000);
+        PackedBoard board = new PackedBoard(301);
+        new RandomMinePlacer(7, true).placeMines(301, 31_000, board);
+
+        assertEquals(31_000, countMines(first), "Exactly the requested number of mines should be placed.");
+        assertArrayEquals(first, second, "Parallel layouts should be reproducible.");
+        assertEquals(31_000, board.mineCount(), "Exactly the requested number of mines should be placed on the board.");
+        assertTrue(board.isMine(0, 0) == first[0][0] && board.isMine(300, 300) == first[300][300],
+            "The board and array layouts should match for the same seed.");
+    }
+
+    @Test
+    public void testPlaceMines_whenRepeatedManyTimes_shouldChooseEveryCellEquallyOften() {
+        // Arrange: A 4x4 board with 5 mines, placed many times
+        int size = 4;
+        int mineCount = 5;
+        int trials = 80_000;
+        RandomMinePlacer placer = new RandomMinePlacer(2024);
+        long[] hits = new long[size * size];
+
+        // Act: Count how often each cell receives a mine
+        for (int t = 0; t < trials; t++) {
+            boolean[][] mines = placer.placeMines(size, mineCount);
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (mines[row][col]) hits[row * size + col]++;
+                }
+            }
+        }
+
+        // Assert: Pearson's chi-squared statistic is below the 0.1% critical value for 15 degrees of freedom
+        double expected = (double) trials * mineCount / (size * size);
+        double chiSquared = 0;
+        for (long hit : hits) {
+            chiSquared += (hit - expected) * (hit - expected) / expected;
+        }
+        assertTrue(chiSquared < 37.70, "Mines should be spread uniformly, but chi-squared was " + chiSquared);
+    }
+
+    @Test
+    public void testPlaceMines_whenParallelAndRepeatedManyTimes_shouldChooseEveryCellEquallyOften() {
+        // Arrange: A 4x4 board with 5 mines, split into one stripe per row, placed many times
+        int size = 4;
+        int trials = 80_000;
+        RandomMinePlacer placer = new RandomMinePlacer(2024, true);
+        long[] hits = new long[size * size];
+
+        // Act: Count how often each cell receives a mine
+        for (int t = 0; t < trials; t++) {
+            boolean[][] mines = placer.placeMines(size, 5);
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (mines[row][col]) hits[row * size + col]++;
+                }
+            }
+        }
+
+        // Assert: Rows get a varying number of mines, so every cell is chosen equally often
+        double expected = (double) trials * 5 / (size * size);
+        double chiSquared = 0;
+        for (long hit : hits) {
+            chiSquared += (hit - expected) * (hit - expected) / expected;
+        }
+        assertTrue(chiSquared < 37.70, "Mines should be spread uniformly across stripes, but chi-squared was " + chiSquared);
+    }
+
+    @Test
+    public void testHypergeometric_whenDrawnManyTimes_shouldMatchMeanAndVariance() {
+        // Arrange: A quarter of a 1,000,000 x 1,000,000 grid holding 1,000,000 mines, and a small bounded case
+        SplittableRandom random = new SplittableRandom(5);
+        long cells = 1_000_000L * 1_000_000L;
+        long mines = 1_000_000L;
+        long drawn = cells / 4;
+        int trials = 2_000;
+
+        // Act: Draw the number of mines in the quarter many times
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int t = 0; t < trials; t++) {
+            long count = RandomMinePlacer.hypergeometric(cells, mines, drawn, random);
+            sum += count;
+            sumOfSquares += (double) count * count;
+        }
+
+        // Assert: The sample mean and variance are those of the hypergeometric distribution
+        double mean = (double) mines * drawn / cells;
+        double variance = mean * (cells - mines) / cells * (cells - drawn) / (cells - 1);
+        double sampleMean = sum / trials;
+        double sampleVariance = sumOfSquares / trials - sampleMean * sampleMean;
+        assertEquals(mean, sampleMean, 5 * Math.sqrt(variance / trials), "The mean count should be " + mean);
+        assertEquals(variance, sampleVariance, 0.15 * variance, "The variance of the count should be " + variance);
+        assertEquals(3, RandomMinePlacer.hypergeometric(10, 3, 10, random), "Drawing every cell should count every mine.");
+        for (int t = 0; t < 100; t++) {
+            long count = RandomMinePlacer.hypergeometric(10, 8, 4, random);
+            assertTrue(count >= 2 && count <= 4, "Four of ten cells holding eight mines hold 2 to 4 mines, got " + count);
+        }
+    }
+
+    @Test
+    public void testPlaceMines_whenStreamedToSink_shouldMatchArrayLayoutAtAnyDensity() {
+        // Arrange: A dense layout, deduplicated with a bitset, and a sparse one, deduplicated with a hash set
+        int[][] cases = {{30, 200}, {300, 100}};
+        for (int[] test : cases) {
+            int size = test[0];
+            int mineCount = test[1];
+            boolean[][] mines = new RandomMinePlacer(99).placeMines(size, mineCount);
+            boolean[][] streamed = new boolean[size][size];
+            int[] received = new int[1];
+
+            // Act: Stream a layout with the same seed
+            new RandomMinePlacer(99).placeMines(size, mineCount, cell -> {
+                assertFalse(streamed[(int) (cell >>> 32)][(int) cell], "Each cell should be streamed once.");
+                streamed[(int) (cell >>> 32)][(int) cell] = true;
+                received[0]++;
+            });
+
+            // Assert: The streamed cells are those of the array layout
+            assertEquals(mineCount, received[0], "Every mine should be streamed.");
+            assertTrue(Arrays.deepEquals(mines, streamed), "The streamed layout should match the array for a " + size + "x" + size + " grid.");
+        }
+    }
+
+    private static int countMines(boolean[][] mines) {
+        int count = 0;
+        for (boolean[] row : mines) {
+            for (boolean mine : row) {
+                if (mine) count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,71 @@
+package simulation;
+
+import org.junit.jupiter.api.Test;
+import solver.ProbabilityEngine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulatorTest {
+
+    @Test
+    public void testRun_whenSameSeedIsUsedWithDifferentThreadCounts_shouldProduceSameResults() {
+        // Arrange: The same simulation of small, dense games
+        Simulator simulator = new Simulator(8, 10, RandomMoveStrategy::new, 99);
+
+        // Act: Run it on one thread and on four threads
+        SimulationStats single = simulator.run(2000, 1);
+        SimulationStats parallel = simulator.run(2000, 4);
+
+        assertEquals(2000, single.games(), "Every game should be played.");
+        assertEquals(single.wins(), parallel.wins(), "Each game should be reproducible from the seed.");
+        assertEquals(single.movesPerGame().mean(), parallel.movesPerGame().mean(), "Each game should be reproducible from the seed.");
+        assertEquals(single.revealedPerMove().count(), parallel.revealedPerMove().count(), "Every move should be recorded.");
+    }
+
+    @Test
+    public void testRun_whenBoardHasNoMines_shouldWinEveryGameInOneMove() {
+        // Act: Every first move uncovers the whole board
+        SimulationStats stats = new Simulator(10, 0, RandomMoveStrategy::new, 5).run(100, 2);
+
+        assertEquals(1.0, stats.winRate(), "Every game without mines should be won.");
+        assertEquals(1, stats.movesPerGame().max(), "A single move should uncover the whole board.");
+        assertEquals(100, stats.revealedPerMove().percentile(50), "The move should uncover all 100 cells.");
+    }
+
+    @Test
+    public void testRun_whenSolverStrategyIsUsed_shouldWinMoreGamesThanRandomMoves() {
+        // Act: Play the same beginner games with both strategies
+        SimulationStats random = new Simulator(9, 10, RandomMoveStrategy::new, 7).run(2000, 2);
+        SimulationStats solver = new Simulator(9, 10, SolverMoveStrategy::new, 7).run(2000, 2);
+
+        // Assert: Deducing safe cells wins far more often than guessing
+        assertTrue(solver.winRate() > 0.5, "The solver should win most beginner games, won " + solver.winRate() + ".");
+        assertTrue(solver.winRate() > random.winRate() * 5, "The solver should beat random moves by far.");
+    }
+
+    @Test
+    public void testRun_whenProbabilityEngineGuides_shouldWinMoreGamesThanRandomGuesses() {
+        // Act: Play the same intermediate games, guessing at random or guessing the safest cell
+        SimulationStats randomGuesses = new Simulator(16, 40, SolverMoveStrategy::new, 3).run(1000, 2);
+        ProbabilityEngine engine = new ProbabilityEngine();
+        SimulationStats safestGuesses = new Simulator(16, 40, () -> new SolverMoveStrategy(engine), 3).run(1000, 2);
+
+        // Assert: Guessing the cell least likely to hold a mine wins more often
+        assertTrue(safestGuesses.winRate() > randomGuesses.winRate(),
+            "Safest guesses won " + safestGuesses.winRate() + ", random guesses won " + randomGuesses.winRate() + ".");
+        assertTrue(engine.cacheHits() > 0, "Components should be shared between moves and games.");
+    }
+
+    @Test
+    public void testPercentile_whenValuesAreRecorded_shouldReturnUpperBoundOfBucket() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(50.5, histogram.mean());
+        assertEquals(63, histogram.percentile(50), "The 50th value, 50, falls in the bucket from 32 to 63.");
+        assertEquals(100, histogram.percentile(100), "The bound should be capped at the largest value.");
+    }
+}
@@ -0,0 +1,96 @@
+package solver;
+
+import board.BoardStorage;
+import game.GameState;
+import game.Minesweeper;
+import game.MoveResults;
+import org.junit.jupiter.api.Test;
+import services.RandomMinePlacer;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardGeneratorTest {
+
+    @Test
+    public void testWithSafeStart_whenFirstMoveIsPlayed_shouldNeverLoseAndOpenSafeArea() {
+        Random random = new Random(23);
+        BoardGenerator generator = new BoardGenerator(new RandomMinePlacer(23), 23);
+        for (int trial = 0; trial < 500; trial++) {
+            // Arrange: A crowded 9x9 game, with corners and edges chosen as often as inner cells
+            int row = random.nextBoolean() ? random.nextInt(9) : 8 * random.nextInt(2);
+            int col = random.nextInt(9);
+            Minesweeper game = Minesweeper.withSafeStart(generator, 9, 60);
+            Minesweeper fork = game.fork();
+
+            // Act: Play the first move on the game and another one on a fork taken before it
+            byte outcome = game.applyMove(row, col);
+            fork.applyMove(8 - row, 8 - col);
+
+            // Assert: The first move opened the start area, and the game holds every mine
+            assertEquals(MoveResults.REVEALED, outcome, "Trial " + trial + ": the first move should be safe.");
+            assertEquals(0, game.getAdjacentMines(row, col), "Trial " + trial + ": the start area should be free of mines.");
+            assertEquals(60, game.getMineCount(), "Trial " + trial + ": every mine should be placed.");
+            assertEquals(81 - 60 - game.getRevealedCount(), game.getHiddenSafeCount(), "Trial " + trial);
+            assertNotEquals(GameState.LOST, fork.getState(), "Trial " + trial + ": the fork should get its own safe start.");
+        }
+        assertEquals(1000, generator.boardCount(), "One board per game and fork.");
+    }
+
+    @Test
+    public void testCreate_whenNoGuessIsRequired_shouldDealSolvableBoardWhateverTheThreads() {
+        for (long seed = 0; seed < 10; seed++) {
+            // Act: Generate the same expert-density board with one and with four threads
+            BoardGenerator single = new BoardGenerator(seed, 1000, 60_000, 1);
+            BoardGenerator parallel = new BoardGenerator(seed, 1000, 60_000, 4);
+            BoardStorage board = single.create(16, 50, 5, 7);
+            BoardStorage same = parallel.create(16, 50, 5, 7);
+
+            // Assert: The solver wins it from the first move, and the chosen attempt does not depend on the threads
+            Minesweeper game = new Minesweeper(board);
+            game.applyMove(5, 7);
+            new Solver(game).solve();
+            assertEquals(GameState.WON, game.getState(), "Seed " + seed + ": the board should need no guess.");
+            assertEquals(0, single.fallbackCount(), "Seed " + seed + ": a board should be found within the attempts.");
+            for (long word = 0; word < board.wordCount(); word++) {
+                assertEquals(board.mineWord(word), same.mineWord(word), "Seed " + seed + ", mine word " + word);
+            }
+        }
+    }
+
+    @Test
+    public void testCreate_whenAttemptsRunOut_shouldFallBackToSafeStart() {
+        // Arrange: A single attempt at a density no board survives without guessing
+        BoardGenerator generator = new BoardGenerator(1, 1, 1000, 2);
+
+        // Act
+        BoardStorage board = generator.create(10, 91, 0, 0);
+
+        // Assert: The board still has a safe start and every mine
+        assertEquals(1, generator.fallbackCount(), "The board should be given up on.");
+        assertEquals(1, generator.attemptCount(), "Only one attempt is allowed.");
+        assertEquals(91, board.mineCount(), "Every mine should be placed.");
+        assertFalse(board.isMine(1, 1), "The start area should be free of mines.");
+    }
+
+    @Test
+    public void testWithSafeStart_whenMinesDoNotFitOutsideStartArea_shouldOnlyKeepFirstCellSafe() {
+        BoardGenerator generator = new BoardGenerator(new RandomMinePlacer(3), 3);
+        for (int trial = 0; trial < 100; trial++) {
+            // Arrange: A 3x3 game with more mines than cells outside the 3x3 start area, as the Runner allows
+            Minesweeper game = Minesweeper.withSafeStart(generator, 3, 3);
+
+            // Act
+            byte outcome = game.applyMove(1, 1);
+
+            // Assert: The first move is still safe, and its number shows every mine
+            assertEquals(MoveResults.REVEALED, outcome, "Trial " + trial + ": the first move should be safe.");
+            assertEquals(3, game.getAdjacentMines(1, 1), "Trial " + trial + ": every mine should be placed around the first move.");
+        }
+        // Assert: A full board has no safe cell left, and more mines than cells are rejected
+        assertEquals(GameState.WON, Minesweeper.withSafeStart(generator, 3, 9).getState(), "A board full of mines has nothing to uncover.");
+        assertEquals(100, generator.create(10, 100, 0, 0).mineCount(), "A full board still holds every mine.");
+        assertThrows(IllegalArgumentException.class, () -> generator.create(10, 101, 0, 0), "101 mines do not fit in 100 cells.");
+    }
+}
@@ -0,0 +1,170 @@
+package solver;
+
+import game.Minesweeper;
+import org.junit.jupiter.api.Test;
+import services.MinePlacer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProbabilityEngineTest {
+
+    @Test
+    public void testCompute_whenRandomBoardsArePartlyUncovered_shouldMatchBruteForce() {
+        Random random = new Random(5);
+        ProbabilityEngine engine = new ProbabilityEngine();
+        int checked = 0;
+        while (checked < 60) {
+            // Arrange: A small random board with a few safe cells uncovered, leaving at most 16 hidden cells
+            int size = 4 + random.nextInt(3);
+            boolean[][] mines = randomMines(random, size, 2 + random.nextInt(4));
+            Minesweeper game = new Minesweeper(fixedMinePlacer(mines), size, 0);
+            for (int move = 0; move < 4; move++) {
+                int row = random.nextInt(size);
+                int col = random.nextInt(size);
+                if (!mines[row][col]) game.applyMove(row, col);
+            }
+            List<long[]> hidden = hiddenCells(game);
+            if (hidden.size() > 16 || game.isGameWon()) continue;
+            checked++;
+
+            // Act: Compute the probabilities with the engine and by trying every layout of the hidden cells
+            MineProbabilities probabilities = engine.compute(game);
+            double[] expected = bruteForce(game, hidden);
+
+            // Assert: Every hidden cell has the exact probability
+            for (int i = 0; i < hidden.size(); i++) {
+                int row = (int) hidden.get(i)[0];
+                int col = (int) hidden.get(i)[1];
+                assertEquals(expected[i], probabilities.probability(row, col), 1e-9, "Board " + checked + ", cell (" + row + ", " + col + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testCompute_whenBoardIsUnchanged_shouldReuseCachedComponents() {
+        // Arrange: Two isolated uncovered areas, each bordered by its own component
+        boolean[][] mines = new boolean[9][9];
+        mines[0][3] = true;
+        mines[8][5] = true;
+        mines[4][8] = true;
+        Minesweeper game = new Minesweeper(fixedMinePlacer(mines), 9, 3);
+        game.applyMove(0, 0);
+        ProbabilityEngine engine = new ProbabilityEngine();
+
+        // Act: Compute the probabilities twice without playing a move
+        engine.compute(game);
+        long missesAfterFirst = engine.cacheMisses();
+        engine.compute(game);
+
+        // Assert: The second computation found every component in the cache
+        assertTrue(missesAfterFirst > 0, "The first computation should enumerate the components.");
+        assertEquals(missesAfterFirst, engine.cacheMisses(), "No component should be enumerated again.");
+        assertTrue(engine.cacheHits() > 0, "The components should be found in the cache.");
+    }
+
+    @Test
+    public void testCompute_whenCacheIsFull_shouldEvictLeastRecentlyUsedComponents() {
+        Random random = new Random(9);
+        ProbabilityEngine engine = new ProbabilityEngine(2);
+        for (int trial = 0; trial < 20; trial++) {
+            boolean[][] mines = randomMines(random, 8, 6);
+            Minesweeper game = new Minesweeper(fixedMinePlacer(mines), 8, 0);
+            for (int move = 0; move < 3; move++) {
+                int row = random.nextInt(8);
+                int col = random.nextInt(8);
+                if (!mines[row][col]) game.applyMove(row, col);
+            }
+
+            engine.compute(game);
+
+            assertTrue(engine.cachedComponentCount() <= 2, "The cache should never exceed its bound.");
+        }
+    }
+
+    @Test
+    public void testCompute_whenNothingIsUncovered_shouldSpreadMinesEvenly() {
+        Minesweeper game = new Minesweeper(fixedMinePlacer(randomMines(new Random(1), 10, 20)), 10, 0);
+
+        MineProbabilities probabilities = new ProbabilityEngine().compute(game);
+
+        assertEquals(0, probabilities.frontierCellCount(), "Nothing is uncovered, so there is no frontier.");
+        assertEquals(0.2, probabilities.unconstrainedProbability(), 1e-12, "20 mines among 100 hidden cells.");
+    }
+
+    /**
+     * Tries every layout of the hidden cells with the right number of mines, keeping those matching every uncovered number.
+     *
+     * @return The fraction of matching layouts in which each hidden cell holds a mine.
+     */
+    private static double[] bruteForce(Minesweeper game, List<long[]> hidden) {
+        int size = game.getSize();
+        int n = hidden.size();
+        long[] mineLayouts = new long[n];
+        long matching = 0;
+        for (int layout = 0; layout < (1 << n); layout++) {
+            if (Integer.bitCount(layout) != game.getMineCount()) continue;
+            boolean[][] mines = new boolean[size][size];
+            for (int i = 0; i < n; i++) {
+                mines[(int) hidden.get(i)[0]][(int) hidden.get(i)[1]] = (layout & (1 << i)) != 0;
+            }
+            if (!matchesNumbers(game, mines)) continue;
+            matching++;
+            for (int i = 0; i < n; i++) {
+                if ((layout & (1 << i)) != 0) mineLayouts[i]++;
+            }
+        }
+        double[] probabilities = new double[n];
+        for (int i = 0; i < n; i++) {
+            probabilities[i] = (double) mineLayouts[i] / matching;
+        }
+        return probabilities;
+    }
+
+    private static boolean matchesNumbers(Minesweeper game, boolean[][] mines) {
+        int size = game.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (!game.isRevealed(row, col)) continue;
+                int count = 0;
+                for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, size - 1); r++) {
+                    for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, size - 1); c++) {
+                        if (mines[r][c]) count++;
+                    }
+                }
+                if (count != game.getAdjacentMines(row, col)) return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<long[]> hiddenCells(Minesweeper game) {
+        List<long[]> cells = new ArrayList<>();
+        for (int row = 0; row < game.getSize(); row++) {
+            for (int col = 0; col < game.getSize(); col++) {
+                if (!game.isRevealed(row, col)) cells.add(new long[] {row, col});
+            }
+        }
+        return cells;
+    }
+
+    private static boolean[][] randomMines(Random random, int size, int count) {
+        boolean[][] mines = new boolean[size][size];
+        for (int placed = 0; placed < count; ) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            if (!mines[row][col]) {
+                mines[row][col] = true;
+                placed++;
+            }
+        }
+        return mines;
+    }
+
+    private static MinePlacer fixedMinePlacer(boolean[][] mines) {
+        return (size, mineCount) -> mines;
+    }
+}
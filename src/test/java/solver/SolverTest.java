@@ -0,0 +1,130 @@
+package solver;
+
+import game.GameState;
+import game.Minesweeper;
+import org.junit.jupiter.api.Test;
+import services.MinePlacer;
+import services.RandomMinePlacer;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverTest {
+
+    @Test
+    public void testFindSafeCells_whenOneTwoOnePatternIsShown_shouldFindSafeMiddleCell() {
+        // Arrange: Mines under the outer cells of a 1-2-1 pattern along the bottom edge of an uncovered area
+        boolean[][] board = new boolean[5][5];
+        board[4] = new boolean[] {false, true, false, true, false};
+        Minesweeper game = new Minesweeper(fixedMinePlacer(board), 5, 2);
+        game.applyMove(0, 0);
+        Solver solver = new Solver(game);
+
+        // Act: Deduce the safe cells of the bottom row
+        long[] safe = solver.findSafeCells();
+
+        // Assert: The middle and corner cells are safe, and the two mines are known
+        assertTrue(contains(safe, 4, 2), "The cell under the 2 lies between the two mines and is safe.");
+        assertTrue(contains(safe, 4, 0), "The corner cells are safe.");
+        assertTrue(contains(safe, 4, 4), "The corner cells are safe.");
+        assertTrue(solver.isKnownMine(4, 1), "The mines should be deduced.");
+        assertTrue(solver.isKnownMine(4, 3), "The mines should be deduced.");
+        assertEquals(0, solver.findSafeCells().length, "Safe cells are only reported once.");
+    }
+
+    @Test
+    public void testSolve_whenBoardIsSolvable_shouldWinWithoutGuessing() {
+        // Arrange: The same pattern, which needs no guess once the top area has been uncovered
+        boolean[][] board = new boolean[5][5];
+        board[4] = new boolean[] {false, true, false, true, false};
+        Minesweeper game = new Minesweeper(fixedMinePlacer(board), 5, 2);
+        game.applyMove(0, 0);
+
+        // Act: Let the solver play
+        long moves = new Solver(game).solve();
+
+        // Assert: Each of the three safe cells needed its own move
+        assertEquals(GameState.WON, game.getState(), "Every safe cell should be uncovered.");
+        assertEquals(3, moves, "Each safe cell of the bottom row is uncovered by its own move.");
+    }
+
+    @Test
+    public void testSolve_whenRandomBoardsArePlayed_shouldNeverUncoverMine() {
+        Random random = new Random(21);
+        for (int trial = 0; trial < 300; trial++) {
+            // Arrange: A random board opened on a cell with no adjacent mines, if there is one
+            int size = 5 + random.nextInt(30);
+            boolean[][] mines = new RandomMinePlacer(random.nextLong()).placeMines(size, size * size / 6);
+            int opening = findOpening(mines);
+            if (opening < 0) continue;
+            Minesweeper game = new Minesweeper(fixedMinePlacer(mines), size, 0);
+            game.applyMove(opening / size, opening % size);
+            Solver solver = new Solver(game);
+
+            // Act: Solve, then check that every deduced mine really is a mine
+            solver.solve();
+
+            // Assert: The solver only ever plays safe cells
+            assertNotEquals(GameState.LOST, game.getState(), "Trial " + trial + ": the solver uncovered a mine.");
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (solver.isKnownMine(row, col)) {
+                        assertFalse(game.isRevealed(row, col), "Trial " + trial + ": a known mine cannot be uncovered.");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStep_whenCellsWereUncoveredOutsideSolver_shouldCatchUpFromChanges() {
+        // Arrange: A board with a single mine, opened from the opposite corner
+        boolean[][] board = new boolean[6][6];
+        board[5][5] = true;
+        Minesweeper game = new Minesweeper(fixedMinePlacer(board), 6, 1);
+        Solver solver = new Solver(game);
+
+        // Act: Uncover the whole safe area outside the solver
+        game.applyMove(0, 0);
+
+        // Assert: The solver notices the game is already won and finds nothing to do
+        assertEquals(GameState.WON, game.getState(), "The single move should win the game.");
+        assertEquals(0, solver.step(), "No hidden safe cell remains.");
+        assertTrue(solver.isKnownMine(5, 5), "The last hidden cell must be the mine.");
+    }
+
+    /**
+     * @return The index of the first cell with no mine and no adjacent mines, or -1 if there is none.
+     */
+    private static int findOpening(boolean[][] mines) {
+        int size = mines.length;
+        for (int index = 0; index < size * size; index++) {
+            int row = index / size;
+            int col = index % size;
+            boolean clear = true;
+            for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, size - 1); r++) {
+                for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, size - 1); c++) {
+                    clear &= !mines[r][c];
+                }
+            }
+            if (clear) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean contains(long[] cells, int row, int col) {
+        for (long cell : cells) {
+            if (cell == (((long) row << 32) | col)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MinePlacer fixedMinePlacer(boolean[][] mines) {
+        return (size, mineCount) -> mines;
+    }
+}